@@ -0,0 +1,23 @@
+package com.ozgreat.calculator.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of benchmarks jar. It takes usual JMH command line options and always adds {@link GCProfiler}, so
+ * allocation rate is measured with time
+ *
+ * @author ozgreat
+ * @see OperationBenchmark
+ * @see ValueBenchmark
+ */
+public class BenchmarkRunner {
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    new Runner(new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build()).run();
+  }
+}
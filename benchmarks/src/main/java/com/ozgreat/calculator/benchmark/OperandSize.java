@@ -0,0 +1,64 @@
+package com.ozgreat.calculator.benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Sizes of operands, that are used in benchmarks
+ *
+ * @author ozgreat
+ */
+public enum OperandSize {
+  /**
+   * Small integers
+   */
+  SMALL(new BigDecimal("12"), new BigDecimal("7")),
+
+  /**
+   * Decimals with 16 significant digits, like numbers on display
+   */
+  DECIMAL(new BigDecimal("1234567.890123456"), new BigDecimal("0.9876543210987654")),
+
+  /**
+   * Number with 10000 digits just below maximum decimal of calculator and number with 10000 digits near one
+   */
+  NEAR_MAX(BigDecimal.TEN.pow(10000).subtract(BigDecimal.ONE), third()),
+
+  /**
+   * Number with 10000 digits just above minimum positive decimal of calculator and number with 10000 digits near one
+   */
+  NEAR_MIN(BigDecimal.TEN.pow(10000).subtract(BigDecimal.ONE).scaleByPowerOfTen(-19998), third());
+
+  /**
+   * Left or only operand
+   */
+  private final BigDecimal left;
+
+  /**
+   * Right operand
+   */
+  private final BigDecimal right;
+
+  OperandSize(BigDecimal left, BigDecimal right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public BigDecimal getLeft() {
+    return left;
+  }
+
+  public BigDecimal getRight() {
+    return right;
+  }
+
+  /**
+   * Get one third with 10000 digits
+   *
+   * @return rounded one third
+   */
+  private static BigDecimal third() {
+    return BigDecimal.ONE.divide(BigDecimal.valueOf(3), new MathContext(10000, RoundingMode.HALF_UP));
+  }
+}
@@ -0,0 +1,77 @@
+package com.ozgreat.calculator.benchmark;
+
+import com.ozgreat.calculator.model.ArithmeticOperation;
+import com.ozgreat.calculator.model.ArithmeticOperationType;
+import com.ozgreat.calculator.model.CalculationMode;
+import com.ozgreat.calculator.model.CalculatorException;
+import com.ozgreat.calculator.model.CalculatorModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of every {@link ArithmeticOperation}, that is calculated by {@link CalculatorModel} with operands of every
+ * {@link OperandSize}. Operations, that overflow, measure time of throwing {@link CalculatorException}.
+ *
+ * @author ozgreat
+ * @see CalculatorModel#calculate(ArithmeticOperation, BigDecimal, BigDecimal)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperationBenchmark {
+  /**
+   * Operation to calculate
+   */
+  @Param({"ADD", "SUBTRACT", "MULTIPLY", "DIVIDE", "SQRT", "POW", "REVERSE", "NEGATE", "PERCENT_ADD_SUBTRACT",
+      "PERCENT_MUL_DIVIDE"})
+  private ArithmeticOperation operation;
+
+  /**
+   * Size of operands
+   */
+  @Param({"SMALL", "DECIMAL", "NEAR_MAX", "NEAR_MIN"})
+  private OperandSize size;
+
+  /**
+   * Calculation mode of model
+   */
+  @Param({"FULL_PRECISION", "ADAPTIVE_PRECISION", "EXACT_RATIONAL"})
+  private CalculationMode mode;
+
+  /**
+   * Model, that calculates operation
+   */
+  private CalculatorModel calc;
+
+  /**
+   * Left or only operand
+   */
+  private BigDecimal left;
+
+  /**
+   * Right operand, null if operation is unary
+   */
+  private BigDecimal right;
+
+  @Setup
+  public void setUp() {
+    calc = new CalculatorModel();
+    calc.setCalculationMode(mode);
+    left = size.getLeft();
+    right = operation.getType() == ArithmeticOperationType.UNARY ? null : size.getRight();
+  }
+
+  @Benchmark
+  public Object calculate() {
+    try {
+      return calc.calculate(operation, left, right);
+    } catch (CalculatorException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.ozgreat.calculator.benchmark;
+
+import com.ozgreat.calculator.server.CalculatorServer;
+import com.ozgreat.calculator.server.SessionTable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of {@link CalculatorServer}. Every client is virtual thread with its own session, that sends requests one
+ * after another, so amount of clients is amount of concurrent requests:
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar com.ozgreat.calculator.benchmark.ServerLoadTest [clients [requests [port]]]
+ * </pre>
+ * By default 1000 clients send 100 requests each to server, that is started in the same process. If port is given,
+ * requests are sent to server, that already listens this port of loopback address. Throughput and percentiles of
+ * latency are printed, when all clients are done.
+ *
+ * @author ozgreat
+ * @see CalculatorServer
+ */
+public class ServerLoadTest {
+  private static final int DEFAULT_CLIENTS = 1000;
+
+  private static final int DEFAULT_REQUESTS = 100;
+
+  /**
+   * Keys of requests, client sends them in cycle, so session goes through binary, unary and memory operations.
+   * Operations, that divide with full scale, aren't sent, so time of server, not of model, is measured
+   */
+  private static final String[] KEYS = {
+      "[\"12.5\", \"+\", \"7\", \"=\"]",
+      "[\"×\", \"3\", \"=\", \"=\"]",
+      "[\"√\", \"sqr\", \"negate\"]",
+      "[\"MS\", \"C\", \"9\", \"-\", \"MR\", \"=\"]",
+      "[\"CE\", \"123456789\", \"⌫\", \"M+\"]"
+  };
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+    int requests = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+
+    CalculatorServer server = null;
+    int port;
+    if (args.length > 2) {
+      port = Integer.parseInt(args[2]);
+    } else {
+      server = new CalculatorServer(0, new SessionTable(clients, Duration.ofMinutes(1)));
+      server.start();
+      port = server.getPort();
+    }
+
+    URI uri = URI.create("http://localhost:" + port + "/calculate");
+    long[] latencies = new long[clients * requests];
+    AtomicLong errors = new AtomicLong();
+
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient client = HttpClient.newHttpClient();
+      for (int i = 0; i < clients; i++) {
+        int index = i;
+        executor.execute(() -> runClient(client, uri, index, requests, latencies, errors));
+      }
+    }
+    long nanos = System.nanoTime() - start;
+
+    if (server != null) {
+      System.out.println("sessions: " + server.getSessions().getMetrics());
+      server.stop(Duration.ZERO);
+    }
+
+    Arrays.sort(latencies);
+    System.out.printf("%d clients, %d requests (%d errors) in %.3f s, %.0f requests/s%n", clients, latencies.length,
+        errors.get(), nanos / 1e9, latencies.length * 1e9 / nanos);
+    System.out.printf("latency ms: p50 %.3f, p90 %.3f, p99 %.3f, max %.3f%n", percentile(latencies, 0.5),
+        percentile(latencies, 0.9), percentile(latencies, 0.99), percentile(latencies, 1));
+  }
+
+  /**
+   * Send requests of one session one after another
+   *
+   * @param client    HTTP client
+   * @param uri       URI of endpoint
+   * @param index     index of client
+   * @param requests  amount of requests
+   * @param latencies latencies of all requests in nanoseconds, client sets its part
+   * @param errors    amount of requests, that failed or weren't answered with 200
+   */
+  private static void runClient(HttpClient client, URI uri, int index, int requests, long[] latencies,
+                                AtomicLong errors) {
+    for (int i = 0; i < requests; i++) {
+      String body = "{\"session\": \"load-" + index + "\", \"keys\": " + KEYS[i % KEYS.length] + "}";
+      HttpRequest request = HttpRequest.newBuilder(uri)
+          .POST(HttpRequest.BodyPublishers.ofString(body))
+          .header("Content-Type", "application/json")
+          .build();
+
+      long start = System.nanoTime();
+      try {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+          errors.incrementAndGet();
+        }
+      } catch (IOException e) {
+        errors.incrementAndGet();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      latencies[index * requests + i] = System.nanoTime() - start;
+    }
+  }
+
+  private static double percentile(long[] sorted, double fraction) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+}
@@ -0,0 +1,70 @@
+package com.ozgreat.calculator.benchmark;
+
+import com.ozgreat.calculator.model.CalculatorException;
+import com.ozgreat.calculator.model.CalculatorModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of work, that is done with every result: {@link CalculatorModel#checkOverflow(BigDecimal)} and
+ * {@link BigDecimal#stripTrailingZeros()}
+ *
+ * @author ozgreat
+ * @see OperationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueBenchmark {
+  /**
+   * Amount of trailing zeros, that are added to number before stripping
+   */
+  private static final int TRAILING_ZEROS = 20;
+
+  /**
+   * Size of number
+   */
+  @Param({"SMALL", "DECIMAL", "NEAR_MAX", "NEAR_MIN"})
+  private OperandSize size;
+
+  /**
+   * Number without trailing zeros
+   */
+  private BigDecimal number;
+
+  /**
+   * The same number with trailing zeros
+   */
+  private BigDecimal withZeros;
+
+  @Setup
+  public void setUp() {
+    number = size.getLeft();
+    withZeros = number.setScale(number.scale() + TRAILING_ZEROS);
+  }
+
+  @Benchmark
+  public Object checkOverflow() {
+    try {
+      CalculatorModel.checkOverflow(number);
+      return number;
+    } catch (CalculatorException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public BigDecimal stripTrailingZeros() {
+    return withZeros.stripTrailingZeros();
+  }
+
+  @Benchmark
+  public BigDecimal stripWithoutZeros() {
+    return number.stripTrailingZeros();
+  }
+}
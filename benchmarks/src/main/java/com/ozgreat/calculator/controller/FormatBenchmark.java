@@ -0,0 +1,48 @@
+package com.ozgreat.calculator.controller;
+
+import com.ozgreat.calculator.benchmark.OperandSize;
+import com.ozgreat.calculator.model.CalculatorException;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link NumberFormatter#format(BigDecimal)}, that is called on every keystroke. It's in package of
+ * formatter, cause formatter isn't public
+ *
+ * @author ozgreat
+ * @see NumberFormatter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+  /**
+   * Size of formatted number
+   */
+  @Param({"SMALL", "DECIMAL", "NEAR_MAX", "NEAR_MIN"})
+  private OperandSize size;
+
+  /**
+   * Number to format
+   */
+  private BigDecimal number;
+
+  @Setup
+  public void setUp() {
+    number = size.getRight().multiply(size.getLeft());
+  }
+
+  @Benchmark
+  public Object format() {
+    try {
+      return NumberFormatter.format(number);
+    } catch (CalculatorException e) {
+      return e;
+    }
+  }
+}
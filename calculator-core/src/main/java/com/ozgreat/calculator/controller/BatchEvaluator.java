@@ -0,0 +1,180 @@
+package com.ozgreat.calculator.controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Evaluator of many input sequences, that uses all cores with {@link ForkJoinPool}. Every sequence is pressed in its
+ * own {@link CalculatorSession}, so it has its own model and the same behaviour, that window has.
+ * <p>
+ * Sequences are read by chunks, chunk is split between workers, while next chunks are read. Results are given to
+ * consumer in order of sequences, chunk by chunk, in thread, that called {@link #evaluate(Stream, Consumer)}.
+ *
+ * @author ozgreat
+ * @see CalculatorSession
+ * @see SequenceResult
+ * @see BatchStatistics
+ */
+public class BatchEvaluator {
+  /**
+   * Default amount of sequences in one chunk
+   */
+  private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+  /**
+   * Maximum amount of sequences, that is evaluated by worker without splitting
+   */
+  private static final int SPLIT_THRESHOLD = 32;
+
+  /**
+   * Maximum amount of chunks, that are evaluated while their results aren't given to consumer
+   */
+  private static final int MAX_CHUNKS_IN_WORK = 4;
+
+  /**
+   * Pool, that evaluates sequences
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Amount of sequences in one chunk
+   */
+  private final int chunkSize;
+
+  /**
+   * Create evaluator, that uses common pool
+   */
+  public BatchEvaluator() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create evaluator
+   *
+   * @param pool      pool, that evaluates sequences
+   * @param chunkSize positive amount of sequences, that are read and given to consumer together
+   */
+  public BatchEvaluator(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size has to be positive: " + chunkSize);
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Evaluate sequences and give their results to consumer in order of sequences
+   *
+   * @param sequences sequences of keys
+   * @param consumer  consumer of results
+   * @return amount of sequences and time of evaluation
+   */
+  public BatchStatistics evaluate(Stream<? extends List<CalculatorKey>> sequences, Consumer<? super SequenceResult> consumer) {
+    long start = System.nanoTime();
+    long count = 0;
+    long errors = 0;
+
+    Deque<ChunkTask> inWork = new ArrayDeque<>();
+    Iterator<? extends List<CalculatorKey>> iterator = sequences.iterator();
+
+    while (iterator.hasNext() || !inWork.isEmpty()) {
+      if (iterator.hasNext() && inWork.size() < MAX_CHUNKS_IN_WORK) {
+        List<List<CalculatorKey>> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && iterator.hasNext()) {
+          chunk.add(iterator.next());
+        }
+
+        ChunkTask task = new ChunkTask(chunk, new SequenceResult[chunk.size()], count, 0, chunk.size());
+        inWork.add(task);
+        pool.execute(task);
+        count += chunk.size();
+      } else {
+        ChunkTask task = inWork.poll();
+        task.join();
+        for (SequenceResult result : task.results) {
+          if (result.getError() != null) {
+            errors++;
+          }
+          consumer.accept(result);
+        }
+      }
+    }
+
+    return new BatchStatistics(count, errors, System.nanoTime() - start);
+  }
+
+  /**
+   * Press keys of sequence in new session
+   *
+   * @param index    index of sequence in batch
+   * @param sequence keys to press
+   * @return state of session after last key or after unexpected error
+   */
+  static SequenceResult evaluate(long index, List<CalculatorKey> sequence) {
+    CalculatorSession session = new CalculatorSession();
+    try {
+      session.press(sequence);
+    } catch (RuntimeException e) {
+      return new SequenceResult(index, session, e);
+    }
+    return new SequenceResult(index, session, null);
+  }
+
+  /**
+   * Task, that evaluates part of chunk and splits it into halves, while it's too big
+   */
+  private static class ChunkTask extends RecursiveAction {
+    /**
+     * Sequences of chunk
+     */
+    private final List<List<CalculatorKey>> sequences;
+
+    /**
+     * Results of chunk, every task sets its part
+     */
+    private final SequenceResult[] results;
+
+    /**
+     * Index of first sequence of chunk in batch
+     */
+    private final long firstIndex;
+
+    /**
+     * Index of first sequence of task in chunk
+     */
+    private final int from;
+
+    /**
+     * Index after last sequence of task in chunk
+     */
+    private final int to;
+
+    private ChunkTask(List<List<CalculatorKey>> sequences, SequenceResult[] results, long firstIndex, int from, int to) {
+      this.sequences = sequences;
+      this.results = results;
+      this.firstIndex = firstIndex;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SPLIT_THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          results[i] = evaluate(firstIndex + i, sequences.get(i));
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ChunkTask(sequences, results, firstIndex, from, middle),
+            new ChunkTask(sequences, results, firstIndex, middle, to));
+      }
+    }
+  }
+}
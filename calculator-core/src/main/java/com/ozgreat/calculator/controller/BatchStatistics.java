@@ -0,0 +1,72 @@
+package com.ozgreat.calculator.controller;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link BatchEvaluator}: amount of evaluated sequences and time of evaluation
+ *
+ * @author ozgreat
+ * @see BatchEvaluator
+ */
+public final class BatchStatistics {
+  /**
+   * Amount of evaluated sequences
+   */
+  private final long sequences;
+
+  /**
+   * Amount of sequences, that were stopped by unexpected error
+   */
+  private final long errors;
+
+  /**
+   * Time of evaluation in nanoseconds
+   */
+  private final long nanos;
+
+  BatchStatistics(long sequences, long errors, long nanos) {
+    this.sequences = sequences;
+    this.errors = errors;
+    this.nanos = nanos;
+  }
+
+  public long getSequences() {
+    return sequences;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Get statistics with more errors, that were found out of evaluator, like sequences that couldn't be parsed
+   *
+   * @param otherErrors amount of other errors
+   * @return new statistics with the same sequences and time
+   */
+  public BatchStatistics addErrors(long otherErrors) {
+    return new BatchStatistics(sequences, errors + otherErrors, nanos);
+  }
+
+  /**
+   * Get throughput of evaluation
+   *
+   * @return evaluated sequences per second, zero if nothing was evaluated
+   */
+  public double getSequencesPerSecond() {
+    if (nanos == 0) {
+      return 0;
+    }
+    return sequences * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d sequences (%d errors) in %.3f s, %.0f sequences/s", sequences, errors,
+        nanos / (double) TimeUnit.SECONDS.toNanos(1), getSequencesPerSecond());
+  }
+}
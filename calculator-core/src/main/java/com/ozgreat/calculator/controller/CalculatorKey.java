@@ -0,0 +1,168 @@
+package com.ozgreat.calculator.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum of calculator's buttons, which can be pressed in {@link CalculatorSession}
+ *
+ * @author ozgreat
+ * @see CalculatorSession
+ */
+public enum CalculatorKey {
+  /**
+   * Digit 0 button
+   */
+  DIGIT_0("0"),
+  /**
+   * Digit 1 button
+   */
+  DIGIT_1("1"),
+  /**
+   * Digit 2 button
+   */
+  DIGIT_2("2"),
+  /**
+   * Digit 3 button
+   */
+  DIGIT_3("3"),
+  /**
+   * Digit 4 button
+   */
+  DIGIT_4("4"),
+  /**
+   * Digit 5 button
+   */
+  DIGIT_5("5"),
+  /**
+   * Digit 6 button
+   */
+  DIGIT_6("6"),
+  /**
+   * Digit 7 button
+   */
+  DIGIT_7("7"),
+  /**
+   * Digit 8 button
+   */
+  DIGIT_8("8"),
+  /**
+   * Digit 9 button
+   */
+  DIGIT_9("9"),
+  /**
+   * Decimal separator button
+   */
+  POINT("."),
+  /**
+   * Add button
+   */
+  ADD("\uE948"),
+  /**
+   * Subtract button
+   */
+  SUBTRACT("\uE949"),
+  /**
+   * Multiply button
+   */
+  MULTIPLY("\uE947"),
+  /**
+   * Divide button
+   */
+  DIVIDE("\uE94A"),
+  /**
+   * Square root button
+   */
+  SQRT("\uE94B"),
+  /**
+   * Square button
+   */
+  POW("\uD835\uDC65²"),
+  /**
+   * Reverse button
+   */
+  REVERSE("⅟\uD835\uDC65"),
+  /**
+   * Negate button
+   */
+  NEGATE("\uE94D"),
+  /**
+   * Percent button
+   */
+  PERCENT("\uE94C"),
+  /**
+   * Equals button
+   */
+  EQUALS("\uE94E"),
+  /**
+   * Backspace button
+   */
+  BACKSPACE("\uE94F"),
+  /**
+   * Clear button
+   */
+  CLEAR("C"),
+  /**
+   * Clear entry button
+   */
+  CLEAR_ENTRY("CE"),
+  /**
+   * Memory clear button
+   */
+  MEMORY_CLEAR("MC"),
+  /**
+   * Memory recall button
+   */
+  MEMORY_RECALL("MR"),
+  /**
+   * Memory add button
+   */
+  MEMORY_ADD("M+"),
+  /**
+   * Memory subtract button
+   */
+  MEMORY_SUB("M-"),
+  /**
+   * Memory save button
+   */
+  MEMORY_SAVE("MS");
+
+  /**
+   * Map to get key from text of button
+   */
+  private static final Map<String, CalculatorKey> keys = new HashMap<>();
+
+  /**
+   * Text of button
+   */
+  private final String text;
+
+  static {
+    for (CalculatorKey key : values()) {
+      keys.put(key.text, key);
+    }
+  }
+
+  CalculatorKey(String text) {
+    this.text = text;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Get key from text of button
+   *
+   * @param text text of button
+   * @return key
+   * @throws IllegalArgumentException if there isn't button with such text
+   */
+  public static CalculatorKey fromText(String text) {
+    CalculatorKey key = keys.get(text);
+    if (key == null) {
+      throw new IllegalArgumentException("Unknown calculator key: " + text);
+    }
+    return key;
+  }
+}
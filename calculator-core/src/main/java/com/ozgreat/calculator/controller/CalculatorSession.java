@@ -0,0 +1,573 @@
+package com.ozgreat.calculator.controller;
+
+import com.ozgreat.calculator.model.CalculatorException;
+import com.ozgreat.calculator.model.CalculatorExceptionType;
+import com.ozgreat.calculator.model.CalculatorModel;
+import com.ozgreat.calculator.model.DigitBackspace;
+import com.ozgreat.calculator.model.SnapshotCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import static com.ozgreat.calculator.controller.CalculatorKey.*;
+import static com.ozgreat.calculator.controller.InputService.DEFAULT_DISPLAY_NUMBER;
+import static com.ozgreat.calculator.controller.NumberFormatter.*;
+
+/**
+ * Headless state of calculator's window: display, formula and error flag. Input is given as {@link CalculatorKey}
+ * tokens, so session doesn't depend on JavaFX: window presses keys of its buttons, and sequences of input can be
+ * evaluated without window and in many threads, one session in each thread.
+ *
+ * @author ozgreat
+ * @see InputService
+ * @see CalculatorKey
+ * @see BatchEvaluator
+ */
+public class CalculatorSession {
+  /**
+   * Map, that contains messages to each type of {@link CalculatorExceptionType}
+   */
+  private static final Map<CalculatorExceptionType, String> exceptionMessages = new EnumMap<>(CalculatorExceptionType.class);
+
+  /**
+   * Map of actions, that are done on key's press, action gets text of key
+   */
+  private static final Map<CalculatorKey, BiConsumer<CalculatorSession, String>> keyActions = new EnumMap<>(CalculatorKey.class);
+
+  /**
+   * Keys, which buttons are disabled, when exception was caught
+   */
+  private static final Set<CalculatorKey> DISABLED_IF_ERROR = EnumSet.of(NEGATE, ADD, SUBTRACT, SQRT, PERCENT, POINT,
+      POW, DIVIDE, MULTIPLY, REVERSE, MEMORY_SUB, MEMORY_ADD, MEMORY_SAVE, MEMORY_RECALL, MEMORY_CLEAR);
+
+  /**
+   * Keys, which buttons are disabled, when memory is empty
+   */
+  private static final Set<CalculatorKey> DISABLED_IF_MEMORY_EMPTY = EnumSet.of(MEMORY_RECALL, MEMORY_CLEAR);
+
+  /**
+   * Keys, which runs are calculated in one step by {@link #press(List)}
+   */
+  private static final Set<CalculatorKey> REPEATABLE = EnumSet.of(SQRT, POW);
+
+  /**
+   * Flag of written state, that exception was caught
+   */
+  private static final int EXCEPTION_FLAG = 1;
+
+  /**
+   * Flag of written state, that number on display was recalled from memory
+   */
+  private static final int MEMORY_RECALL_FLAG = 1 << 1;
+
+  /**
+   * Flag of written state, that user can do backspace
+   */
+  private static final int BACKSPACE_FLAG = 1 << 2;
+
+  /**
+   * Flag of written state, that display of the last unary operation follows display
+   */
+  private static final int UNARY_DISPLAY_FLAG = 1 << 3;
+
+  static {
+    exceptionMessages.put(CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO, "Cannot divide by zero");
+    exceptionMessages.put(CalculatorExceptionType.DIVIDING_ZERO_BY_ZERO, "Result is undefined");
+    exceptionMessages.put(CalculatorExceptionType.NEGATIVE_ROOT, "Invalid input");
+    exceptionMessages.put(CalculatorExceptionType.OVERFLOW, "Overflow");
+
+    for (CalculatorKey key : CalculatorKey.values()) {
+      keyActions.put(key, CalculatorSession::enterNumberOrDot);
+    }
+    keyActions.put(ADD, CalculatorSession::enterOperation);
+    keyActions.put(SUBTRACT, CalculatorSession::enterOperation);
+    keyActions.put(MULTIPLY, CalculatorSession::enterOperation);
+    keyActions.put(DIVIDE, CalculatorSession::enterOperation);
+    keyActions.put(SQRT, CalculatorSession::unaryOperation);
+    keyActions.put(POW, CalculatorSession::unaryOperation);
+    keyActions.put(REVERSE, CalculatorSession::unaryOperation);
+    keyActions.put(NEGATE, CalculatorSession::unaryOperation);
+    keyActions.put(PERCENT, CalculatorSession::percent);
+    keyActions.put(EQUALS, (session, text) -> session.equal());
+    keyActions.put(BACKSPACE, (session, text) -> session.backspace());
+    keyActions.put(CLEAR, (session, text) -> session.clear());
+    keyActions.put(CLEAR_ENTRY, (session, text) -> session.clearEntry());
+    keyActions.put(MEMORY_CLEAR, (session, text) -> session.memoryClear());
+    keyActions.put(MEMORY_RECALL, (session, text) -> session.memoryRecall());
+    keyActions.put(MEMORY_ADD, (session, text) -> session.memoryAdd());
+    keyActions.put(MEMORY_SUB, (session, text) -> session.memorySub());
+    keyActions.put(MEMORY_SAVE, (session, text) -> session.memorySave());
+  }
+
+  /**
+   * Service that connect session with model
+   */
+  private InputService inputService = new InputService();
+
+  /**
+   * Text on display
+   */
+  private String display = DEFAULT_DISPLAY_NUMBER;
+
+  /**
+   * Full history of operations before equals
+   */
+  private final Formula formula = new Formula();
+
+  /**
+   * True when exception was caught
+   */
+  private boolean isException = false;
+
+  /**
+   * Press button of key. Key is ignored, if its button is disabled in window
+   *
+   * @param key key to press
+   * @throws IllegalStateException if unexpected error was thrown, session is reset then
+   */
+  public void press(CalculatorKey key) {
+    boolean isDisabled = isException && DISABLED_IF_ERROR.contains(key)
+        || inputService.isMemoryEmpty() && DISABLED_IF_MEMORY_EMPTY.contains(key);
+
+    if (!isDisabled) {
+      keyActions.get(key).accept(this, key.getText());
+    }
+  }
+
+  /**
+   * Press keys one by one. Runs of equals and runs of the same square or root, that are applied to result of
+   * calculation, are calculated in one step, because display between them isn't shown
+   *
+   * @param keys keys to press
+   * @throws IllegalStateException if unexpected error was thrown, session is reset then
+   */
+  public void press(List<CalculatorKey> keys) {
+    int i = 0;
+    while (i < keys.size()) {
+      CalculatorKey key = keys.get(i);
+      int end = i + 1;
+      if (REPEATABLE.contains(key) || key == EQUALS) {
+        while (end < keys.size() && keys.get(end) == key) {
+          end++;
+        }
+      }
+
+      if (key == EQUALS) {
+        equal(end - i);
+      } else if (end - i > 1 && !isException && inputService.isRepeatable()) {
+        unaryOperation(key.getText(), end - i);
+      } else {
+        for (int j = i; j < end; j++) {
+          press(keys.get(j));
+        }
+      }
+      i = end;
+    }
+  }
+
+  /**
+   * Typing of number or dot
+   *
+   * @param value text of button, digit or decimal separator
+   */
+  public void enterNumberOrDot(String value) {
+    if (isException) {
+      setNormal();
+    }
+    try {
+      display = inputService.enterNumberOrComma(value, display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Setting display to default value and clear formula and operation
+   */
+  public void clear() {
+    if (isException) {
+      setNormal();
+    }
+    display = DEFAULT_DISPLAY_NUMBER;
+    inputService.clearDisplay();
+    formula.clear();
+  }
+
+  /**
+   * Setting display to 0
+   */
+  public void clearEntry() {
+    if (isException) {
+      setNormal();
+    }
+    display = DEFAULT_DISPLAY_NUMBER;
+    inputService.setMemoryRecall(false);
+    inputService.setBackspacePossible(true);
+  }
+
+  /**
+   * Entering binary operation
+   *
+   * @param operation text of operation's button
+   */
+  public void enterOperation(String operation) {
+    inputService.highFormula(operation, formula, display);
+    try {
+      display = inputService.enterOperation(operation, display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Removing last symbol from display
+   */
+  public void backspace() {
+    try {
+      if (isException) {
+        setNormal();
+      } else if (inputService.isBackspaceAvailable()) {
+        if (display.endsWith(String.valueOf(DECIMAL_SEPARATOR))) {
+          display = display.substring(0, display.length() - 1);
+        } else {
+          BigDecimal result = parse(display);
+          boolean saveDecimalSeparator = result.scale() == 1;
+
+          display = format(DigitBackspace.deleteLastDigit(result));
+
+          if (saveDecimalSeparator) {
+            display += DECIMAL_SEPARATOR;
+          }
+        }
+      }
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Calling a calculation and displaying results
+   */
+  public void equal() {
+    if (isException) {
+      setNormal();
+    }
+    formula.clear();
+    try {
+      display = inputService.enterEqual(display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Calling a calculation several times, like equals was pressed {@code repetitions} times. Presses after the first
+   * one are calculated in one step, if they repeat binary operation with its result
+   *
+   * @param repetitions positive amount of presses
+   */
+  public void equal(int repetitions) {
+    equal();
+    if (repetitions > 1 && !isException && inputService.isEqualRepeatable()) {
+      try {
+        display = inputService.enterEqual(repetitions - 1);
+      } catch (CalculatorException e) { // model isn't changed, equals are repeated to stop at the same press
+        for (int i = 1; i < repetitions; i++) {
+          equal();
+        }
+      } catch (Exception e) {
+        handleUnexpected(e);
+      }
+    } else {
+      for (int i = 1; i < repetitions; i++) {
+        equal();
+      }
+    }
+  }
+
+  /**
+   * Enter and calculate unary operation
+   *
+   * @param operation text of operation's button
+   */
+  public void unaryOperation(String operation) {
+    inputService.highFormula(operation, formula, display);
+    calculateUnary(operation);
+  }
+
+  /**
+   * Enter unary operation several times, when it is applied to result of calculation
+   *
+   * @param operation   text of operation's button
+   * @param repetitions amount of presses
+   */
+  private void unaryOperation(String operation, int repetitions) {
+    inputService.highFormula(operation, formula, display);
+    try {
+      display = inputService.unaryOp(operation, repetitions);
+      for (int i = 1; i < repetitions; i++) {
+        inputService.highFormula(operation, formula, display);
+      }
+    } catch (CalculatorException e) { // model isn't changed, operation is repeated to stop at the same press
+      calculateUnary(operation);
+      for (int i = 1; i < repetitions && !isException; i++) {
+        unaryOperation(operation);
+      }
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  private void calculateUnary(String operation) {
+    try {
+      display = inputService.unaryOp(operation, display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Find the percent from number. If exception was caught, display keeps previous number like in window
+   *
+   * @param operation text of percent button
+   */
+  public void percent(String operation) {
+    String displayText = display;
+    try {
+      displayText = inputService.percentOp(display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+    display = displayText;
+    inputService.highFormula(operation, formula, display);
+  }
+
+  /**
+   * Save display in memory
+   */
+  public void memorySave() {
+    try {
+      inputService.saveToMemory(display);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Set on display the last number from memory, if memory is not empty
+   */
+  public void memoryRecall() {
+    if (!inputService.isMemoryEmpty()) {
+      try {
+        display = inputService.recallFromMemory();
+      } catch (CalculatorException e) {
+        handleException(e);
+      }
+    }
+  }
+
+  /**
+   * Set time, that operation waits for all digits of result. Result with digits, that are displayed, is given, when
+   * budget is over, and the rest of digits is calculated in background
+   *
+   * @param latencyBudget time in milliseconds, zero if all digits are calculated only on demand
+   */
+  public void setLatencyBudget(long latencyBudget) {
+    inputService.setLatencyBudget(latencyBudget);
+  }
+
+  /**
+   * Get display, that would be shown, when background calculation of operand is finished
+   *
+   * @return future of refined display, null if there is no background calculation or exception is shown
+   */
+  public CompletableFuture<String> refinedDisplay() {
+    return isException ? null : inputService.refinedDisplay();
+  }
+
+  /**
+   * Replace display with refined one, if display still shows approximate number, that was refined
+   *
+   * @param approximate display, that was shown, when refining was started
+   * @param refined     display of exact number
+   */
+  public void refine(String approximate, String refined) {
+    if (!isException && display.equals(approximate)) {
+      display = refined;
+    }
+  }
+
+  /**
+   * Put number to memory of session, like it was saved before
+   *
+   * @param memory number of memory, null if memory is empty
+   */
+  public void restoreMemory(BigDecimal memory) {
+    inputService.restoreMemory(memory);
+  }
+
+  /**
+   * Stop calculations of session in background. Action, which thread is interrupted, stops between steps of long
+   * calculation with {@link CancellationException}. Method can be called from any thread, session mustn't be used
+   * after it
+   */
+  public void cancel() {
+    inputService.getModel().cancel();
+  }
+
+  /**
+   * Delete memory number, if there is exists
+   */
+  public void memoryClear() {
+    inputService.clearMemory();
+  }
+
+  /**
+   * Add display to memory
+   */
+  public void memoryAdd() {
+    try {
+      inputService.addToMemory(display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Subtract display from memory
+   */
+  public void memorySub() {
+    try {
+      inputService.subToMemory(display);
+    } catch (CalculatorException e) {
+      handleException(e);
+    } catch (Exception e) {
+      handleUnexpected(e);
+    }
+  }
+
+  public String getDisplay() {
+    return display;
+  }
+
+  public String getFormula() {
+    return formula.toString();
+  }
+
+  public boolean isException() {
+    return isException;
+  }
+
+  public boolean isMemoryEmpty() {
+    return inputService.isMemoryEmpty();
+  }
+
+  public BigDecimal getMemory() {
+    return inputService.getMemory();
+  }
+
+  /**
+   * Write state of session: display, flags, formula and model. Typed number isn't written, it's loaded from display,
+   * and background refinement isn't written, digits are calculated again on demand
+   *
+   * @param out output of session
+   * @throws IOException if output can't be written
+   * @see SessionCodec
+   */
+  void write(DataOutput out) throws IOException {
+    String unaryDisplay = inputService.getUnaryDisplay();
+    int flags = (isException ? EXCEPTION_FLAG : 0)
+        | (inputService.isMemoryRecall() ? MEMORY_RECALL_FLAG : 0)
+        | (inputService.isBackspacePossible() ? BACKSPACE_FLAG : 0)
+        | (unaryDisplay != null ? UNARY_DISPLAY_FLAG : 0);
+
+    out.writeByte(flags);
+    out.writeUTF(display);
+    if (unaryDisplay != null) {
+      out.writeUTF(unaryDisplay);
+    }
+    formula.write(out);
+
+    CalculatorModel model = inputService.getModel();
+    SnapshotCodec.writeVarLong(out, model.getLatencyBudget());
+    SnapshotCodec.write(model.getSnapshot(), out);
+  }
+
+  /**
+   * Replace state of session with state, that was written by {@link #write(DataOutput)}
+   *
+   * @param in input of session
+   * @throws IOException if input can't be read or has no valid session
+   */
+  void read(DataInput in) throws IOException {
+    int flags = in.readUnsignedByte();
+    String newDisplay = in.readUTF();
+    String unaryDisplay = (flags & UNARY_DISPLAY_FLAG) != 0 ? in.readUTF() : null;
+    formula.read(in);
+
+    long latencyBudget = SnapshotCodec.readVarLong(in);
+    CalculatorModel model = new CalculatorModel(SnapshotCodec.read(in));
+    if (latencyBudget < 0) {
+      throw new IOException("Latency budget can't be negative: " + latencyBudget);
+    }
+    model.setLatencyBudget(latencyBudget);
+
+    inputService = new InputService(model, (flags & MEMORY_RECALL_FLAG) != 0, (flags & BACKSPACE_FLAG) != 0,
+        unaryDisplay);
+    display = newDisplay;
+    isException = (flags & EXCEPTION_FLAG) != 0;
+  }
+
+  private void handleException(CalculatorException e) {
+    isException = true;
+
+    if (exceptionMessages.containsKey(e.getType())) {
+      display = exceptionMessages.get(e.getType());
+    } else {
+      handleUnexpected(e);
+    }
+  }
+
+  /**
+   * Reset calculator with memory and throw unchecked exception, that caller has to report. Cancelled calculation
+   * isn't reported, it's thrown further, because cancelled session is dropped
+   *
+   * @param e unexpected exception
+   */
+  private void handleUnexpected(Exception e) {
+    if (e instanceof CancellationException) {
+      throw (CancellationException) e;
+    }
+    isException = true;
+    memoryClear();
+    setNormal();
+    throw new IllegalStateException("Unexpected error, calculator was reset", e);
+  }
+
+  private void setNormal() {
+    isException = false;
+    clear();
+  }
+}
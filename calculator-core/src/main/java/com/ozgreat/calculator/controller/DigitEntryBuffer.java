@@ -0,0 +1,225 @@
+package com.ozgreat.calculator.controller;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.ozgreat.calculator.controller.NumberFormatter.*;
+
+/**
+ * Number, that user is typing now. Digits, sign and position of decimal separator are kept while digits arrive, so
+ * typing of digit or decimal separator doesn't parse and format whole number again. {@link BigDecimal} is built only
+ * when operation takes the number
+ * <p>
+ * Text of number is the same, that {@link NumberFormatter} gives for typed number: integer part is grouped and
+ * trailing zeros of decimal part are kept
+ *
+ * @author ozgreat
+ * @see InputService
+ * @see NumberFormatter
+ */
+final class DigitEntryBuffer {
+  /**
+   * Maximum amount of digits in buffer, it is enough for any number, that can be typed
+   */
+  private static final int CAPACITY = 2 * MAX_SYMBOLS;
+
+  /**
+   * Amount of decimal digits, that always fit in {@code long}
+   */
+  private static final int LONG_DIGITS = 18;
+
+  /**
+   * Typed digits without sign, separators and leading zeros of integer part, except one zero before decimal separator
+   */
+  private final char[] digits = new char[CAPACITY];
+
+  /**
+   * Text of number, that is built from {@link #digits}, it has sign and separators
+   */
+  private final char[] chars = new char[2 * CAPACITY];
+
+  /**
+   * Amount of typed digits
+   */
+  private int length;
+
+  /**
+   * Amount of digits before decimal separator, -1 if there is no decimal separator
+   */
+  private int pointPosition = -1;
+
+  /**
+   * Flag, that number has minus
+   */
+  private boolean isNegative;
+
+  /**
+   * Amount of digits, that aren't zeros
+   */
+  private int nonZeroDigits;
+
+  /**
+   * Text of number, null if buffer is empty or text wasn't built after last change
+   */
+  private String text;
+
+  /**
+   * Flag, that buffer has number
+   */
+  private boolean isLoaded;
+
+  /**
+   * Load number from display. Only number without exponent, that {@link NumberFormatter} could give, is loaded
+   *
+   * @param display text of display
+   * @return true if number was loaded, false if display can't be typed further digit by digit
+   */
+  boolean load(String display) {
+    isLoaded = false;
+    length = 0;
+    pointPosition = -1;
+    nonZeroDigits = 0;
+    isNegative = display.startsWith("-");
+
+    for (int i = isNegative ? 1 : 0; i < display.length(); i++) {
+      char c = display.charAt(i);
+      if (c == DECIMAL_SEPARATOR && pointPosition == -1) {
+        pointPosition = length;
+      } else if (c >= '0' && c <= '9' && length < CAPACITY) {
+        push(c);
+      } else if (c != GROUP_SEPARATOR) {
+        return false;
+      }
+    }
+
+    if (length == 0) {
+      return false;
+    }
+    text = null;
+    isLoaded = true;
+    return display.equals(toString());
+  }
+
+  /**
+   * Load one digit, like it is first typed symbol of number
+   *
+   * @param digit typed digit
+   */
+  void loadDigit(char digit) {
+    length = 0;
+    pointPosition = -1;
+    nonZeroDigits = 0;
+    isNegative = false;
+    push(digit);
+    text = null;
+    isLoaded = true;
+  }
+
+  /**
+   * Check, that buffer has number with the same text as display
+   *
+   * @param display text of display
+   * @return true if display shows number of buffer
+   */
+  boolean isShowing(String display) {
+    return isLoaded && toString().equals(display);
+  }
+
+  /**
+   * Check, that number can't be longer. Leading zero isn't counted
+   *
+   * @param isDigit true if digit is going to be typed, false for decimal separator
+   * @return true if typed symbol has to be ignored
+   */
+  boolean isTooBig(boolean isDigit) {
+    int coef = digits[0] == '0' ? 1 : 0;
+    return MAX_SYMBOLS + coef < length + (isDigit ? 1 : 0);
+  }
+
+  /**
+   * Add digit to the end of number. Zero integer part is replaced with digit
+   *
+   * @param digit typed digit
+   */
+  void appendDigit(char digit) {
+    if (length == 1 && pointPosition == -1 && digits[0] == '0') {
+      length = 0;
+    }
+    push(digit);
+
+    if (nonZeroDigits == 0) { // zero hasn't sign
+      isNegative = false;
+    }
+    text = null;
+  }
+
+  /**
+   * Add decimal separator to the end of number, if number hasn't it
+   */
+  void appendPoint() {
+    if (pointPosition == -1) {
+      pointPosition = length;
+      text = null;
+    }
+  }
+
+  /**
+   * Build {@link BigDecimal} of typed number. Scale of number is amount of typed decimal digits
+   *
+   * @return typed number
+   */
+  BigDecimal toBigDecimal() {
+    int scale = pointPosition == -1 ? 0 : length - pointPosition;
+    BigDecimal number;
+
+    if (length <= LONG_DIGITS) {
+      long unscaled = 0;
+      for (int i = 0; i < length; i++) {
+        unscaled = unscaled * 10 + (digits[i] - '0');
+      }
+      number = BigDecimal.valueOf(unscaled, scale);
+    } else {
+      number = new BigDecimal(new BigInteger(new String(digits, 0, length)), scale);
+    }
+
+    return isNegative ? number.negate() : number;
+  }
+
+  /**
+   * Get text of number with sign, grouped integer part and decimal separator
+   *
+   * @return text of number
+   */
+  @Override
+  public String toString() {
+    if (text == null) {
+      int size = 0;
+      if (isNegative) {
+        chars[size++] = '-';
+      }
+
+      int intDigits = pointPosition == -1 ? length : pointPosition;
+      for (int i = 0; i < length; i++) {
+        if (i == pointPosition) {
+          chars[size++] = DECIMAL_SEPARATOR;
+        } else if (i > 0 && i < intDigits && (intDigits - i) % 3 == 0) {
+          chars[size++] = GROUP_SEPARATOR;
+        }
+        chars[size++] = digits[i];
+      }
+      if (pointPosition == length) {
+        chars[size++] = DECIMAL_SEPARATOR;
+      }
+
+      text = new String(chars, 0, size);
+    }
+    return text;
+  }
+
+  private void push(char digit) {
+    digits[length++] = digit;
+    if (digit != '0') {
+      nonZeroDigits++;
+    }
+  }
+}
@@ -0,0 +1,430 @@
+package com.ozgreat.calculator.controller;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * History formula, that is shown above display. Formula is a chain of terms: operands, binary operators and unary
+ * operations, that wrap other terms, like {@code sqr( 5 )}. Terms are linked, so appending of term and wrapping of
+ * last terms take constant time. Text of formula is built only when it is read
+ *
+ * @author ozgreat
+ * @see InputService
+ */
+final class Formula {
+  /**
+   * Token, that ends formula or terms of unary operation
+   */
+  private static final int END_TOKEN = 0;
+
+  /**
+   * Token of number, it's followed by text of number
+   */
+  private static final int NUMBER_TOKEN = 1;
+
+  /**
+   * Token of binary operator, it's followed by symbol of operator
+   */
+  private static final int OPERATOR_TOKEN = 2;
+
+  /**
+   * Token of unary operation with space after opening bracket, it's followed by symbol and wrapped terms
+   */
+  private static final int UNARY_TOKEN = 3;
+
+  /**
+   * Token of unary operation without space after opening bracket
+   */
+  private static final int UNSPACED_UNARY_TOKEN = 4;
+
+  /**
+   * First term of formula, null if formula is empty
+   */
+  private Term head;
+
+  /**
+   * Last term of formula
+   */
+  private Term tail;
+
+  /**
+   * Amount of terms in formula
+   */
+  private int size;
+
+  /**
+   * First unary operation of formula, null if there is no one
+   */
+  private Unary firstUnary;
+
+  /**
+   * Binary operators of formula from first to last
+   */
+  private final Deque<Operand> operators = new ArrayDeque<>();
+
+  /**
+   * Text of formula, null if formula was changed after last reading
+   */
+  private String text = "";
+
+  /**
+   * Remove all terms
+   */
+  void clear() {
+    head = null;
+    tail = null;
+    size = 0;
+    firstUnary = null;
+    operators.clear();
+    text = "";
+  }
+
+  boolean isEmpty() {
+    return head == null;
+  }
+
+  /**
+   * Check, that last term is number
+   *
+   * @return true if formula ends with number
+   */
+  boolean endsWithNumber() {
+    return tail instanceof Operand && !((Operand) tail).isOperator;
+  }
+
+  /**
+   * Check, that last term is unary operation
+   *
+   * @return true if formula ends with ")"
+   */
+  boolean endsWithUnary() {
+    return tail instanceof Unary;
+  }
+
+  /**
+   * Check, that formula has binary operator, that isn't wrapped with unary operation
+   *
+   * @return true if formula has binary operator
+   */
+  boolean hasOperator() {
+    return !operators.isEmpty();
+  }
+
+  /**
+   * Add number to the end
+   *
+   * @param number text of number
+   */
+  void appendNumber(String number) {
+    append(new Operand(number, false));
+  }
+
+  /**
+   * Add binary operator to the end
+   *
+   * @param operator symbol of operator
+   */
+  void appendOperator(String operator) {
+    Operand term = new Operand(operator, true);
+    append(term);
+    operators.addLast(term);
+  }
+
+  /**
+   * Replace last binary operator. Operator is added, if formula doesn't end with operator
+   *
+   * @param operator symbol of new operator
+   */
+  void replaceOperator(String operator) {
+    if (tail instanceof Operand && ((Operand) tail).isOperator) {
+      ((Operand) tail).text = operator;
+      text = null;
+    } else {
+      appendOperator(operator);
+    }
+  }
+
+  /**
+   * Add unary operation of number to the end, like {@code sqr( 5 )}
+   *
+   * @param symbol symbol of unary operation
+   * @param number text of number
+   */
+  void appendUnary(String symbol, String number) {
+    Unary unary = new Unary(symbol, true);
+    unary.first = new Operand(number, false);
+    append(unary);
+
+    if (firstUnary == null) {
+      firstUnary = unary;
+    }
+  }
+
+  /**
+   * Wrap all terms with unary operation
+   *
+   * @param symbol symbol of unary operation
+   */
+  void wrapAll(String symbol) {
+    Unary unary = new Unary(symbol, true);
+    unary.first = head;
+    head.prev = null;
+
+    head = null;
+    tail = null;
+    size = 0;
+    operators.clear();
+    append(unary);
+    firstUnary = unary;
+  }
+
+  /**
+   * Wrap terms from first unary operation to the end with new unary operation
+   *
+   * @param symbol   symbol of unary operation
+   * @param isSpaced false if there is no space after opening bracket
+   */
+  void wrapFromFirstUnary(String symbol, boolean isSpaced) {
+    Unary unary = new Unary(symbol, isSpaced);
+    Term first = firstUnary;
+
+    unary.first = first;
+    unary.prev = first.prev;
+    unary.index = first.index;
+    if (first.prev == null) {
+      head = unary;
+    } else {
+      first.prev.next = unary;
+    }
+    first.prev = null;
+
+    tail = unary;
+    size = unary.index + 1;
+    while (!operators.isEmpty() && operators.peekLast().index > unary.index) {
+      operators.removeLast();
+    }
+    firstUnary = unary;
+    text = null;
+  }
+
+  /**
+   * Remove terms after last binary operator
+   */
+  void removeAfterOperator() {
+    Operand operator = operators.getLast();
+    operator.next = null;
+    tail = operator;
+    size = operator.index + 1;
+
+    if (firstUnary != null && firstUnary.index > operator.index) {
+      firstUnary = null;
+    }
+    text = null;
+  }
+
+  /**
+   * Get text of formula. Terms are separated with spaces
+   *
+   * @return text of formula
+   */
+  @Override
+  public String toString() {
+    if (text == null) {
+      StringBuilder builder = new StringBuilder();
+      Deque<Unary> opened = new ArrayDeque<>();
+      Term term = head;
+      boolean isFirst = true;
+
+      while (term != null || !opened.isEmpty()) {
+        if (term == null) {
+          Unary unary = opened.removeLast();
+          builder.append(" )");
+          term = unary.next;
+          isFirst = false;
+          continue;
+        }
+
+        if (!isFirst) {
+          builder.append(' ');
+        }
+        if (term instanceof Unary) {
+          Unary unary = (Unary) term;
+          builder.append(unary.symbol).append(unary.isSpaced ? "( " : "(");
+          opened.addLast(unary);
+          term = unary.first;
+          isFirst = true;
+        } else {
+          builder.append(((Operand) term).text);
+          term = term.next;
+          isFirst = false;
+        }
+      }
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  /**
+   * Write formula as list of tokens. Unary operation is followed by tokens of its terms and end token, formula ends
+   * with end token too
+   *
+   * @param out output of formula
+   * @throws IOException if output can't be written
+   */
+  void write(DataOutput out) throws IOException {
+    Deque<Unary> opened = new ArrayDeque<>();
+    Term term = head;
+
+    while (term != null || !opened.isEmpty()) {
+      if (term == null) {
+        out.writeByte(END_TOKEN);
+        term = opened.removeLast().next;
+      } else if (term instanceof Unary) {
+        Unary unary = (Unary) term;
+        out.writeByte(unary.isSpaced ? UNARY_TOKEN : UNSPACED_UNARY_TOKEN);
+        out.writeUTF(unary.symbol);
+        opened.addLast(unary);
+        term = unary.first;
+      } else {
+        Operand operand = (Operand) term;
+        out.writeByte(operand.isOperator ? OPERATOR_TOKEN : NUMBER_TOKEN);
+        out.writeUTF(operand.text);
+        term = term.next;
+      }
+    }
+    out.writeByte(END_TOKEN);
+  }
+
+  /**
+   * Replace formula with tokens, that were written by {@link #write(DataOutput)}
+   *
+   * @param in input of formula
+   * @throws IOException if input can't be read or has no valid formula
+   */
+  void read(DataInput in) throws IOException {
+    clear();
+    for (Term term = readTerm(in); term != null; term = readTerm(in)) {
+      append(term);
+      if (term instanceof Operand && ((Operand) term).isOperator) {
+        operators.addLast((Operand) term);
+      } else if (term instanceof Unary && firstUnary == null) {
+        firstUnary = (Unary) term;
+      }
+    }
+  }
+
+  /**
+   * Read term with its wrapped terms
+   *
+   * @param in input of formula
+   * @return read term, null if end token was read
+   * @throws IOException if input can't be read or has no valid formula
+   */
+  private static Term readTerm(DataInput in) throws IOException {
+    int token = in.readUnsignedByte();
+    if (token == END_TOKEN) {
+      return null;
+    } else if (token == NUMBER_TOKEN || token == OPERATOR_TOKEN) {
+      return new Operand(in.readUTF(), token == OPERATOR_TOKEN);
+    } else if (token != UNARY_TOKEN && token != UNSPACED_UNARY_TOKEN) {
+      throw new IOException("Unknown token of formula: " + token);
+    }
+
+    Unary unary = new Unary(in.readUTF(), token == UNARY_TOKEN);
+    Term last = null;
+    for (Term term = readTerm(in); term != null; term = readTerm(in)) {
+      if (last == null) {
+        unary.first = term;
+      } else {
+        last.next = term;
+        term.prev = last;
+      }
+      last = term;
+    }
+
+    if (unary.first == null) {
+      throw new IOException("Unary operation of formula has no terms");
+    }
+    return unary;
+  }
+
+  private void append(Term term) {
+    term.index = size++;
+    term.prev = tail;
+    if (tail == null) {
+      head = term;
+    } else {
+      tail.next = term;
+    }
+    tail = term;
+    text = null;
+  }
+
+  /**
+   * Term of formula, that is linked with its neighbours
+   */
+  private abstract static class Term {
+    /**
+     * Previous term in the same chain
+     */
+    Term prev;
+
+    /**
+     * Next term in the same chain
+     */
+    Term next;
+
+    /**
+     * Index of term in formula, it is actual only for terms, that aren't wrapped
+     */
+    int index;
+  }
+
+  /**
+   * Number or binary operator
+   */
+  private static final class Operand extends Term {
+    /**
+     * Text of number or symbol of operator
+     */
+    String text;
+
+    /**
+     * Flag, that term is binary operator
+     */
+    final boolean isOperator;
+
+    Operand(String text, boolean isOperator) {
+      this.text = text;
+      this.isOperator = isOperator;
+    }
+  }
+
+  /**
+   * Unary operation, that wraps chain of terms
+   */
+  private static final class Unary extends Term {
+    /**
+     * Symbol of operation
+     */
+    final String symbol;
+
+    /**
+     * Flag, that there is space after opening bracket
+     */
+    final boolean isSpaced;
+
+    /**
+     * First wrapped term
+     */
+    Term first;
+
+    Unary(String symbol, boolean isSpaced) {
+      this.symbol = symbol;
+      this.isSpaced = isSpaced;
+    }
+  }
+}
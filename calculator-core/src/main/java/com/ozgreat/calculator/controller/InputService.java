@@ -0,0 +1,601 @@
+package com.ozgreat.calculator.controller;
+
+import com.ozgreat.calculator.model.*;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ozgreat.calculator.controller.NumberFormatter.*;
+
+/**
+ * Service class, that is bridge between {@link CalculatorSession} and {@link CalculatorModel}. Calling from
+ * {@link CalculatorSession} with texts of buttons and transmit query from session to model.
+ *
+ * @author ozreat
+ * @see CalculatorSession
+ * @see CalculatorModel
+ * @see ArithmeticOperation
+ * @see CalculatorState
+ * @see NumberFormatter
+ */
+class InputService {
+  /**
+   * Map of binary {@link ArithmeticOperation} to get ArithmeticOperation from string
+   */
+  private final static Map<String, ArithmeticOperation> binaryOperationObject = new HashMap<>();
+
+  /**
+   * Map of unary {@link ArithmeticOperation} to get ArithmeticOperation from string
+   */
+  private final static Map<String, ArithmeticOperation> unaryOperationObject = new HashMap<>();
+
+  /**
+   * Map to get operation symbol from {@link ArithmeticOperation}
+   */
+  private final static Map<ArithmeticOperation, String> operationSymbols = new HashMap<>();
+
+  /**
+   * Default display number
+   */
+  static final String DEFAULT_DISPLAY_NUMBER = "0";
+
+  /**
+   * Calculator model to do calculations
+   */
+  private CalculatorModel calc;
+
+  /**
+   * Number, that user is typing now
+   */
+  private final DigitEntryBuffer entry = new DigitEntryBuffer();
+
+  /**
+   * Flag, that confirm status of number on display
+   */
+  private boolean isMemoryRecall = false;
+
+  /**
+   * Flag that confirm, that user can do backspace
+   */
+  private boolean isBackspacePossible = true;
+
+  /**
+   * Display, that was given by the last unary operation
+   */
+  private String unaryDisplay;
+
+  static {
+    binaryOperationObject.put("\uE948", ArithmeticOperation.ADD);
+    binaryOperationObject.put("\uE949", ArithmeticOperation.SUBTRACT);
+    binaryOperationObject.put("\uE947", ArithmeticOperation.MULTIPLY);
+    binaryOperationObject.put("\uE94A", ArithmeticOperation.DIVIDE);
+    binaryOperationObject.put("/", ArithmeticOperation.DIVIDE);
+    binaryOperationObject.put("*", ArithmeticOperation.MULTIPLY);
+    binaryOperationObject.put("+", ArithmeticOperation.ADD);
+    binaryOperationObject.put("-", ArithmeticOperation.SUBTRACT);
+    binaryOperationObject.put("×", ArithmeticOperation.MULTIPLY);
+    binaryOperationObject.put("÷", ArithmeticOperation.DIVIDE);
+
+    unaryOperationObject.put("\uE94B", ArithmeticOperation.SQRT);
+    unaryOperationObject.put("\uE94D", ArithmeticOperation.NEGATE);
+    unaryOperationObject.put("⅟\uD835\uDC65", ArithmeticOperation.REVERSE);//⅟𝑥
+    unaryOperationObject.put("\uD835\uDC65²", ArithmeticOperation.POW);//𝑥²
+    unaryOperationObject.put("negate", ArithmeticOperation.NEGATE);
+    unaryOperationObject.put("sqr", ArithmeticOperation.POW);
+    unaryOperationObject.put("√", ArithmeticOperation.SQRT);
+    unaryOperationObject.put("1/", ArithmeticOperation.REVERSE);
+
+    operationSymbols.put(ArithmeticOperation.ADD, "+");
+    operationSymbols.put(ArithmeticOperation.DIVIDE, "÷");
+    operationSymbols.put(ArithmeticOperation.MULTIPLY, "×");
+    operationSymbols.put(ArithmeticOperation.SUBTRACT, "-");
+    operationSymbols.put(ArithmeticOperation.SQRT, "√");
+    operationSymbols.put(ArithmeticOperation.NEGATE, "negate");
+    operationSymbols.put(ArithmeticOperation.REVERSE, "1/");
+    operationSymbols.put(ArithmeticOperation.POW, "sqr");
+  }
+
+  public InputService() {
+    calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+  }
+
+  /**
+   * Create service with state, that was kept by {@link SessionCodec}. Typed number is loaded from display again,
+   * when next digit is typed
+   *
+   * @param calc                model with restored state
+   * @param isMemoryRecall      flag, that number on display was recalled from memory
+   * @param isBackspacePossible flag, that user can do backspace
+   * @param unaryDisplay        display of the last unary operation, null if there is no one
+   */
+  InputService(CalculatorModel calc, boolean isMemoryRecall, boolean isBackspacePossible, String unaryDisplay) {
+    this.calc = calc;
+    this.isMemoryRecall = isMemoryRecall;
+    this.isBackspacePossible = isBackspacePossible;
+    this.unaryDisplay = unaryDisplay;
+  }
+
+  CalculatorModel getModel() {
+    return calc;
+  }
+
+  boolean isMemoryRecall() {
+    return isMemoryRecall;
+  }
+
+  boolean isBackspacePossible() {
+    return isBackspacePossible;
+  }
+
+  String getUnaryDisplay() {
+    return unaryDisplay;
+  }
+
+  public void setMemoryRecall(boolean memoryRecall) {
+    isMemoryRecall = memoryRecall;
+  }
+
+  public void setBackspacePossible(boolean backspacePossible) {
+    isBackspacePossible = backspacePossible;
+  }
+
+  /**
+   * Set time, that model waits for all digits of result, before it gives result with digits, that are displayed
+   *
+   * @param latencyBudget time in milliseconds, zero if all digits are calculated only on demand
+   * @see CalculatorModel#setLatencyBudget(long)
+   */
+  public void setLatencyBudget(long latencyBudget) {
+    calc.setLatencyBudget(latencyBudget);
+  }
+
+  /**
+   * Get display of operand, which digits are still calculated in background. Exact value is formatted like approximate
+   * one, that was formatted before, so future completes with exception only if something unexpected happened
+   *
+   * @return future of formatted exact value, null if operands are known exactly
+   */
+  public CompletableFuture<String> refinedDisplay() {
+    BigDecimal refining = calc.getRefiningOperand();
+    if (refining == null) {
+      return null;
+    }
+
+    return calc.getRefinement(refining).thenApply(exact -> {
+      try {
+        return NumberFormatter.format(exact);
+      } catch (CalculatorException e) {
+        throw new IllegalStateException("Exact value isn't displayed like approximate one", e);
+      }
+    });
+  }
+
+  /**
+   * Typing of digit or dot. Typed number is kept in {@link DigitEntryBuffer}, so display isn't parsed and formatted
+   * on every digit
+   *
+   * @param value   text of button, that have been pressed
+   * @param display numbers in textArea
+   * @return new numbers in textArea
+   */
+  public String enterNumberOrComma(String value, String display) throws ParseException, CalculatorException {
+    boolean isDigit = !value.equals(String.valueOf(DECIMAL_SEPARATOR));
+
+    if (calc.getCalculatorState() == CalculatorState.AFTER || calc.getCalculatorState() == CalculatorState.TRANSIENT) {
+      if (calc.getCalculatorState() == CalculatorState.AFTER) {
+        calc.setCalculatorState(CalculatorState.LEFT);
+      } else {
+        calc.setCalculatorState(CalculatorState.RIGHT);
+      }
+
+      if (isDigit) {
+        entry.loadDigit(value.charAt(0));
+      } else {
+        entry.loadDigit('0');
+        entry.appendPoint();
+      }
+      return entry.toString();
+    }
+
+    if (!entry.isShowing(display) && !entry.load(display)) {
+      return enterToFormatted(value, display);
+    }
+
+    if (entry.isTooBig(isDigit)) {
+      return display;
+    }
+
+    if (isDigit) {
+      entry.appendDigit(value.charAt(0));
+    } else {
+      entry.appendPoint();
+    }
+    return entry.toString();
+  }
+
+  /**
+   * Typing of number or dot after number, that can't be typed digit by digit, like number with exponent
+   *
+   * @param value   text of button, that have been pressed
+   * @param display numbers in textArea
+   * @return new numbers in textArea
+   */
+  private String enterToFormatted(String value, String display) throws ParseException, CalculatorException {
+    if (NumberFormatter.isTooBigToInput(display + value)) {
+      return display;
+    }
+
+    if (value.equals(String.valueOf(DECIMAL_SEPARATOR))) {
+      if (!display.contains(String.valueOf(DECIMAL_SEPARATOR))) {
+        display += DECIMAL_SEPARATOR;
+      }
+      return display;
+    }
+
+    return NumberFormatter.format(parse(removeGroupSeparator(display + value)));
+  }
+
+  /**
+   * Set calculatorState to CalculatorState.AFTER to type new numbers like textArea is clear
+   */
+  public void clearDisplay() {
+    calc.setCalculatorState(CalculatorState.AFTER);
+    calc.setOperation(null);
+    calc.setLeftOperand(null);
+    calc.setRightOperand(null);
+    isMemoryRecall = false;
+    isBackspacePossible = true;
+  }
+
+  /**
+   * Typing the binary operation
+   *
+   * @param operation text of button, that have been pressed
+   * @param display   numbers in textArea
+   * @return result of operation if two operands exists or display if not
+   */
+  public String enterOperation(String operation, String display) throws ParseException, CalculatorException {
+    if (isMemoryRecall) {
+      isMemoryRecall = false;
+      return NumberFormatter.format(calc.calculate(formatOperation(operation), calc.getMemory()));
+    }
+
+    return NumberFormatter.format(calc.calculate(formatOperation(operation), operand(display)));
+  }
+
+  /**
+   * Typing equal
+   *
+   * @param right right operand typed in calc
+   * @return result of binary operation
+   */
+  public String enterEqual(String right) throws ParseException, CalculatorException {
+    if (isMemoryRecall) {
+      isMemoryRecall = false;
+
+      return NumberFormatter.format(calc.calculate(calc.getMemory()));
+    }
+
+    isBackspacePossible = false;
+
+    return NumberFormatter.format(calc.calculate(operand(right)));
+  }
+
+  /**
+   * Typing equal several times after result of binary operation. Repetitions are calculated by model in one step
+   *
+   * @param repetitions amount of presses
+   * @return result of the last repetition
+   * @see #isEqualRepeatable()
+   */
+  public String enterEqual(int repetitions) throws CalculatorException {
+    isBackspacePossible = false;
+    return NumberFormatter.format(calc.calculateEquals(repetitions));
+  }
+
+  /**
+   * Check, that equal repeats the last binary operation with result, that model keeps, and not with number from
+   * display. Then repetitions of equal don't need display between them
+   *
+   * @return true if is, false else
+   */
+  public boolean isEqualRepeatable() {
+    return calc.isEqualsRepeatable() && !isMemoryRecall;
+  }
+
+  /**
+   * Typing the unary operation
+   *
+   * @param operation text of button, that have been pressed
+   * @param display   numbers in textArea
+   * @return result of operation
+   */
+  public String unaryOp(String operation, String display) throws ParseException, CalculatorException {
+    boolean isCancelling = display.equals(unaryDisplay) && calc.isCancelling(formatOperation(operation));
+    unaryDisplay = null;
+    if (isMemoryRecall) {
+      isMemoryRecall = false;
+      return NumberFormatter.format(calc.calculate(formatOperation(operation), calc.getMemory()));
+    }
+
+    isBackspacePossible = false;
+
+    BigDecimal res;
+    if (calc.getCalculatorState() == CalculatorState.AFTER || isCancelling) { // operand of model, not rounded display
+      res = calc.calculate(formatOperation(operation));
+    } else {
+      res = calc.calculate(formatOperation(operation), operand(display));
+    }
+
+    unaryDisplay = NumberFormatter.format(res);
+    return unaryDisplay;
+  }
+
+  /**
+   * Typing the same unary operation several times, when it is applied to result, that model keeps. Repetitions are
+   * calculated by model in one step
+   *
+   * @param operation   text of button, that have been pressed
+   * @param repetitions amount of presses
+   * @return result of the last repetition
+   * @see #isRepeatable()
+   */
+  public String unaryOp(String operation, int repetitions) throws CalculatorException {
+    isBackspacePossible = false;
+    unaryDisplay = NumberFormatter.format(calc.calculate(formatOperation(operation), repetitions));
+    return unaryDisplay;
+  }
+
+  /**
+   * Check, that unary operation is applied to result, that model keeps, and not to number from display. Then
+   * repetitions of operation don't need display between them
+   *
+   * @return true if is, false else
+   */
+  public boolean isRepeatable() {
+    return calc.getCalculatorState() == CalculatorState.AFTER && !isMemoryRecall;
+  }
+
+  /**
+   * Typing percent
+   *
+   * @param right right operand typed in calc
+   * @return result of percent operation
+   */
+  public String percentOp(String right) throws ParseException, CalculatorException {
+    ArithmeticOperation op;
+    if (calc.getOperation() == ArithmeticOperation.ADD || calc.getOperation() == ArithmeticOperation.SUBTRACT) {
+      op = ArithmeticOperation.PERCENT_ADD_SUBTRACT;
+    } else if (calc.getOperation() == ArithmeticOperation.MULTIPLY || calc.getOperation() == ArithmeticOperation.DIVIDE) {
+      op = ArithmeticOperation.PERCENT_MUL_DIVIDE;
+    } else {
+      return "0";
+    }
+
+    String result;
+    if (isMemoryRecall) {
+      isMemoryRecall = false;
+      result = NumberFormatter.format(calc.calculate(op, calc.getMemory()));
+    } else {
+      result = NumberFormatter.format(calc.calculate(op, operand(right)));
+    }
+
+    isBackspacePossible = false;
+
+    return result;
+  }
+
+  /**
+   * Save number from display to memory
+   *
+   * @param display number in textArea
+   */
+  public void saveToMemory(String display) throws ParseException {
+    calc.memorySave(operand(display));
+  }
+
+  /**
+   * Call last element from memory
+   *
+   * @return string with last element of memory
+   */
+  public String recallFromMemory() throws CalculatorException {
+    if (calc.getCalculatorState() == CalculatorState.LEFT) {
+      calc.setCalculatorState(CalculatorState.TRANSIENT);
+    } else if (calc.getCalculatorState() == CalculatorState.TRANSIENT) {
+      calc.setCalculatorState(CalculatorState.RIGHT);
+    } else if (calc.getCalculatorState() == CalculatorState.AFTER) {
+      calc.setCalculatorState(CalculatorState.LEFT);
+    }
+
+    isMemoryRecall = true;
+
+    return NumberFormatter.format(calc.memoryRecall());
+  }
+
+  /**
+   * Put number to memory of new service, that has no operands yet
+   *
+   * @param memory number of memory, null if memory is empty
+   */
+  public void restoreMemory(BigDecimal memory) {
+    if (memory == null) {
+      calc.memoryClear();
+    } else {
+      calc.memorySave(memory); // number is saved as is in LEFT state
+    }
+  }
+
+  /**
+   * Call clear memory in model
+   */
+  public void clearMemory() {
+    calc.memoryClear();
+  }
+
+  /**
+   * Call memory add in model and give number from display to method
+   *
+   * @param display text in display of calculator
+   */
+  public void addToMemory(String display) throws ParseException, CalculatorException {
+    calc.memoryAdd(operand(display));
+  }
+
+  /**
+   * Call substract method from model and give them number from display
+   *
+   * @param display text in display of calculator
+   */
+  public void subToMemory(String display) throws ParseException, CalculatorException {
+    calc.memorySub(operand(display));
+  }
+
+  /**
+   * Check, that user can use backspace
+   *
+   * @return true if can(calculatorState is not AFTER), else false
+   */
+  public boolean isBackspaceAvailable() {
+    return calc.getCalculatorState() != CalculatorState.AFTER && isBackspacePossible;
+  }
+
+  /**
+   * Change formula label. History of operation, that user do before pressing "="
+   *
+   * @param button  text of button, that was pressed
+   * @param formula formula, that we create before
+   * @param display text from display of calculator
+   */
+  public void highFormula(String button, Formula formula, String display) {
+    if (display.endsWith(".")) {
+      display = display.substring(0, display.length() - 1);
+    }
+    display = removeGroupSeparator(display);
+
+    // memory recall and repeated equals can leave right operand without operation, then operator starts formula
+    // like left operand, unary operation is still added to formula of right operand
+    if (calc.getCalculatorState() == CalculatorState.TRANSIENT && formula.isEmpty()
+        || calc.getCalculatorState() == CalculatorState.RIGHT && binaryOperationObject.containsKey(button)
+        && (formula.isEmpty() || calc.getOperation() == null)) {
+      calc.setCalculatorState(CalculatorState.LEFT);
+    }
+
+
+    if (calc.getCalculatorState() == CalculatorState.TRANSIENT) {
+      transientHighFormula(button, formula, display);
+    } else if (calc.getCalculatorState() == CalculatorState.RIGHT) {
+      rightHighFormula(button, formula, display);
+    } else {
+      leftOrAfterHighFormula(button, formula, display);
+    }
+  }
+
+  /**
+   * Check, that memory is empty
+   *
+   * @return true if is, false else
+   */
+  public boolean isMemoryEmpty() {
+    return calc.getMemory() == null;
+  }
+
+  public BigDecimal getMemory() {
+    return calc.getMemory();
+  }
+
+  private void transientHighFormula(String button, Formula formula, String display) {
+    if (binaryOperationObject.containsKey(button)) {
+      String symbol = operationSymbols.get(binaryOperationObject.get(button));
+      if (formula.endsWithUnary()) {
+        formula.appendOperator(symbol);
+      } else {
+        formula.replaceOperator(symbol);
+      }
+    } else if (unaryOperationObject.containsKey(button)) {
+      String symbol = operationSymbols.get(unaryOperationObject.get(button));
+      if (formula.endsWithUnary()) {
+        formula.wrapFromFirstUnary(symbol, true);
+      } else if (unaryOperationObject.get(button) != ArithmeticOperation.NEGATE || calc.getOperation() != null) {
+        formula.appendUnary(symbol, display);
+      }
+    } else if (button.equals("\uE94C")) { //%
+      formula.appendNumber(display);
+    } else {
+      formula.clear();
+    }
+  }
+
+  private void leftOrAfterHighFormula(String button, Formula formula, String display) {
+    if (binaryOperationObject.containsKey(button)) {
+      if (!formula.endsWithUnary()) {
+        formula.clear();
+        formula.appendNumber(display);
+      }
+      formula.appendOperator(operationSymbols.get(binaryOperationObject.get(button)));
+    } else if (unaryOperationObject.containsKey(button) && !button.equals("\uE94D")) {
+      String symbol = operationSymbols.get(unaryOperationObject.get(button));
+      if (formula.endsWithUnary()) {
+        formula.wrapAll(symbol);
+      } else {
+        formula.clear();
+        formula.appendUnary(symbol, display);
+      }
+    } else {
+      formula.clear();
+    }
+  }
+
+  private void rightHighFormula(String button, Formula formula, String display) {
+    if (binaryOperationObject.containsKey(button)) {
+      if (!formula.endsWithNumber() && !formula.endsWithUnary()) {
+        formula.appendNumber(display);
+      }
+      formula.appendOperator(operationSymbols.get(binaryOperationObject.get(button)));
+    } else if (unaryOperationObject.containsKey(button)) {
+      String symbol = operationSymbols.get(unaryOperationObject.get(button));
+      if (formula.endsWithUnary()) {
+        formula.wrapFromFirstUnary(symbol, false);
+      } else {
+        formula.appendUnary(symbol, display);
+      }
+    } else if (button.equals("\uE94C")) { //%
+      if (!formula.hasOperator()) {
+        formula.clear();
+        return;
+      } else if (formula.endsWithUnary()) {
+        formula.removeAfterOperator();
+      }
+
+      formula.appendNumber(display);
+    } else {
+      formula.clear();
+    }
+  }
+
+  /**
+   * Get number from display. Typed number is taken from entry buffer without parsing
+   *
+   * @param display text of display
+   * @return number on display
+   */
+  private BigDecimal operand(String display) throws ParseException {
+    if (entry.isShowing(display)) {
+      return entry.toBigDecimal();
+    }
+    return parse(display);
+  }
+
+  private ArithmeticOperation formatOperation(String op) {
+    ArithmeticOperation formatted = binaryOperationObject.get(op);
+    if (formatted != null) {
+      return formatted;
+    }
+
+    formatted = unaryOperationObject.get(op);
+    return formatted;
+  }
+}
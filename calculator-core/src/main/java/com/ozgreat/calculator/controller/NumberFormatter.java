@@ -0,0 +1,458 @@
+package com.ozgreat.calculator.controller;
+
+import com.ozgreat.calculator.model.CalculatorException;
+import com.ozgreat.calculator.model.CalculatorModel;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Arrays;
+
+/**
+ * Util class, that format {@link BigDecimal} to {@link String}, that will be showing at calculators display.
+ * Also parse them back to BigDecimal with {@link DecimalFormat}
+ * <p>
+ * Formatter has no shared mutable state, so it can be used from many threads: every thread has its own char buffer
+ * and its own {@link DecimalFormat} objects, cause they aren't thread safe
+ *
+ * @author ozgreat
+ * @see DecimalFormat
+ * @see BigDecimal
+ * @see String
+ */
+class NumberFormatter {
+  /**
+   * Exponent separator for cases when number with scientific annotation is bigger
+   * than one, cause {@link DecimalFormat} can add "-" to number if number less than one,
+   * but can't add "+" in different case
+   *
+   * @see DecimalFormat
+   */
+  private static final String POSITIVE_EXPONENT_SEPARATOR = "E+";
+
+  /**
+   * Default exponent separator
+   */
+  private static final String DEFAULT_EXPONENT_SEPARATOR = "E";
+
+  /**
+   * Separator, that separate integer and decimal part of number
+   */
+  static final char DECIMAL_SEPARATOR = '.';
+
+  /**
+   * Separator, that separate group of number in integer part of number
+   */
+  static final char GROUP_SEPARATOR = ',';
+
+  /**
+   * {@link DecimalFormat} objects of each thread, that parse numbers with {@link #POSITIVE_EXPONENT_SEPARATOR}
+   *
+   * @see DecimalFormat
+   */
+  private static final ThreadLocal<DecimalFormat> POSITIVE_EXPONENT_PARSERS =
+      ThreadLocal.withInitial(() -> createParser(POSITIVE_EXPONENT_SEPARATOR));
+
+  /**
+   * {@link DecimalFormat} objects of each thread, that parse numbers with {@link #DEFAULT_EXPONENT_SEPARATOR}
+   *
+   * @see DecimalFormat
+   */
+  private static final ThreadLocal<DecimalFormat> DEFAULT_EXPONENT_PARSERS =
+      ThreadLocal.withInitial(() -> createParser(DEFAULT_EXPONENT_SEPARATOR));
+
+  /**
+   * Exponent of numbers, that are less than 0.001 and are formatted with scientific notation, if they have too much
+   * scale
+   */
+  private static final int MAX_SMALL_EXPONENT = -3;
+
+  /**
+   * Amount of maximum symbol on display in common case
+   */
+  static final int MAX_SYMBOLS = 16;
+
+  /**
+   * Amount of digits in group of integer part
+   */
+  private static final int GROUP_SIZE = 3;
+
+  /**
+   * Zero string
+   */
+  private static final String ZERO = "0";
+
+  /**
+   * Amount of decimal digits, that always fit in {@code long}
+   */
+  private static final int LONG_DIGITS = 18;
+
+  /**
+   * Powers of ten, that fit in {@code long}
+   */
+  private static final long[] TEN_POWERS = new long[LONG_DIGITS + 1];
+
+  /**
+   * Precision and rounding of plain numbers before formatting
+   */
+  private static final MathContext PLAIN_CONTEXT = new MathContext(MAX_SYMBOLS, RoundingMode.HALF_UP);
+
+  /**
+   * Precision and rounding of small numbers with scientific notation
+   */
+  private static final MathContext SCIENTIFIC_CONTEXT = new MathContext(MAX_SYMBOLS, RoundingMode.HALF_EVEN);
+
+  /**
+   * Integer part size of zero, that limits its trailing zeros, like zero with scale {@value #MAX_SYMBOLS} - 1 has
+   */
+  private static final int ZERO_INT_PART_SIZE = 2 - MAX_SYMBOLS;
+
+  /**
+   * Buffers of each thread, where result of formatting is written
+   */
+  private static final ThreadLocal<DisplayBuffer> BUFFERS = ThreadLocal.withInitial(DisplayBuffer::new);
+
+  static {
+    TEN_POWERS[0] = 1;
+    for (int i = 1; i < TEN_POWERS.length; i++) {
+      TEN_POWERS[i] = TEN_POWERS[i - 1] * 10;
+    }
+  }
+
+
+  /**
+   * Format {@link BigDecimal} to {@link String}. Number is written with at most {@value #MAX_SYMBOLS} significant
+   * digits, that are rounded half up. Integer part is grouped, if it has at most {@value #MAX_SYMBOLS} digits,
+   * otherwise number is written like {@code 1.5E+20}. Numbers less than 0.001 with big scale are written like
+   * {@code 1.5E-20} and are rounded half even. Trailing zeros of number are kept, if they fit on display.
+   * <p>
+   * Digits are taken from unscaled value in {@code long} and are written to char buffer, number with more digits is
+   * rounded with {@link MathContext} first.
+   *
+   * @param number Number that we have to format
+   * @return Result of formatting
+   * @throws CalculatorException if rounded number is too big
+   *
+   * @see BigDecimal
+   */
+  public static String format(BigDecimal number) throws CalculatorException {
+    long unscaled;
+    int scale;
+    int intPartSize;
+    int trailingZerosAmount;
+    boolean isSmall;
+
+    if (number.precision() <= LONG_DIGITS) {
+      unscaled = number.scale() == 0 ? number.longValue() : number.unscaledValue().longValue();
+      scale = number.scale();
+
+      if (scale != 0) { // strip trailing zeros
+        if (unscaled == 0) {
+          scale = 0;
+        }
+        while (unscaled != 0 && unscaled % 10 == 0) {
+          unscaled /= 10;
+          scale--;
+        }
+      }
+
+      trailingZerosAmount = number.scale() - scale;
+      intPartSize = digitCount(unscaled) - scale;
+      isSmall = unscaled != 0 && intPartSize <= MAX_SMALL_EXPONENT && scale > MAX_SYMBOLS;
+    } else {
+      BigDecimal stripped = number;
+      if (!number.unscaledValue().testBit(0)) { // odd number has no trailing zeros
+        stripped = number.stripTrailingZeros();
+      }
+      trailingZerosAmount = number.scale() - stripped.scale();
+      intPartSize = stripped.precision() - stripped.scale();
+      isSmall = intPartSize <= MAX_SMALL_EXPONENT && stripped.scale() > MAX_SYMBOLS;
+
+      if (stripped.precision() > MAX_SYMBOLS) {
+        stripped = stripped.round(isSmall ? SCIENTIFIC_CONTEXT : PLAIN_CONTEXT);
+      }
+      unscaled = stripped.unscaledValue().longValue();
+      scale = stripped.scale();
+    }
+
+    DisplayBuffer buffer = BUFFERS.get();
+    buffer.clear();
+    if (unscaled < 0) {
+      buffer.append('-');
+      unscaled = -unscaled;
+    }
+
+    int precision = digitCount(unscaled);
+    if (precision > MAX_SYMBOLS) {
+      unscaled = round(unscaled, precision - MAX_SYMBOLS, isSmall ? RoundingMode.HALF_EVEN : RoundingMode.HALF_UP);
+      scale -= precision - MAX_SYMBOLS;
+    }
+
+    if (isSmall) {
+      appendScientific(buffer, unscaled, digitCount(unscaled) - scale - 1, DEFAULT_EXPONENT_SEPARATOR);
+    } else {
+      if (unscaled == 0) {
+        intPartSize = ZERO_INT_PART_SIZE;
+      } else {
+        intPartSize = digitCount(unscaled) - scale;
+      }
+
+      if (intPartSize > MAX_SYMBOLS) {
+        CalculatorModel.checkOverflow(BigDecimal.valueOf(unscaled, scale));
+        appendScientific(buffer, unscaled, intPartSize - 1, POSITIVE_EXPONENT_SEPARATOR);
+      } else {
+        int maxScale = MAX_SYMBOLS - Math.max(intPartSize, 0);
+        if (scale > maxScale) {
+          unscaled = round(unscaled, scale - maxScale, RoundingMode.HALF_EVEN);
+          scale = maxScale;
+        }
+        appendPlain(buffer, unscaled, scale);
+      }
+    }
+
+    if (trailingZerosAmount > 0) {
+      trailingZerosAmount = Math.max(Math.min(trailingZerosAmount, MAX_SYMBOLS - intPartSize), 0);
+
+      if (!buffer.contains(DECIMAL_SEPARATOR)) {
+        buffer.append(DECIMAL_SEPARATOR);
+      }
+      for (int i = 0; i < trailingZerosAmount; i++) {
+        buffer.append('0');
+      }
+    }
+
+    return buffer.toString();
+  }
+
+  /**
+   * Write number with scientific notation, like {@code 1.5E+20}. Decimal separator is written even if there is only
+   * one digit
+   *
+   * @param buffer    buffer to write
+   * @param unscaled  not negative digits of number
+   * @param exponent  decimal exponent of first digit
+   * @param separator exponent separator, {@link #POSITIVE_EXPONENT_SEPARATOR} adds sign to positive exponent
+   */
+  private static void appendScientific(DisplayBuffer buffer, long unscaled, int exponent, String separator) {
+    while (unscaled != 0 && unscaled % 10 == 0) {
+      unscaled /= 10;
+    }
+
+    int start = buffer.length;
+    buffer.appendDigits(unscaled);
+    buffer.insert(start + 1, DECIMAL_SEPARATOR);
+
+    for (int i = 0; i < separator.length(); i++) {
+      buffer.append(separator.charAt(i));
+    }
+    if (exponent < 0) {
+      buffer.append('-');
+      exponent = -exponent;
+    }
+    buffer.appendDigits(exponent);
+  }
+
+  /**
+   * Write number with grouped integer part and without trailing zeros in decimal part
+   *
+   * @param buffer   buffer to write
+   * @param unscaled not negative unscaled value of number
+   * @param scale    scale of number
+   */
+  private static void appendPlain(DisplayBuffer buffer, long unscaled, int scale) {
+    while (scale > 0 && unscaled % 10 == 0) {
+      unscaled /= 10;
+      scale--;
+    }
+
+    if (unscaled == 0) {
+      buffer.append('0');
+      return;
+    }
+
+    int start = buffer.length;
+    int intDigits = digitCount(unscaled) - scale;
+    buffer.appendDigits(unscaled);
+
+    for (int i = scale; i < 0; i++) {
+      buffer.append('0');
+    }
+    for (int i = intDigits; i < 1; i++) {
+      buffer.insert(start, '0');
+    }
+    intDigits = Math.max(intDigits, 1);
+
+    if (scale > 0) {
+      buffer.insert(start + intDigits, DECIMAL_SEPARATOR);
+    }
+    for (int i = intDigits - GROUP_SIZE; i > 0; i -= GROUP_SIZE) {
+      buffer.insert(start + i, GROUP_SEPARATOR);
+    }
+  }
+
+  /**
+   * Drop last digits of number with rounding
+   *
+   * @param unscaled not negative number
+   * @param dropped  amount of dropped digits, from one to {@value #LONG_DIGITS}
+   * @param mode     {@link RoundingMode#HALF_UP} or {@link RoundingMode#HALF_EVEN}
+   * @return rounded number
+   */
+  private static long round(long unscaled, int dropped, RoundingMode mode) {
+    long divisor = TEN_POWERS[dropped];
+    long quotient = unscaled / divisor;
+    long twiceRemainder = 2 * (unscaled % divisor);
+
+    if (twiceRemainder > divisor || twiceRemainder == divisor && (mode == RoundingMode.HALF_UP || quotient % 2 != 0)) {
+      quotient++;
+    }
+    return quotient;
+  }
+
+  /**
+   * Count decimal digits of number
+   *
+   * @param number number, zero has one digit
+   * @return amount of digits without sign
+   */
+  private static int digitCount(long number) {
+    number = Math.abs(number);
+    int count = 1;
+    while (count < TEN_POWERS.length && number >= TEN_POWERS[count]) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Create {@link DecimalFormat}, that parses numbers with exponent separator
+   *
+   * @param exponentSeparator exponent separator of parsed numbers
+   * @return new parser
+   */
+  private static DecimalFormat createParser(String exponentSeparator) {
+    DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+    symbols.setGroupingSeparator(GROUP_SEPARATOR);
+    symbols.setDecimalSeparator(DECIMAL_SEPARATOR);
+    symbols.setExponentSeparator(exponentSeparator);
+
+    DecimalFormat parser = new DecimalFormat();
+    parser.setDecimalFormatSymbols(symbols);
+    parser.setParseBigDecimal(true);
+    return parser;
+  }
+
+  /**
+   * Get {@link BigDecimal} from {@link String} using {@link DecimalFormat}
+   *
+   * @param str number that we have to parse in {@link BigDecimal}
+   * @return {@link BigDecimal} object that parsed from str
+   * @throws ParseException if pattern in {@link DecimalFormat} object is wrong
+   *
+   * @see DecimalFormat
+   * @see ParseException
+   */
+  public static BigDecimal parse(String str) throws ParseException {
+    DecimalFormat parser;
+    if (str.contains(POSITIVE_EXPONENT_SEPARATOR)) {
+      parser = POSITIVE_EXPONENT_PARSERS.get();
+    } else {
+      parser = DEFAULT_EXPONENT_PARSERS.get();
+    }
+    return (BigDecimal) parser.parse(str);
+  }
+
+  /**
+   * Remove group separator from number in {@link String}
+   *
+   * @param number number in string
+   * @return number without group separator
+   */
+  public static String removeGroupSeparator(String number) {
+    return number.replace(String.valueOf(GROUP_SEPARATOR), "");
+  }
+
+  /**
+   * Returns true if number's length is less that MAX_SYMBOLS plus coefficient, that depends on first number
+   *
+   * @param number number in work
+   * @return status of them length
+   */
+  public static boolean isTooBigToInput(String number) {
+    number = removeGroupSeparator(number);
+    boolean isFirstZero = number.startsWith(ZERO) || number.startsWith("-0");
+    int coef = isFirstZero ? 1 : 0;
+
+    return MAX_SYMBOLS + coef < number.replace("-", "").replace(String.valueOf(DECIMAL_SEPARATOR), "").length();
+  }
+
+  /**
+   * Growing char buffer, where formatted number is written. Every thread has its own buffer
+   */
+  private static final class DisplayBuffer {
+    /**
+     * Chars of buffer, array grows if number has a lot of trailing zeros
+     */
+    private char[] chars = new char[64];
+
+    /**
+     * Length of written text
+     */
+    private int length;
+
+    private void clear() {
+      length = 0;
+    }
+
+    private void append(char c) {
+      ensureCapacity(length + 1);
+      chars[length++] = c;
+    }
+
+    private void insert(int index, char c) {
+      ensureCapacity(length + 1);
+      System.arraycopy(chars, index, chars, index + 1, length - index);
+      chars[index] = c;
+      length++;
+    }
+
+    /**
+     * Write digits of not negative number
+     *
+     * @param number not negative number
+     */
+    private void appendDigits(long number) {
+      int digits = digitCount(number);
+      ensureCapacity(length + digits);
+
+      for (int i = length + digits - 1; i >= length; i--) {
+        chars[i] = (char) ('0' + number % 10);
+        number /= 10;
+      }
+      length += digits;
+    }
+
+    private boolean contains(char c) {
+      for (int i = 0; i < length; i++) {
+        if (chars[i] == c) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > chars.length) {
+        chars = Arrays.copyOf(chars, Math.max(capacity, 2 * chars.length));
+      }
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, 0, length);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.ozgreat.calculator.controller;
+
+/**
+ * Immutable result of one input sequence, that was evaluated by {@link BatchEvaluator}
+ *
+ * @author ozgreat
+ * @see BatchEvaluator
+ * @see CalculatorSession
+ */
+public final class SequenceResult {
+  /**
+   * Index of sequence in batch, starting with zero
+   */
+  private final long index;
+
+  /**
+   * Text on display after last key
+   */
+  private final String display;
+
+  /**
+   * Formula after last key
+   */
+  private final String formula;
+
+  /**
+   * True if calculator shows error after last key
+   */
+  private final boolean isException;
+
+  /**
+   * Unexpected error, that stopped evaluation of sequence, or null if sequence was evaluated
+   */
+  private final RuntimeException error;
+
+  SequenceResult(long index, CalculatorSession session, RuntimeException error) {
+    this.index = index;
+    this.display = session.getDisplay();
+    this.formula = session.getFormula();
+    this.isException = session.isException();
+    this.error = error;
+  }
+
+  public long getIndex() {
+    return index;
+  }
+
+  public String getDisplay() {
+    return display;
+  }
+
+  public String getFormula() {
+    return formula;
+  }
+
+  public boolean isException() {
+    return isException;
+  }
+
+  public RuntimeException getError() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return index + ": " + display + (error == null ? "" : " (" + error + ")");
+  }
+}
@@ -0,0 +1,55 @@
+package com.ozgreat.calculator.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact form of {@link CalculatorSession}, that is kept, while session isn't used. Form has display, flags of
+ * {@link InputService}, formula as list of tokens and model, that is written by
+ * {@link com.ozgreat.calculator.model.SnapshotCodec}. Session, that is read from its form, shows the same display and
+ * formula and gives the same results for next keys.
+ *
+ * @author ozgreat
+ * @see CalculatorSession
+ */
+public final class SessionCodec {
+  private SessionCodec() {
+  }
+
+  /**
+   * Write session to bytes
+   *
+   * @param session session to write, it isn't changed
+   * @return compact form of session
+   */
+  public static byte[] encode(CalculatorSession session) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      session.write(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Array can't fail to be written", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Create session from bytes, that were written by {@link #encode(CalculatorSession)}
+   *
+   * @param bytes compact form of session
+   * @return new session
+   * @throws IOException if bytes have no valid session
+   */
+  public static CalculatorSession decode(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    CalculatorSession session = new CalculatorSession();
+    session.read(in);
+    if (in.available() > 0) {
+      throw new IOException("Session is followed by " + in.available() + " bytes");
+    }
+    return session;
+  }
+}
@@ -0,0 +1,118 @@
+package com.ozgreat.calculator.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * File with state of {@link CalculatorSession}, so calculator resumes after restart with the same display, formula,
+ * memory and operands. File has header with {@link #MAGIC}, {@link #VERSION}, length and checksum of session, then
+ * session in form of {@link SessionCodec}. File is replaced atomically, so it has either previous or new state, and is
+ * read through memory mapping
+ *
+ * @author ozgreat
+ * @see SessionCodec
+ */
+public final class SessionFile {
+  /**
+   * First bytes of file, "CALC" in ASCII
+   */
+  static final int MAGIC = 0x43414C43;
+
+  /**
+   * Version of format, file with other version isn't read
+   */
+  static final short VERSION = 1;
+
+  /**
+   * Size of header: magic, version, length and checksum of session
+   */
+  private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES;
+
+  /**
+   * Suffix of temporary file, that is written before it replaces file of session
+   */
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private SessionFile() {
+  }
+
+  /**
+   * Write session to file. Parent directories are created, if they don't exist
+   *
+   * @param session session to write, it isn't changed
+   * @param file    path of file
+   * @throws IOException if file can't be written
+   */
+  public static void save(CalculatorSession session, Path file) throws IOException {
+    byte[] encoded = SessionCodec.encode(session);
+    CRC32 checksum = new CRC32();
+    checksum.update(encoded);
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + encoded.length);
+    buffer.putInt(MAGIC).putShort(VERSION).putInt(encoded.length).putInt((int) checksum.getValue()).put(encoded);
+    buffer.flip();
+
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Read session from file, that was written by {@link #save(CalculatorSession, Path)}
+   *
+   * @param file path of file
+   * @return new session, null if file doesn't exist
+   * @throws IOException if file can't be read or has no valid session of {@link #VERSION}
+   */
+  public static CalculatorSession load(Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_SIZE) {
+        throw new IOException("File of session is too short: " + channel.size() + " bytes");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+
+    if (buffer.getInt() != MAGIC) {
+      throw new IOException("File isn't file of session");
+    }
+    short version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version of session file: " + version);
+    }
+    int length = buffer.getInt();
+    int expectedChecksum = buffer.getInt();
+    if (length != buffer.remaining()) {
+      throw new IOException("Session has " + buffer.remaining() + " bytes instead of " + length);
+    }
+
+    byte[] encoded = new byte[length];
+    buffer.get(encoded);
+    CRC32 checksum = new CRC32();
+    checksum.update(encoded);
+    if ((int) checksum.getValue() != expectedChecksum) {
+      throw new IOException("Checksum of session doesn't match");
+    }
+    return SessionCodec.decode(encoded);
+  }
+}
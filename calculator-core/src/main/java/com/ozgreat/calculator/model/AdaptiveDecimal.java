@@ -0,0 +1,383 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+
+/**
+ * Number, which digits are calculated on demand. Keeps operation and operands that give this number, so it can be
+ * calculated approximately, with precision that is enough to display it, or exactly, like {@link CalculatorModel}
+ * does in {@link CalculationMode#FULL_PRECISION} mode.
+ * <p>
+ * Approximation is a pair of bounds, that are calculated with directed rounding, so exact number is always between them.
+ *
+ * @author ozgreat
+ * @see CalculationMode#ADAPTIVE_PRECISION
+ */
+final class AdaptiveDecimal {
+  /**
+   * Working precision of first approximation
+   */
+  private static final int INITIAL_PRECISION = 32;
+
+  /**
+   * Maximum working precision, after that exact calculation is cheaper than approximation
+   */
+  private static final int MAX_PRECISION = 2048;
+
+  /**
+   * Maximum amount of pending operations in one number
+   */
+  static final int MAX_DEPTH = 256;
+
+  /**
+   * Amount of significant digits, that bounds have to share to make display of number determined
+   */
+  private static final MathContext DISPLAY_CONTEXT = new MathContext(20, RoundingMode.DOWN);
+
+  /**
+   * Maximum amount of significant digits, that can be shown on display or can be used by display rounding
+   */
+  private static final int SHOWN_DIGITS = 17;
+
+  /**
+   * {@link Map} of operations on bounds
+   */
+  private static final Map<ArithmeticOperation, BoundsOperator> boundsOperations = new HashMap<>();
+
+  /**
+   * Operation, that gives this number, null if number is exact from the beginning
+   */
+  private final ArithmeticOperation operation;
+
+  /**
+   * Left or only operand of operation
+   */
+  private final AdaptiveDecimal left;
+
+  /**
+   * Right operand of binary operation
+   */
+  private final AdaptiveDecimal right;
+
+  /**
+   * Amount of pending operations in number
+   */
+  private final int depth;
+
+  /**
+   * Exact value, null if it isn't calculated yet
+   */
+  private volatile BigDecimal exact;
+
+  /**
+   * Bounds, that were calculated, for every working precision from {@link #INITIAL_PRECISION} to
+   * {@link #MAX_PRECISION}. Bounds are immutable, so they can be shared between threads without synchronization.
+   * Bounds with some precision are always the same, so approximation doesn't depend on order of calculations.
+   */
+  private final Bounds[] bounds = new Bounds[Integer.numberOfTrailingZeros(MAX_PRECISION / INITIAL_PRECISION) + 1];
+
+  static {
+    boundsOperations.put(ADD, (left, right, precision) -> new Bounds(
+        left.lower.add(right.lower, floor(precision)), left.upper.add(right.upper, ceiling(precision))));
+    boundsOperations.put(SUBTRACT, (left, right, precision) -> new Bounds(
+        left.lower.subtract(right.upper, floor(precision)), left.upper.subtract(right.lower, ceiling(precision))));
+    boundsOperations.put(MULTIPLY, AdaptiveDecimal::multiply);
+    boundsOperations.put(DIVIDE, AdaptiveDecimal::divide);
+    boundsOperations.put(REVERSE, (x, unused, precision) -> divide(Bounds.ONE, x, precision));
+    boundsOperations.put(NEGATE, (x, unused, precision) -> new Bounds(x.upper.negate(), x.lower.negate()));
+    boundsOperations.put(POW, AdaptiveDecimal::square);
+    boundsOperations.put(SQRT, (x, unused, precision) -> new Bounds(
+        SquareRoot.sqrt(x.lower.max(BigDecimal.ZERO), floor(precision)), SquareRoot.sqrt(x.upper, ceiling(precision))));
+  }
+
+  private AdaptiveDecimal(ArithmeticOperation operation, AdaptiveDecimal left, AdaptiveDecimal right) {
+    this.operation = operation;
+    this.left = left;
+    this.right = right;
+
+    if (right == null) {
+      depth = left.depth + 1;
+    } else {
+      depth = Math.max(left.depth, right.depth) + 1;
+    }
+  }
+
+  private AdaptiveDecimal(BigDecimal exact) {
+    this.operation = null;
+    this.left = null;
+    this.right = null;
+    this.depth = 0;
+    this.exact = exact;
+  }
+
+  /**
+   * Create number, that is already known exactly
+   *
+   * @param number exact value
+   * @return new number
+   */
+  static AdaptiveDecimal valueOf(BigDecimal number) {
+    return new AdaptiveDecimal(number);
+  }
+
+  /**
+   * Create number, that is result of operation
+   *
+   * @param operation operation, that gives number
+   * @param left      left or only operand of operation
+   * @param right     right operand of binary operation, null for unary operation
+   * @return new number
+   */
+  static AdaptiveDecimal of(ArithmeticOperation operation, AdaptiveDecimal left, AdaptiveDecimal right) {
+    return new AdaptiveDecimal(operation, left, right);
+  }
+
+  /**
+   * Check, that operation could be calculated approximately
+   *
+   * @param operation operation to check
+   * @return true if could, false else
+   */
+  static boolean isSupported(ArithmeticOperation operation) {
+    return boundsOperations.containsKey(operation);
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  /**
+   * @return operation, that gives number, null if number is exact from the beginning
+   */
+  ArithmeticOperation getOperation() {
+    return operation;
+  }
+
+  AdaptiveDecimal getLeft() {
+    return left;
+  }
+
+  AdaptiveDecimal getRight() {
+    return right;
+  }
+
+  /**
+   * Calculate exact value of number, like {@link CalculatorModel} does in {@link CalculationMode#FULL_PRECISION} mode.
+   * Value is calculated once, thread that needs it, while other thread calculates it, waits for result. Interrupted
+   * thread stops before next operation, values of calculated operands are kept
+   *
+   * @return exact value
+   */
+  BigDecimal getExact() {
+    BigDecimal res = exact;
+    if (res == null) {
+      synchronized (this) { // operands are locked after number, so threads can't lock each other
+        res = exact;
+        if (res == null) {
+          CalculatorModel.checkInterrupted();
+          res = CalculatorModel.applyOperation(operation, left.getExact(), right == null ? null : right.getExact());
+          exact = res;
+        }
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Find approximation of number, that is displayed, compared and checked for overflow exactly like exact value.
+   * Working precision grows until bounds of number become close enough. Equal bounds are exact value, like short
+   * quotient {@code 6 ÷ 3}, so it's kept and isn't calculated again.
+   *
+   * @return approximate value or null if exact value have to be calculated
+   */
+  BigDecimal approximate() {
+    for (int precision = INITIAL_PRECISION; precision <= MAX_PRECISION; precision *= 2) {
+      Bounds res = getBounds(precision);
+      if (res.isDetermined()) {
+        BigDecimal representative = res.lower.stripTrailingZeros();
+        if (res.isExact()) {
+          exact = representative;
+        }
+        return new BigDecimal(representative.unscaledValue(), representative.scale());
+      }
+    }
+    return null;
+  }
+
+  private Bounds getBounds(int precision) {
+    int level = Integer.numberOfTrailingZeros(precision / INITIAL_PRECISION);
+    Bounds res = bounds[level];
+    if (res != null) {
+      return res;
+    }
+
+    if (operation == null) {
+      if (exact.precision() <= precision) {
+        res = new Bounds(exact, exact);
+      } else {
+        res = new Bounds(exact.round(floor(precision)), exact.round(ceiling(precision)));
+      }
+    } else {
+      Bounds leftBounds = left.getBounds(precision);
+      Bounds rightBounds = right == null ? null : right.getBounds(precision);
+      if (leftBounds == Bounds.UNKNOWN || rightBounds == Bounds.UNKNOWN) {
+        res = Bounds.UNKNOWN;
+      } else {
+        res = boundsOperations.get(operation).apply(leftBounds, rightBounds, precision);
+      }
+    }
+    bounds[level] = res;
+    return res;
+  }
+
+  private static Bounds multiply(Bounds left, Bounds right, int precision) {
+    BigDecimal lower = null;
+    BigDecimal upper = null;
+    for (BigDecimal x : new BigDecimal[]{left.lower, left.upper}) {
+      for (BigDecimal y : new BigDecimal[]{right.lower, right.upper}) {
+        lower = min(lower, x.multiply(y, floor(precision)));
+        upper = max(upper, x.multiply(y, ceiling(precision)));
+      }
+    }
+    return new Bounds(lower, upper);
+  }
+
+  /**
+   * Divide bounds. If divisor's bounds contain zero, quotient isn't bounded with this precision, divisor can be
+   * separated from zero only with higher precision or by exact value
+   */
+  private static Bounds divide(Bounds left, Bounds right, int precision) {
+    if (right.lower.signum() <= 0 && right.upper.signum() >= 0) {
+      return Bounds.UNKNOWN;
+    }
+
+    BigDecimal lower = null;
+    BigDecimal upper = null;
+    for (BigDecimal x : new BigDecimal[]{left.lower, left.upper}) {
+      for (BigDecimal y : new BigDecimal[]{right.lower, right.upper}) {
+        lower = min(lower, x.divide(y, floor(precision)));
+        upper = max(upper, x.divide(y, ceiling(precision)));
+      }
+    }
+    return new Bounds(roundToDivideScale(lower), roundToDivideScale(upper));
+  }
+
+  private static Bounds square(Bounds x, Bounds unused, int precision) {
+    if (x.lower.signum() >= 0) {
+      return new Bounds(x.lower.multiply(x.lower, floor(precision)),
+          x.upper.multiply(x.upper, ceiling(precision)));
+    } else if (x.upper.signum() <= 0) {
+      return new Bounds(x.upper.multiply(x.upper, floor(precision)),
+          x.lower.multiply(x.lower, ceiling(precision)));
+    }
+
+    BigDecimal absMax = x.lower.abs().max(x.upper);
+    return new Bounds(BigDecimal.ZERO, absMax.multiply(absMax, ceiling(precision)));
+  }
+
+  /**
+   * Round bound like result of dividing in {@link CalculatorModel}, rounding is monotonic, so bound stays bound
+   */
+  private static BigDecimal roundToDivideScale(BigDecimal bound) {
+    if (bound.scale() > CalculatorModel.DIVIDE_SCALE) {
+      return bound.setScale(CalculatorModel.DIVIDE_SCALE, RoundingMode.HALF_UP);
+    }
+    return bound;
+  }
+
+  private static BigDecimal min(BigDecimal current, BigDecimal candidate) {
+    return current == null ? candidate : current.min(candidate);
+  }
+
+  private static BigDecimal max(BigDecimal current, BigDecimal candidate) {
+    return current == null ? candidate : current.max(candidate);
+  }
+
+  private static MathContext floor(int precision) {
+    return new MathContext(precision, RoundingMode.FLOOR);
+  }
+
+  private static MathContext ceiling(int precision) {
+    return new MathContext(precision, RoundingMode.CEILING);
+  }
+
+  /**
+   * Operation on bounds of operands
+   */
+  @FunctionalInterface
+  private interface BoundsOperator {
+    /**
+     * Calculate bounds of result
+     *
+     * @param left      bounds of left or only operand
+     * @param right     bounds of right operand, null if operation is unary
+     * @param precision working precision
+     * @return bounds of result
+     */
+    Bounds apply(Bounds left, Bounds right, int precision);
+  }
+
+  /**
+   * Lower and upper bounds of number
+   */
+  private static final class Bounds {
+    /**
+     * Bounds of one
+     */
+    private static final Bounds ONE = new Bounds(BigDecimal.ONE, BigDecimal.ONE);
+
+    /**
+     * Bounds of number, that can't be bounded with some precision, they are never determined
+     */
+    private static final Bounds UNKNOWN = new Bounds(null, null);
+
+    /**
+     * Lower bound
+     */
+    private final BigDecimal lower;
+
+    /**
+     * Upper bound
+     */
+    private final BigDecimal upper;
+
+    private Bounds(BigDecimal lower, BigDecimal upper) {
+      this.lower = lower;
+      this.upper = upper;
+    }
+
+    /**
+     * Check, that bounds are equal, so they are exact value of number
+     *
+     * @return true if are, false else
+     */
+    private boolean isExact() {
+      return this != UNKNOWN && lower.compareTo(upper) == 0;
+    }
+
+    /**
+     * Check, that every number between bounds is displayed, rounded, compared with zero, one and limits of calculator
+     * in the same way. It's true, when bounds are equal, or when bounds have the same sign and the same first digits,
+     * and these digits aren't finished with zeros, that could be taken for the end of number.
+     *
+     * @return true if bounds are close enough, false else
+     */
+    private boolean isDetermined() {
+      if (isExact()) {
+        return true;
+      }
+      if (this == UNKNOWN || lower.signum() == 0 || lower.signum() != upper.signum()) {
+        return false;
+      }
+
+      BigDecimal prefix = lower.round(DISPLAY_CONTEXT);
+      return prefix.compareTo(upper.round(DISPLAY_CONTEXT)) == 0
+          && prefix.stripTrailingZeros().precision() > SHOWN_DIGITS;
+    }
+  }
+}
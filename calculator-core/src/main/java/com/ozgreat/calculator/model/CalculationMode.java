@@ -0,0 +1,23 @@
+package com.ozgreat.calculator.model;
+
+/**
+ * Enum of possible modes of calculation in {@link CalculatorModel}
+ *
+ * @author ozgreat
+ */
+public enum CalculationMode {
+  /**
+   * Every result is calculated with all digits at once
+   */
+  FULL_PRECISION,
+  /**
+   * Results are calculated with digits, that are needed to display them, other digits are calculated only
+   * when some operation or {@link CalculatorModel#getExactValue(java.math.BigDecimal)} needs them
+   */
+  ADAPTIVE_PRECISION,
+  /**
+   * Results are kept as exact fractions, so {@code 1 ÷ 3 × 3} is exactly one. Decimal digits are calculated only
+   * to display result, square root of not square fraction is rounded like in {@link #FULL_PRECISION} mode
+   */
+  EXACT_RATIONAL
+}
@@ -0,0 +1,120 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable input of calculator, that is applied to {@link CalculatorSnapshot} by
+ * {@link CalculatorModel#next(CalculatorSnapshot, CalculatorInput)}. Every input repeats one call of
+ * {@link CalculatorModel} method with the same arguments.
+ *
+ * @author ozgreat
+ * @see CalculatorSnapshot
+ */
+public final class CalculatorInput {
+  /**
+   * Call of model, that this input does
+   */
+  private final ModelCall call;
+
+  private CalculatorInput(ModelCall call) {
+    this.call = call;
+  }
+
+  /**
+   * @see CalculatorModel#calculate(ArithmeticOperation, BigDecimal, BigDecimal)
+   */
+  public static CalculatorInput calculate(ArithmeticOperation operation, BigDecimal firstOperand,
+                                          BigDecimal secondOperand) {
+    return new CalculatorInput(model -> model.calculate(operation, firstOperand, secondOperand));
+  }
+
+  /**
+   * @see CalculatorModel#calculate(ArithmeticOperation, BigDecimal)
+   */
+  public static CalculatorInput calculate(ArithmeticOperation operation, BigDecimal firstOperand) {
+    return new CalculatorInput(model -> model.calculate(operation, firstOperand));
+  }
+
+  /**
+   * @see CalculatorModel#calculate(BigDecimal)
+   */
+  public static CalculatorInput calculate(BigDecimal firstOperand) {
+    return new CalculatorInput(model -> model.calculate(firstOperand));
+  }
+
+  /**
+   * @see CalculatorModel#calculate(ArithmeticOperation)
+   */
+  public static CalculatorInput calculate(ArithmeticOperation operation) {
+    return new CalculatorInput(model -> model.calculate(operation));
+  }
+
+  /**
+   * @see CalculatorModel#calculateMemory(MemoryOperation, BigDecimal)
+   */
+  public static CalculatorInput calculateMemory(MemoryOperation operation, BigDecimal firstOperand) {
+    return new CalculatorInput(model -> model.calculateMemory(operation, firstOperand));
+  }
+
+  /**
+   * @see CalculatorModel#calculateMemory(MemoryOperation)
+   */
+  public static CalculatorInput calculateMemory(MemoryOperation operation) {
+    return new CalculatorInput(model -> model.calculateMemory(operation));
+  }
+
+  /**
+   * @see CalculatorModel#memoryRecall()
+   */
+  public static CalculatorInput memoryRecall() {
+    return new CalculatorInput(CalculatorModel::memoryRecall);
+  }
+
+  /**
+   * @see CalculatorModel#memorySave(BigDecimal)
+   */
+  public static CalculatorInput memorySave(BigDecimal number) {
+    return new CalculatorInput(model -> {
+      model.memorySave(number);
+      return null;
+    });
+  }
+
+  /**
+   * @see CalculatorModel#setCalculatorState(CalculatorState)
+   */
+  public static CalculatorInput calculatorState(CalculatorState calculatorState) {
+    return new CalculatorInput(model -> {
+      model.setCalculatorState(calculatorState);
+      return null;
+    });
+  }
+
+  /**
+   * @see CalculatorModel#setCalculationMode(CalculationMode)
+   */
+  public static CalculatorInput calculationMode(CalculationMode calculationMode) {
+    return new CalculatorInput(model -> {
+      model.setCalculationMode(calculationMode);
+      return null;
+    });
+  }
+
+  /**
+   * Apply input to model
+   *
+   * @param model model, that is changed
+   * @return result of call, null if method doesn't return result
+   */
+  BigDecimal applyTo(CalculatorModel model) throws CalculatorException {
+    return call.apply(model);
+  }
+
+  /**
+   * Call of {@link CalculatorModel} method
+   */
+  @FunctionalInterface
+  private interface ModelCall {
+    BigDecimal apply(CalculatorModel model) throws CalculatorException;
+  }
+}
@@ -0,0 +1,1497 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+
+/**
+ * Model of calculator, calculate {@link BigDecimal} with operations like sqrt, divide, multiply, etc.
+ *
+ * @author ozgreat
+ * @see BigDecimal
+ * @see ArithmeticOperation
+ * @see CalculatorState
+ */
+public class CalculatorModel {
+
+  /**
+   * Maximum scale of number
+   *
+   * @see BigDecimal
+   */
+  static final int DIVIDE_SCALE = 10000;
+
+  /**
+   * {@link Map} of binary operations
+   */
+  private final static Map<ArithmeticOperation, BinaryOperator<BigDecimal>> binaryOperations = new HashMap<>();
+
+  /**
+   * {@link Map} of unary operations
+   */
+  private final static Map<ArithmeticOperation, UnaryOperator<BigDecimal>> unaryOperations = new HashMap<>();
+
+  /**
+   * {@link Map} of binary operations in {@link CalculationMode#EXACT_RATIONAL} mode
+   */
+  private final static Map<ArithmeticOperation, BinaryOperator<Fraction>> rationalBinaryOperations = new HashMap<>();
+
+  /**
+   * {@link Map} of unary operations in {@link CalculationMode#EXACT_RATIONAL} mode
+   */
+  private final static Map<ArithmeticOperation, UnaryOperator<Fraction>> rationalUnaryOperations = new HashMap<>();
+
+  /**
+   * First impossible {@link BigDecimal} value, that bigger than one
+   */
+  private static final BigDecimal MAX_DECIMAL = new BigDecimal("1E10000");
+
+  /**
+   * First impossible {@link BigDecimal} value, that less that minus one
+   */
+  private static final BigDecimal MIN_DECIMAL = new BigDecimal("-1E10000");
+
+  /**
+   * Minimum possible positive {@link BigDecimal} value in calculator
+   */
+  private static final BigDecimal MIN_POSITIVE = new BigDecimal("1E-9999");
+
+  /**
+   * One hundred as fraction, to calculate percents
+   */
+  private static final Fraction HUNDRED = Fraction.valueOf(BigDecimal.valueOf(100));
+
+  /**
+   * Decimal exponent of {@link #MAX_DECIMAL}
+   */
+  private static final int MAX_EXPONENT = 10000;
+
+  /**
+   * Decimal exponent of {@link #MIN_POSITIVE}
+   */
+  private static final int MIN_EXPONENT = -9999;
+
+  /**
+   * {@link MathContext} for sqrt operation
+   */
+  private static final MathContext SQRT_CONTEXT = new MathContext(10000);
+
+  /**
+   * {@link MathContext} for estimating decimal logarithm of number by its leading digits
+   */
+  private static final MathContext MAGNITUDE_CONTEXT = new MathContext(17);
+
+  /**
+   * Executor, that calculates exact values of approximate results in background
+   */
+  private static final ExecutorService refiningExecutor = Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "calculator-refining");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * Left operand of binary and percent operations
+   */
+  private BigDecimal leftOperand;
+
+  /**
+   * Right operand of binary and percent operations
+   */
+  private BigDecimal rightOperand;
+
+  /**
+   * Memory cell in calculator
+   */
+  private BigDecimal memory;
+
+  /**
+   * {@link ArithmeticOperation}, that user will be use
+   */
+  private ArithmeticOperation operation;
+
+  /**
+   * {@link ArithmeticOperation}, that user before current
+   */
+  private ArithmeticOperation prevOperation;
+
+  /**
+   * Current state of calculator
+   */
+  private CalculatorState calculatorState = CalculatorState.LEFT;
+
+  /**
+   * Current {@link CalculationMode}
+   */
+  private CalculationMode calculationMode = CalculationMode.FULL_PRECISION;
+
+  /**
+   * Results of calculations in {@link CalculationMode#ADAPTIVE_PRECISION} mode, that are known only approximately.
+   * Key is approximate value, that was given as result, value is number, that can calculate the rest of digits.
+   */
+  private final Map<BigDecimal, AdaptiveDecimal> pendingNumbers = new IdentityHashMap<>();
+
+  /**
+   * Results of calculations in {@link CalculationMode#EXACT_RATIONAL} mode. Key is representative decimal value,
+   * that was given as result, value is exact fraction.
+   */
+  private final Map<BigDecimal, Fraction> rationalNumbers = new IdentityHashMap<>();
+
+  /**
+   * Time in milliseconds, that operation in {@link CalculationMode#ADAPTIVE_PRECISION} mode waits for exact result.
+   * Zero if exact values are calculated only on demand
+   */
+  private long latencyBudget;
+
+  /**
+   * Exact values of approximate results, that are calculated in background. Key is approximate value, that was given
+   * as result
+   */
+  private final Map<BigDecimal, CompletableFuture<BigDecimal>> refinements = new IdentityHashMap<>();
+
+  /**
+   * Background calculations of exact values, that aren't finished yet. They are interrupted by {@link #cancel()}
+   */
+  private final Set<Future<BigDecimal>> refiningTasks = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Unary operations, that gave current operand, null if operand isn't result of unary operation
+   */
+  private UnaryHistory unaryHistory;
+
+  static {
+    binaryOperations.put(ADD, BigDecimal::add);
+    binaryOperations.put(SUBTRACT, BigDecimal::subtract);
+    binaryOperations.put(MULTIPLY, BigDecimal::multiply);
+    binaryOperations.put(DIVIDE, (left, right) -> left.divide(right, DIVIDE_SCALE, RoundingMode.HALF_UP));
+
+    unaryOperations.put(REVERSE, x -> BigDecimal.ONE.divide(x, DIVIDE_SCALE, RoundingMode.HALF_UP));//⅟𝑥
+    unaryOperations.put(POW, x -> x.pow(2));//𝑥²
+    unaryOperations.put(NEGATE, BigDecimal::negate);//±
+    unaryOperations.put(SQRT, x -> SquareRoot.sqrt(x, SQRT_CONTEXT));
+
+    rationalBinaryOperations.put(ADD, Fraction::add);
+    rationalBinaryOperations.put(SUBTRACT, Fraction::subtract);
+    rationalBinaryOperations.put(MULTIPLY, Fraction::multiply);
+    rationalBinaryOperations.put(DIVIDE, Fraction::divide);
+
+    rationalUnaryOperations.put(REVERSE, Fraction::reverse);
+    rationalUnaryOperations.put(POW, Fraction::pow);
+    rationalUnaryOperations.put(NEGATE, Fraction::negate);
+    rationalUnaryOperations.put(SQRT, x -> x.sqrt(SQRT_CONTEXT));
+  }
+
+  public CalculatorModel() {
+  }
+
+  /**
+   * Create model with state from snapshot
+   *
+   * @param snapshot state of model
+   */
+  public CalculatorModel(CalculatorSnapshot snapshot) {
+    leftOperand = snapshot.getLeftOperand();
+    rightOperand = snapshot.getRightOperand();
+    memory = snapshot.getMemory();
+    operation = snapshot.getOperation();
+    prevOperation = snapshot.getPrevOperation();
+    calculatorState = snapshot.getCalculatorState();
+    calculationMode = snapshot.getCalculationMode();
+    pendingNumbers.putAll(snapshot.getPendingNumbers());
+    rationalNumbers.putAll(snapshot.getRationalNumbers());
+    unaryHistory = snapshot.getUnaryHistory();
+  }
+
+  /**
+   * Calculate next state of calculator. State isn't changed, so it can be used by many threads at once
+   *
+   * @param state current state
+   * @param input input, that is applied to state
+   * @return new state, which result is result of input
+   * @throws CalculatorException if input can't be calculated, like {@link CalculatorModel} methods
+   */
+  public static CalculatorSnapshot next(CalculatorSnapshot state, CalculatorInput input) throws CalculatorException {
+    CalculatorModel model = new CalculatorModel(state);
+    BigDecimal result = input.applyTo(model);
+    return model.getSnapshot(result);
+  }
+
+  /**
+   * Get current state of model
+   *
+   * @return immutable state without result
+   */
+  public CalculatorSnapshot getSnapshot() {
+    return getSnapshot(null);
+  }
+
+  private CalculatorSnapshot getSnapshot(BigDecimal result) {
+    return new CalculatorSnapshot(leftOperand, rightOperand, memory, operation, prevOperation, calculatorState,
+        calculationMode, result, pendingNumbers, rationalNumbers, unaryHistory);
+  }
+
+  public void setLeftOperand(BigDecimal leftOperand) {
+    this.leftOperand = leftOperand;
+  }
+
+
+  public void setRightOperand(BigDecimal rightOperand) {
+    this.rightOperand = rightOperand;
+  }
+
+  public BigDecimal getMemory() {
+    return memory;
+  }
+
+  public ArithmeticOperation getOperation() {
+    return operation;
+  }
+
+  public void setOperation(ArithmeticOperation operation) {
+    this.operation = operation;
+  }
+
+  public CalculatorState getCalculatorState() {
+    return calculatorState;
+  }
+
+  public void setCalculatorState(CalculatorState calculatorState) {
+    this.calculatorState = calculatorState;
+  }
+
+  public CalculationMode getCalculationMode() {
+    return calculationMode;
+  }
+
+  public long getLatencyBudget() {
+    return latencyBudget;
+  }
+
+  /**
+   * Set latency budget of operations in {@link CalculationMode#ADAPTIVE_PRECISION} mode. Operation gives result with
+   * digits, that are needed to display it, and calculates all digits in background. If all digits are calculated
+   * in budget, exact result is given instead of approximate one
+   *
+   * @param latencyBudget time in milliseconds, zero if all digits are calculated only on demand
+   */
+  public void setLatencyBudget(long latencyBudget) {
+    if (latencyBudget < 0) {
+      throw new IllegalArgumentException("Latency budget can't be negative: " + latencyBudget);
+    }
+    this.latencyBudget = latencyBudget;
+  }
+
+  /**
+   * Set {@link CalculationMode}. Operands, that are known approximately or as fractions, are replaced with their exact
+   * decimal values, when mode is changed
+   *
+   * @param calculationMode new mode
+   */
+  public void setCalculationMode(CalculationMode calculationMode) {
+    if (calculationMode != this.calculationMode) {
+      leftOperand = getExactValue(leftOperand);
+      rightOperand = getExactValue(rightOperand);
+      memory = getExactValue(memory);
+      pendingNumbers.clear();
+      rationalNumbers.clear();
+      refinements.clear();
+      unaryHistory = null;
+    }
+    this.calculationMode = calculationMode;
+  }
+
+  /**
+   * Get number with all digits. In {@link CalculationMode#ADAPTIVE_PRECISION} mode results of calculations
+   * are approximate, so the rest of digits is calculated, if it wasn't done before. In
+   * {@link CalculationMode#EXACT_RATIONAL} mode fraction is divided with scale of dividing.
+   *
+   * @param number result of calculation
+   * @return exact value of number
+   */
+  public BigDecimal getExactValue(BigDecimal number) {
+    CompletableFuture<BigDecimal> refinement = refinements.get(number);
+    if (refinement != null) { // waits for background calculation instead of doing it twice
+      return refinement.join();
+    }
+
+    AdaptiveDecimal adaptive = pendingNumbers.get(number);
+    if (adaptive != null) {
+      return adaptive.getExact();
+    }
+
+    Fraction fraction = rationalNumbers.get(number);
+    if (fraction != null) {
+      return fraction.toBigDecimal(DIVIDE_SCALE);
+    }
+    return number;
+  }
+
+  /**
+   * Interrupt background calculations of exact values. Waiting for them throws {@link CancellationException} then.
+   * Method can be called from any thread, model mustn't be used after it, because its results aren't refined
+   */
+  public void cancel() {
+    for (Future<BigDecimal> task : refiningTasks) {
+      task.cancel(true);
+    }
+  }
+
+  /**
+   * Stop long calculation, if its thread was interrupted. Calculation is checked between steps, that are calculated
+   * one by one, because arithmetic of {@link BigDecimal} doesn't stop on interrupt
+   *
+   * @throws CancellationException if current thread is interrupted
+   */
+  static void checkInterrupted() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Calculation was interrupted");
+    }
+  }
+
+  /**
+   * Get background calculation of number's exact value
+   *
+   * @param number result of calculation
+   * @return future of exact value, null if number isn't approximate or its digits are calculated only on demand
+   */
+  public CompletableFuture<BigDecimal> getRefinement(BigDecimal number) {
+    return refinements.get(number);
+  }
+
+  /**
+   * Get operand, which exact value is still calculated in background. Operations, that need its exact value, wait
+   * for background calculation
+   *
+   * @return right operand if it is refined, else left operand if it is refined, else null
+   */
+  public BigDecimal getRefiningOperand() {
+    for (BigDecimal operand : new BigDecimal[]{rightOperand, leftOperand}) {
+      CompletableFuture<BigDecimal> refinement = refinements.get(operand);
+      if (refinement != null && !refinement.isDone()) {
+        return operand;
+      }
+    }
+    return null;
+  }
+
+
+  /**
+   * Make calculations for binary operations
+   *
+   * @return string with result of calculation
+   */
+  private BigDecimal getBinaryOperationResult() throws CalculatorException {
+    if (isRationalOperation(operation, leftOperand, rightOperand)) {
+      return getRationalBinaryOperationResult();
+    }
+
+    if (isAdaptiveOperation(operation, leftOperand, rightOperand)) {
+      BigDecimal res = getAdaptiveResult(operation, leftOperand, rightOperand);
+      if (res != null) {
+        return res;
+      }
+    }
+
+    BigDecimal leftOperand = getExactValue(this.leftOperand);
+    BigDecimal rightOperand = getExactValue(this.rightOperand);
+
+    if (rightOperand.compareTo(BigDecimal.ZERO) == 0 && operation == DIVIDE) {
+      if (leftOperand.compareTo(BigDecimal.ZERO) == 0) {
+        throw new CalculatorException(CalculatorExceptionType.DIVIDING_ZERO_BY_ZERO);
+      }
+      throw new CalculatorException(CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    }
+
+    if (leftOperand.compareTo(BigDecimal.ZERO) == 0 && operation == DIVIDE) {
+      return BigDecimal.ZERO;
+    }
+
+    if (operation == MULTIPLY) {
+      checkProductOverflow(leftOperand, rightOperand);
+    }
+
+    BigDecimal res = LongDecimal.calculate(operation, leftOperand, rightOperand);
+    if (res != null) {
+      return res;
+    }
+
+    res = binaryOperations.get(operation).apply(leftOperand, rightOperand);
+
+    if (res.compareTo(leftOperand) == 0 && operation == DIVIDE && rightOperand.compareTo(BigDecimal.ONE) != 0
+        && leftOperand.compareTo(MIN_POSITIVE) == 0) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+
+    checkOverflow(res);
+    res = res.stripTrailingZeros();
+    return res;
+  }
+
+  /**
+   * Check, that unary operation cancels the last unary operation, which result is operand of current state. Then
+   * operation gives operand of the last operation exactly
+   *
+   * @param operation unary operation
+   * @return true if cancels, false else
+   */
+  public boolean isCancelling(ArithmeticOperation operation) {
+    boolean isLeft = calculatorState == CalculatorState.AFTER || calculatorState == CalculatorState.LEFT;
+    return isCancelling(operation, isLeft ? leftOperand : rightOperand);
+  }
+
+  private boolean isCancelling(ArithmeticOperation operation, BigDecimal number) {
+    return unaryHistory != null && unaryHistory.isResult(number) && unaryHistory.isCancelledBy(operation);
+  }
+
+  /**
+   * Make calculations for unary operations. Operation, that is inverse to the last unary operation of number, gives
+   * operand of that operation without calculation
+   *
+   * @param operation Current unary operation
+   * @param number    number, that we calc
+   * @return string with result of calculation
+   */
+  private BigDecimal getUnaryOperationResult(ArithmeticOperation operation, BigDecimal number) throws CalculatorException {
+    if (isCancelling(operation, number)) {
+      return cancelUnaryOperation();
+    }
+
+    BigDecimal res = calculateUnaryOperation(operation, number);
+    unaryHistory = UnaryHistory.append(unaryHistory, number, pendingNumbers.get(number), rationalNumbers.get(number),
+        operation, res);
+    return res;
+  }
+
+  /**
+   * Remove the last operation from unary history
+   *
+   * @return operand of the last operation, which approximation or fraction is known again
+   */
+  private BigDecimal cancelUnaryOperation() {
+    BigDecimal res = unaryHistory.getOperand();
+    if (unaryHistory.getPendingOperand() != null) {
+      pendingNumbers.put(res, unaryHistory.getPendingOperand());
+    }
+    if (unaryHistory.getRationalOperand() != null) {
+      rationalNumbers.put(res, unaryHistory.getRationalOperand());
+    }
+
+    unaryHistory = unaryHistory.getPrevious();
+    return res;
+  }
+
+  /**
+   * Calculate unary operation
+   *
+   * @param operation Current unary operation
+   * @param number    number, that we calc
+   * @return result of calculation
+   */
+  private BigDecimal calculateUnaryOperation(ArithmeticOperation operation, BigDecimal number)
+      throws CalculatorException {
+    if (isRationalOperation(operation, number, null)) {
+      return getRationalUnaryOperationResult(operation, number);
+    }
+
+    if (isAdaptiveOperation(operation, number, null)) {
+      BigDecimal res = getAdaptiveResult(operation, number, null);
+      if (res != null) {
+        return res;
+      }
+    }
+
+    number = getExactValue(number);
+
+    if (number.equals(BigDecimal.ZERO) && operation == REVERSE) {
+      throw new CalculatorException(CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    }
+
+    if (number.compareTo(BigDecimal.ZERO) < 0 && operation == SQRT) {
+      throw new CalculatorException(CalculatorExceptionType.NEGATIVE_ROOT);
+    }
+
+    if (operation == POW) {
+      checkProductOverflow(number, number);
+      BigDecimal res = LongDecimal.calculate(MULTIPLY, number, number);
+      if (res != null) {
+        return res;
+      }
+    }
+
+    BigDecimal res = unaryOperations.get(operation).apply(number);
+
+    checkOverflow(res);
+    return res.stripTrailingZeros();
+  }
+
+  /**
+   * Make calculation of unary operation, that is repeated several times. Squares and roots of exact decimal operand
+   * are calculated in one step, other operations are calculated one by one
+   *
+   * @param operation   current unary operation
+   * @param number      number, that we calc
+   * @param repetitions amount of repetitions
+   * @return result of the last repetition
+   */
+  private BigDecimal getRepeatedUnaryResult(ArithmeticOperation operation, BigDecimal number, int repetitions)
+      throws CalculatorException {
+    BigDecimal res = number;
+    while (repetitions > 0 && isCancelling(operation, res)) {
+      res = cancelUnaryOperation();
+      repetitions--;
+    }
+
+    if (repetitions > 1 && !isRationalOperation(operation, res, null)) {
+      if (operation == POW && !isAdaptiveOperation(operation, res, null)) {
+        return repeatSquare(res, repetitions);
+      } else if (operation == SQRT && calculationMode == CalculationMode.FULL_PRECISION) {
+        return repeatSqrt(res, repetitions);
+      }
+    }
+
+    for (int i = 0; i < repetitions; i++) {
+      checkInterrupted();
+      res = getUnaryOperationResult(operation, res);
+    }
+    return res;
+  }
+
+  /**
+   * Calculate {@code number^(2^repetitions)} by repeated squaring. Overflow of the whole run is predicted before
+   * squaring, and every square is checked before it's calculated. Square of number without trailing zeros has no
+   * trailing zeros too, so number is stripped only once. Every square is added to unary history, so it can be
+   * cancelled later
+   *
+   * @param number      exact number
+   * @param repetitions amount of squares
+   * @return result of the last square
+   */
+  private BigDecimal repeatSquare(BigDecimal number, int repetitions) throws CalculatorException {
+    BigDecimal exact = getExactValue(number);
+    checkRepeatedSquareOverflow(exact, repetitions);
+
+    BigDecimal operand = number;
+    BigDecimal res = exact.stripTrailingZeros();
+    for (int i = 0; i < repetitions; i++) {
+      checkInterrupted();
+      checkProductOverflow(res, res);
+      BigDecimal square = LongDecimal.calculate(MULTIPLY, res, res);
+      res = square == null ? res.multiply(res) : square;
+
+      if (i < repetitions - 1) {
+        unaryHistory = UnaryHistory.append(unaryHistory, operand, null, null, POW, res);
+        operand = res;
+      }
+    }
+
+    checkOverflow(res);
+    res = res.stripTrailingZeros();
+    unaryHistory = UnaryHistory.append(unaryHistory, operand, null, null, POW, res);
+    return res;
+  }
+
+  /**
+   * Calculate square root several times. Every root is rounded and stripped like separate root, so result is the
+   * same, but intermediate roots aren't checked for overflow. Every root is added to unary history, so it can be
+   * cancelled later
+   *
+   * @param number      exact number
+   * @param repetitions amount of roots
+   * @return result of the last root
+   */
+  private BigDecimal repeatSqrt(BigDecimal number, int repetitions) throws CalculatorException {
+    if (number.signum() < 0) {
+      throw new CalculatorException(CalculatorExceptionType.NEGATIVE_ROOT);
+    }
+
+    BigDecimal operand = number;
+    BigDecimal res = number;
+    for (int i = 0; i < repetitions - 1; i++) {
+      checkInterrupted();
+      res = SquareRoot.sqrt(res, SQRT_CONTEXT).stripTrailingZeros();
+      unaryHistory = UnaryHistory.append(unaryHistory, operand, null, null, SQRT, res);
+      operand = res;
+    }
+
+    res = SquareRoot.sqrt(res, SQRT_CONTEXT);
+    checkOverflow(res);
+    res = res.stripTrailingZeros();
+    unaryHistory = UnaryHistory.append(unaryHistory, operand, null, null, SQRT, res);
+    return res;
+  }
+
+  /**
+   * Make calculation of binary operation, that is repeated several times with the same right operand. Operations
+   * with exact decimal operands are calculated in closed form: {@code left + n·right} and {@code left·right^n}.
+   * Quotients are rounded every time, so they and other operations are calculated one by one, like separate equals
+   *
+   * @param repetitions amount of repetitions
+   * @return result of the last repetition
+   */
+  private BigDecimal getRepeatedBinaryResult(int repetitions) throws CalculatorException {
+    if (repetitions > 1 && !isRationalOperation(operation, leftOperand, rightOperand)
+        && !isAdaptiveOperation(operation, leftOperand, rightOperand)) {
+      BigDecimal left = getExactValue(leftOperand);
+      BigDecimal right = getExactValue(rightOperand);
+
+      if (operation == ADD || operation == SUBTRACT) {
+        return repeatSum(left, operation == ADD ? right : right.negate(), repetitions);
+      } else if (left.signum() != 0 && right.signum() != 0) {
+        if (operation == MULTIPLY) {
+          return repeatProduct(left, right, repetitions);
+        } else if (operation == DIVIDE) {
+          checkRepeatedQuotientOverflow(left, right, repetitions);
+        }
+      }
+    }
+
+    BigDecimal left = leftOperand;
+    try {
+      for (int i = 0; i < repetitions; i++) {
+        checkInterrupted();
+        leftOperand = getBinaryOperationResult();
+      }
+    } catch (CalculatorException e) {
+      leftOperand = left;
+      throw e;
+    }
+    return leftOperand;
+  }
+
+  /**
+   * Calculate {@code left + repetitions·step}. Intermediate sums are between left and the last sum, so only sums,
+   * that are the nearest to zero, are checked, when sign of sum is changed
+   *
+   * @param left        exact first summand
+   * @param step        exact number, that is added every repetition
+   * @param repetitions amount of additions
+   * @return the last sum
+   */
+  private static BigDecimal repeatSum(BigDecimal left, BigDecimal step, int repetitions) throws CalculatorException {
+    BigDecimal res = left.add(step.multiply(BigDecimal.valueOf(repetitions)));
+    checkOverflow(res);
+
+    if (left.signum() * res.signum() < 0) { // sum crosses zero between repetitions
+      long crossing = left.negate().divideToIntegralValue(step).longValueExact();
+      for (long i = Math.max(crossing, 1); i <= Math.min(crossing + 1, repetitions); i++) {
+        checkOverflow(left.add(step.multiply(BigDecimal.valueOf(i))));
+      }
+    }
+    return res.stripTrailingZeros();
+  }
+
+  /**
+   * Calculate {@code left·right^repetitions} exactly. Products are monotonic, so overflow is predicted by
+   * magnitude of the last product before power is calculated
+   *
+   * @param left        exact nonzero left operand
+   * @param right       exact nonzero right operand
+   * @param repetitions amount of multiplying
+   * @return the last product
+   */
+  private static BigDecimal repeatProduct(BigDecimal left, BigDecimal right, int repetitions)
+      throws CalculatorException {
+    double magnitude = log10(left) + repetitions * log10(right);
+    if (magnitude >= MAX_EXPONENT + 1 || magnitude < MIN_EXPONENT - 1) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+
+    BigDecimal res = left.multiply(power(right, repetitions, MathContext.UNLIMITED));
+    checkOverflow(res);
+    return res.stripTrailingZeros();
+  }
+
+  /**
+   * Predict overflow of {@code left/right^repetitions}, so quotients, that certainly become too big, aren't
+   * calculated one by one. Quotients themselves are calculated one by one, because every quotient is rounded
+   *
+   * @param left        exact nonzero left operand
+   * @param right       exact nonzero right operand
+   * @param repetitions amount of dividing
+   * @throws CalculatorException if the last quotient is certainly too big
+   */
+  private static void checkRepeatedQuotientOverflow(BigDecimal left, BigDecimal right, int repetitions)
+      throws CalculatorException {
+    double magnitude = log10(left) - repetitions * log10(right);
+    if (magnitude >= MAX_EXPONENT + 1) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+  }
+
+  /**
+   * Calculate power by squaring
+   *
+   * @param number      base of power
+   * @param exponent    positive exponent
+   * @param mathContext context of every product
+   * @return power of number
+   */
+  private static BigDecimal power(BigDecimal number, int exponent, MathContext mathContext) {
+    BigDecimal res = BigDecimal.ONE;
+    BigDecimal square = number;
+    while (exponent > 0) {
+      if ((exponent & 1) == 1) {
+        res = res.multiply(square, mathContext);
+      }
+      exponent >>= 1;
+      if (exponent > 0) {
+        square = square.multiply(square, mathContext);
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Estimate decimal logarithm of absolute value of number by its leading digits
+   *
+   * @param number nonzero number
+   * @return logarithm with error much less, than one
+   */
+  private static double log10(BigDecimal number) {
+    BigDecimal leading = number.abs().round(MAGNITUDE_CONTEXT);
+    return Math.log10(leading.unscaledValue().doubleValue()) - leading.scale();
+  }
+
+  /**
+   * Predict overflow of {@code number^(2^repetitions)}. Decimal exponent {@code e} of square is {@code 2e - 1} or
+   * {@code 2e}, so range of exponent is followed through squares. Range is limited, because overflow is certain
+   * after limits
+   *
+   * @param number      number, that is squared
+   * @param repetitions amount of squares
+   * @throws CalculatorException if the last square is certainly too big or too small
+   */
+  private static void checkRepeatedSquareOverflow(BigDecimal number, int repetitions) throws CalculatorException {
+    if (number.signum() == 0) {
+      return;
+    }
+
+    long lowest = (long) number.precision() - number.scale();
+    long highest = lowest;
+    for (int i = 0; i < repetitions; i++) {
+      lowest = Math.max(2 * lowest - 1, 2L * MIN_EXPONENT);
+      highest = Math.min(2 * highest, 2L * MAX_EXPONENT);
+
+      if (lowest - 1 >= MAX_EXPONENT || highest <= MIN_EXPONENT) {
+        throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+      }
+    }
+  }
+
+  /**
+   * Make calculations for binary operations
+   *
+   * @return string with result of calculation
+   */
+  private BigDecimal getPercentOperation(ArithmeticOperation operation, BigDecimal leftOperand, BigDecimal rightOperand)
+      throws CalculatorException {
+    if (calculationMode == CalculationMode.EXACT_RATIONAL) {
+      return getRationalPercentOperation(operation, leftOperand, rightOperand);
+    }
+
+    BigDecimal res = BigDecimal.ZERO;
+    leftOperand = getExactValue(leftOperand);
+    rightOperand = getExactValue(rightOperand);
+
+    if (operation != null) {
+      if ((operation == PERCENT_ADD_SUBTRACT) && leftOperand.compareTo(BigDecimal.ZERO) != 0) {
+        res = leftOperand.multiply(rightOperand.divide(BigDecimal.valueOf(100), DIVIDE_SCALE, RoundingMode.HALF_UP));
+      } else if (operation == PERCENT_MUL_DIVIDE) {
+        res = rightOperand.divide(BigDecimal.valueOf(100), DIVIDE_SCALE, RoundingMode.HALF_UP);
+      }
+    }
+
+
+    this.rightOperand = res;
+    checkOverflow(res);
+    return res.stripTrailingZeros();
+  }
+
+  private BigDecimal getPercentOperation(ArithmeticOperation operation) throws CalculatorException {
+    return getPercentOperation(operation, leftOperand, rightOperand);
+  }
+
+  /**
+   * Get memory and setup them as operand if have to
+   *
+   * @return memory value
+   */
+  public BigDecimal memoryRecall() {
+    if (calculatorState == CalculatorState.LEFT) {
+      leftOperand = memory;
+    } else if (calculatorState == CalculatorState.RIGHT) {
+      rightOperand = memory;
+    }
+    return getMemory().stripTrailingZeros();
+  }
+
+  /**
+   * Save number to memory
+   *
+   * @param num num to save
+   */
+  public void memorySave(BigDecimal num) {
+    if (calculatorState == CalculatorState.TRANSIENT) {
+      memory = leftOperand;
+    } else if (calculatorState == CalculatorState.AFTER) {
+      if (leftOperand == null) {
+        memory = BigDecimal.ZERO;
+      } else {
+        memory = leftOperand;
+      }
+    } else if (calculatorState == CalculatorState.RIGHT || calculatorState == CalculatorState.LEFT) {
+      memory = num;
+    }
+  }
+
+  /**
+   * Setting memory null value
+   */
+  public void memoryClear() {
+    memory = null;
+  }
+
+  /**
+   * Add number to memory. Set memory as num.
+   *
+   * @param num number that we add
+   */
+  public void memoryAdd(BigDecimal num) throws CalculatorException {
+    if (calculationMode != CalculationMode.EXACT_RATIONAL) {
+      num = getExactValue(num);
+    }
+
+    if (memory != null) {
+      checkOverflow(num);
+      if (calculationMode == CalculationMode.EXACT_RATIONAL) {
+        memory = toRational(toFraction(memory).add(toFraction(num)));
+      } else {
+        memory = getExactValue(memory).add(num);
+      }
+    } else {
+      memory = num;
+    }
+  }
+
+  /**
+   * Subtract number to memory. Set memory as num.
+   *
+   * @param num number that we subtract
+   */
+  public void memorySub(BigDecimal num) throws CalculatorException {
+    if (calculationMode != CalculationMode.EXACT_RATIONAL) {
+      num = getExactValue(num);
+    }
+
+    if (memory != null) {
+      checkOverflow(num);
+      if (calculationMode == CalculationMode.EXACT_RATIONAL) {
+        memory = toRational(toFraction(memory).subtract(toFraction(num)));
+      } else {
+        memory = getExactValue(memory).subtract(num);
+      }
+    } else if (calculationMode == CalculationMode.EXACT_RATIONAL) {
+      memory = toRational(toFraction(num).negate());
+    } else {
+      num = num.negate();
+      memory = num;
+    }
+  }
+
+  /**
+   * Check, that number don't too big or too small
+   *
+   * @param res number to check
+   * @throws ArithmeticException if res is too big or too small
+   */
+  public static void checkOverflow(BigDecimal res) throws CalculatorException {
+    if (res.compareTo(MAX_DECIMAL) >= 0 || res.compareTo(MIN_DECIMAL) <= 0) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+
+    if (isTooSmall(res)) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+  }
+
+  /**
+   * Check overflow of product before multiplying. Magnitude of nonzero number with {@code precision - scale} equal
+   * to {@code e} is in {@code [10^(e-1), 10^e)}, so magnitude of product is known up to two orders. Product is
+   * calculated and checked by {@link #checkOverflow(BigDecimal)}, if overflow isn't certain.
+   *
+   * @param left  left operand of multiplying
+   * @param right right operand of multiplying
+   * @throws CalculatorException if product is certainly too big or too small
+   */
+  private static void checkProductOverflow(BigDecimal left, BigDecimal right) throws CalculatorException {
+    if (left.signum() == 0 || right.signum() == 0) {
+      return;
+    }
+
+    long exponent = (long) left.precision() - left.scale() + right.precision() - right.scale();
+    if (exponent - 2 >= MAX_EXPONENT || exponent <= MIN_EXPONENT) {
+      throw new CalculatorException(CalculatorExceptionType.OVERFLOW);
+    }
+  }
+
+  private static boolean isTooSmall(BigDecimal num) {
+    return (num.abs().compareTo(MIN_POSITIVE) < 0 && num.abs().compareTo(BigDecimal.ZERO) > 0);
+  }
+
+  /**
+   * Check, that operation can be calculated approximately in {@link CalculationMode#ADAPTIVE_PRECISION} mode.
+   * Dividing and square root are always approximate, other operations are approximate only if one of operands
+   * is approximate.
+   * Operands, with which operation has special result (like dividing by zero), are calculated exactly.
+   *
+   * @param operation operation to check
+   * @param left      left or only operand
+   * @param right     right operand, null if operation is unary
+   * @return true if can, false else
+   */
+  private boolean isAdaptiveOperation(ArithmeticOperation operation, BigDecimal left, BigDecimal right) {
+    if (calculationMode != CalculationMode.ADAPTIVE_PRECISION || !AdaptiveDecimal.isSupported(operation)
+        || left == null || right == null && operation.getType() == ArithmeticOperationType.BINARY) {
+      return false;
+    }
+
+    boolean isLeftPending = pendingNumbers.containsKey(left);
+    boolean isRightPending = right != null && pendingNumbers.containsKey(right);
+
+    if (isLeftPending && pendingNumbers.get(left).getDepth() >= AdaptiveDecimal.MAX_DEPTH
+        || isRightPending && pendingNumbers.get(right).getDepth() >= AdaptiveDecimal.MAX_DEPTH) {
+      return false;
+    }
+
+    if (operation == DIVIDE) {
+      return (isRightPending || right.signum() != 0)
+          && (isLeftPending || left.signum() != 0 && left.compareTo(MIN_POSITIVE) != 0);
+    } else if (operation == REVERSE) {
+      return isLeftPending || left.signum() != 0;
+    } else if (operation == SQRT) {
+      return left.signum() > 0 && (isLeftPending || !SquareRoot.isExact(left));
+    }
+
+    return isLeftPending || isRightPending;
+  }
+
+  /**
+   * Make calculation in {@link CalculationMode#ADAPTIVE_PRECISION} mode, that calculates only digits,
+   * which are needed to display result
+   *
+   * @param operation operation to calculate
+   * @param left      left or only operand
+   * @param right     right operand, null if operation is unary
+   * @return approximate result or null if result have to be calculated exactly
+   */
+  private BigDecimal getAdaptiveResult(ArithmeticOperation operation, BigDecimal left, BigDecimal right)
+      throws CalculatorException {
+    AdaptiveDecimal number = AdaptiveDecimal.of(operation, toAdaptive(left), right == null ? null : toAdaptive(right));
+    BigDecimal res = number.approximate();
+
+    if (res != null) {
+      checkOverflow(res);
+      if (latencyBudget > 0) {
+        BigDecimal exact = refine(res, number);
+        if (exact != null) {
+          return exact;
+        }
+      }
+      pendingNumbers.put(res, number);
+    }
+    return res;
+  }
+
+  /**
+   * Start calculation of exact value in background and wait for it not longer than latency budget. Exact value is
+   * displayed like approximate one, so it doesn't need overflow checking
+   *
+   * @param approximate approximate result
+   * @param number      number, that calculates exact value
+   * @return exact value, if it was calculated in budget, null else
+   */
+  private BigDecimal refine(BigDecimal approximate, AdaptiveDecimal number) {
+    CompletableFuture<BigDecimal> refinement = new CompletableFuture<>();
+    FutureTask<BigDecimal> task = new FutureTask<>(number::getExact) {
+      @Override
+      protected void done() {
+        refiningTasks.remove(this);
+        if (isCancelled()) {
+          refinement.cancel(false);
+          return;
+        }
+        try {
+          refinement.complete(get());
+        } catch (ExecutionException e) {
+          refinement.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) { // task is done, so result is given without waiting
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    refiningTasks.add(task);
+    refiningExecutor.execute(task);
+
+    try {
+      return refinement.get(latencyBudget, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      refinements.put(approximate, refinement);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      refinements.put(approximate, refinement);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Exact value wasn't calculated", e.getCause());
+    }
+    return null;
+  }
+
+  private AdaptiveDecimal toAdaptive(BigDecimal number) {
+    AdaptiveDecimal adaptive = pendingNumbers.get(number);
+    if (adaptive == null) {
+      adaptive = AdaptiveDecimal.valueOf(number);
+    }
+    return adaptive;
+  }
+
+  /**
+   * Check, that operation is calculated with fractions in {@link CalculationMode#EXACT_RATIONAL} mode. Dividing and
+   * reverse are always calculated with fractions, other operations only if one of operands is fraction.
+   *
+   * @param operation operation to check
+   * @param left      left or only operand
+   * @param right     right operand, null if operation is unary
+   * @return true if is, false else
+   */
+  private boolean isRationalOperation(ArithmeticOperation operation, BigDecimal left, BigDecimal right) {
+    if (calculationMode != CalculationMode.EXACT_RATIONAL
+        || left == null || right == null && operation.getType() == ArithmeticOperationType.BINARY) {
+      return false;
+    }
+
+    return operation == DIVIDE || operation == REVERSE
+        || rationalNumbers.containsKey(left) || right != null && rationalNumbers.containsKey(right);
+  }
+
+  private BigDecimal getRationalBinaryOperationResult() throws CalculatorException {
+    Fraction left = toFraction(leftOperand);
+    Fraction right = toFraction(rightOperand);
+
+    if (right.signum() == 0 && operation == DIVIDE) {
+      if (left.signum() == 0) {
+        throw new CalculatorException(CalculatorExceptionType.DIVIDING_ZERO_BY_ZERO);
+      }
+      throw new CalculatorException(CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    }
+
+    BigDecimal res = toRational(rationalBinaryOperations.get(operation).apply(left, right));
+    checkOverflow(res);
+    return res;
+  }
+
+  private BigDecimal getRationalUnaryOperationResult(ArithmeticOperation operation, BigDecimal number)
+      throws CalculatorException {
+    Fraction x = toFraction(number);
+
+    if (x.signum() == 0 && operation == REVERSE) {
+      throw new CalculatorException(CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    }
+
+    if (x.signum() < 0 && operation == SQRT) {
+      throw new CalculatorException(CalculatorExceptionType.NEGATIVE_ROOT);
+    }
+
+    BigDecimal res = toRational(rationalUnaryOperations.get(operation).apply(x));
+    checkOverflow(res);
+    return res;
+  }
+
+  private BigDecimal getRationalPercentOperation(ArithmeticOperation operation, BigDecimal leftOperand,
+                                                 BigDecimal rightOperand) throws CalculatorException {
+    Fraction res = Fraction.ZERO;
+
+    if (operation != null) {
+      if ((operation == PERCENT_ADD_SUBTRACT) && leftOperand.compareTo(BigDecimal.ZERO) != 0) {
+        res = toFraction(leftOperand).multiply(toFraction(rightOperand).divide(HUNDRED));
+      } else if (operation == PERCENT_MUL_DIVIDE) {
+        res = toFraction(rightOperand).divide(HUNDRED);
+      }
+    }
+
+    this.rightOperand = toRational(res);
+    checkOverflow(this.rightOperand);
+    return this.rightOperand;
+  }
+
+  private Fraction toFraction(BigDecimal number) {
+    Fraction fraction = rationalNumbers.get(number);
+    if (fraction == null) {
+      fraction = Fraction.valueOf(number);
+    }
+    return fraction;
+  }
+
+  /**
+   * Remember fraction as result of calculation
+   *
+   * @param fraction exact result
+   * @return representative decimal value of fraction
+   */
+  private BigDecimal toRational(Fraction fraction) {
+    BigDecimal res = fraction.toRepresentative();
+    rationalNumbers.put(res, fraction);
+    return res;
+  }
+
+  /**
+   * Check, that numbers are equal, like they would be calculated exactly
+   */
+  private boolean isSameNumber(BigDecimal first, BigDecimal second) {
+    if (first == second) {
+      return true;
+    } else if (rationalNumbers.containsKey(first) || rationalNumbers.containsKey(second)) {
+      return toFraction(first).equals(toFraction(second));
+    } else if (pendingNumbers.containsKey(first) || pendingNumbers.containsKey(second)) {
+      return getExactValue(first).equals(getExactValue(second));
+    }
+    return first.equals(second);
+  }
+
+  /**
+   * Forget approximate numbers and fractions, that aren't operands or memory anymore
+   */
+  private void releasePendingNumbers() {
+    if (!pendingNumbers.isEmpty()) {
+      pendingNumbers.keySet().removeIf(number -> number != leftOperand && number != rightOperand && number != memory);
+    }
+    if (!rationalNumbers.isEmpty()) {
+      rationalNumbers.keySet().removeIf(number -> number != leftOperand && number != rightOperand && number != memory);
+    }
+    if (!refinements.isEmpty()) {
+      refinements.keySet().removeIf(number -> number != leftOperand && number != rightOperand && number != memory);
+    }
+    if (unaryHistory != null && !unaryHistory.isResult(leftOperand) && !unaryHistory.isResult(rightOperand)) {
+      unaryHistory = null;
+    }
+  }
+
+  /**
+   * Calculate operation like {@link CalculatorModel} does, without checking of special cases and overflow
+   *
+   * @param operation binary or unary operation
+   * @param left      left or only operand
+   * @param right     right operand, null if operation is unary
+   * @return result of operation
+   */
+  static BigDecimal applyOperation(ArithmeticOperation operation, BigDecimal left, BigDecimal right) {
+    if (operation.getType() == ArithmeticOperationType.UNARY) {
+      return unaryOperations.get(operation).apply(left).stripTrailingZeros();
+    }
+    return binaryOperations.get(operation).apply(left, right).stripTrailingZeros();
+  }
+
+  /**
+   * Calculate operations
+   *
+   * @param operation     ArithmeticOperation, that we do
+   * @param firstOperand  first operand of calculation
+   * @param secondOperand second operand of calculation
+   * @return result of calculation, that written at left or right operand field
+   */
+  public BigDecimal calculate(ArithmeticOperation operation, BigDecimal firstOperand, BigDecimal secondOperand)
+      throws CalculatorException {
+    BigDecimal result;
+    if (operation.getType() == ArithmeticOperationType.BINARY) { // calculating binary operation
+      leftOperand = firstOperand;
+      rightOperand = secondOperand;
+      this.operation = operation;
+      calculatorState = CalculatorState.AFTER;
+      leftOperand = getBinaryOperationResult();
+      result = leftOperand;
+    } else if (operation.getType() == ArithmeticOperationType.UNARY) { // calculating unary operation
+      result = calculateUnary(operation, firstOperand, 1);
+    } else if (operation.getType() == ArithmeticOperationType.PERCENT) { // calculating percent operation
+      rightOperand = getPercentOperation(operation, firstOperand, secondOperand);
+      result = rightOperand;
+    } else {
+      throw new IllegalStateException("Unsupported ArithmeticOperationType: " + operation.getType());
+    }
+    releasePendingNumbers();
+    return result;
+  }
+
+  /**
+   * Calculate unary operation several times in one step, like it was entered {@code repetitions} times in a row
+   * without new operand. Runs of {@link ArithmeticOperation#POW} and {@link ArithmeticOperation#SQRT} don't check
+   * intermediate results for overflow, so result is the same, that separate calls would give
+   *
+   * @param operation  unary operation
+   * @param repetitions positive amount of repetitions
+   * @return result of the last repetition, that written at left or right operand field
+   * @throws CalculatorException if one of repetitions can't be calculated, operands aren't changed then
+   */
+  public BigDecimal calculate(ArithmeticOperation operation, int repetitions) throws CalculatorException {
+    if (operation.getType() != ArithmeticOperationType.UNARY || repetitions <= 0) {
+      throw new IllegalArgumentException("Can't repeat " + operation + " " + repetitions + " times");
+    }
+
+    UnaryHistory history = unaryHistory;
+    BigDecimal result;
+    try {
+      result = calculateUnary(operation, null, repetitions);
+    } catch (CalculatorException e) {
+      unaryHistory = history;
+      throw e;
+    }
+    releasePendingNumbers();
+    return result;
+  }
+
+  /**
+   * Check, that equals repeats the last binary operation with the same right operand, because result of this
+   * operation is left operand now
+   *
+   * @return true if is, false else
+   */
+  public boolean isEqualsRepeatable() {
+    return calculatorState == CalculatorState.AFTER && operation != null
+        && operation.getType() == ArithmeticOperationType.BINARY && leftOperand != null && rightOperand != null;
+  }
+
+  /**
+   * Calculate equals several times in one step, like {@link #calculate(BigDecimal)} was called {@code repetitions}
+   * times after result of binary operation. Sums and products of exact decimal operands are calculated in closed form
+   *
+   * @param repetitions positive amount of repetitions
+   * @return result of the last repetition, that written at left operand field
+   * @throws CalculatorException if one of repetitions can't be calculated, operands aren't changed then
+   * @see #isEqualsRepeatable()
+   */
+  public BigDecimal calculateEquals(int repetitions) throws CalculatorException {
+    if (!isEqualsRepeatable()) {
+      throw new IllegalStateException("Equals can't be repeated in CalculatorState: " + calculatorState);
+    }
+    if (repetitions <= 0) {
+      throw new IllegalArgumentException("Can't repeat equals " + repetitions + " times");
+    }
+
+    leftOperand = getRepeatedBinaryResult(repetitions);
+    releasePendingNumbers();
+    return leftOperand;
+  }
+
+  /**
+   * Calculate unary operation and set result as operand, that is edited in current {@link CalculatorState}
+   *
+   * @param operation    unary operation
+   * @param firstOperand operand of operation, null if it is operand of current state
+   * @param repetitions  amount of repetitions of operation
+   * @return result of calculation
+   */
+  private BigDecimal calculateUnary(ArithmeticOperation operation, BigDecimal firstOperand, int repetitions)
+      throws CalculatorException {
+    BigDecimal result;
+    if (firstOperand == null) { // setting first if them is null
+      if (calculatorState == CalculatorState.AFTER || calculatorState == CalculatorState.LEFT) {
+        if (leftOperand == null) {
+          leftOperand = BigDecimal.ZERO;
+        }
+        firstOperand = leftOperand;
+      } else {
+        firstOperand = rightOperand;
+      }
+    }
+
+    if (calculatorState == CalculatorState.AFTER || calculatorState == CalculatorState.LEFT) {
+      leftOperand = getRepeatedUnaryResult(operation, firstOperand, repetitions);
+
+      result = leftOperand;
+    } else if (calculatorState == CalculatorState.RIGHT) {
+      rightOperand = getRepeatedUnaryResult(operation, firstOperand, repetitions);
+      result = rightOperand;
+    } else {
+      if (firstOperand == null) {
+        firstOperand = leftOperand;
+      }
+      rightOperand = getRepeatedUnaryResult(operation, firstOperand, repetitions);
+      result = rightOperand;
+    }
+    return result;
+  }
+
+  /**
+   * Calculate operations, if one of operand is null(already written at field,
+   * will be written at future or operation is unary)
+   *
+   * @param operation    ArithmeticOperation, that we do
+   * @param firstOperand first operand of calculation
+   * @return result of calculation, that written at left or right operand field or firstOperand
+   */
+  public BigDecimal calculate(ArithmeticOperation operation, BigDecimal firstOperand) throws CalculatorException {
+    BigDecimal result;
+    if (operation == null) { // if operation is null, it's equals or setting an operand
+      if (leftOperand != null && this.operation != null) { // left and operation was set
+        if (calculatorState == CalculatorState.TRANSIENT && this.operation == DIVIDE
+            && rightOperand != null && !isSameNumber(firstOperand, rightOperand)) { // divide number by itself
+          rightOperand = leftOperand;
+        } else if (calculatorState != CalculatorState.AFTER) { // otherwise setting up right operand
+          rightOperand = firstOperand;
+        }
+
+        if (this.operation.getType() == ArithmeticOperationType.BINARY) { // result of binary operation
+          leftOperand = getBinaryOperationResult();
+          calculatorState = CalculatorState.AFTER;
+          result = leftOperand;
+        } else if (this.operation.getType() == ArithmeticOperationType.PERCENT) { // result of percent operation
+          rightOperand = firstOperand;
+          rightOperand = getPercentOperation(this.operation);
+          this.operation = prevOperation;
+          result = rightOperand;
+        } else { // otherwise return left operand
+          result = leftOperand;
+        }
+      } else if (leftOperand == null) { // setting left operand
+        leftOperand = firstOperand;
+        calculatorState = CalculatorState.AFTER;
+        result = firstOperand;
+      } else if (rightOperand == null) { // setting right operand
+        rightOperand = firstOperand;
+        calculatorState = CalculatorState.RIGHT;
+        result = rightOperand;
+      } else { // otherwise return first operand
+        calculatorState = CalculatorState.AFTER;
+        result = firstOperand;
+      }
+    } else if (operation.getType() == ArithmeticOperationType.BINARY) { //binary operation
+      if (calculatorState == CalculatorState.LEFT) { // setting left and operation
+        leftOperand = firstOperand;
+        calculatorState = CalculatorState.TRANSIENT;
+        this.operation = operation;
+
+        if (rightOperand == null) {
+          rightOperand = leftOperand;
+        }
+
+        result = leftOperand;
+      } else if (calculatorState == CalculatorState.RIGHT) { // giving an binary operation result and setting new operation
+        rightOperand = firstOperand;
+        leftOperand = calculate(this.operation, leftOperand, firstOperand);
+        this.operation = operation;
+        calculatorState = CalculatorState.TRANSIENT;
+        result = leftOperand;
+      } else if (calculatorState == CalculatorState.AFTER) { // setting left operand if them wasn't set and setting operation
+        calculatorState = CalculatorState.TRANSIENT;
+
+        if (leftOperand == null) {
+          leftOperand = firstOperand;
+        }
+
+        this.operation = operation;
+        result = leftOperand;
+      } else if (calculatorState == CalculatorState.TRANSIENT) { // setting new operation
+        this.operation = operation;
+        result = firstOperand;
+      } else {
+        throw new IllegalStateException("Unsupported CalculatorState: " + calculatorState);
+      }
+    } else if (operation.getType() == ArithmeticOperationType.UNARY) { // Unary operation
+      result = calculate(operation, firstOperand, null);
+    } else if (operation.getType() == ArithmeticOperationType.PERCENT) { // Percent operation
+      if (firstOperand == null) { // setting percent operation and saving prevOperation
+        prevOperation = this.operation;
+        this.operation = operation;
+        result = leftOperand;
+      }else if (leftOperand != null) { // calculating percent result and
+        rightOperand = firstOperand;
+        if (calculatorState == CalculatorState.TRANSIENT) {
+          calculatorState = CalculatorState.RIGHT;
+        }
+
+        result = calculate(operation, leftOperand, rightOperand);
+      } else {
+        result = BigDecimal.ZERO;
+      }
+    } else {
+      throw new IllegalStateException("Unsupported ArithmeticOperationType: " + operation.getType());
+    }
+    releasePendingNumbers();
+    return result;
+  }
+
+  /**
+   * Calculate if we already make operation and we want to add new operand and get result
+   *
+   * @param firstOperand operand that we add to calculation
+   * @return result of calculation
+   */
+  public BigDecimal calculate(BigDecimal firstOperand) throws CalculatorException {
+    return calculate(null, firstOperand);
+  }
+
+  /**
+   * Use if want to set operation and calculate if we need it because of current {@link CalculatorState}
+   *
+   * @param operation {@link ArithmeticOperation} that we set
+   * @return result of calculation
+   */
+  public BigDecimal calculate(ArithmeticOperation operation) throws CalculatorException {
+    return calculate(operation, null);
+  }
+
+  /**
+   * Calculating of memory operations
+   *
+   * @param operation    {@link MemoryOperation} that have to be calculated
+   * @param firstOperand {@link BigDecimal} which we have to perform the operation
+   * @return result of calculation
+   */
+  public BigDecimal calculateMemory(MemoryOperation operation, BigDecimal firstOperand) throws CalculatorException {
+    if (firstOperand == null) {
+      if (calculatorState == CalculatorState.RIGHT) {
+        firstOperand = rightOperand;
+      } else {
+        firstOperand = leftOperand;
+      }
+    }
+
+    if (operation == MemoryOperation.MEMORY_ADD) {
+      memoryAdd(firstOperand);
+    } else if (operation == MemoryOperation.MEMORY_SUB) {
+      memorySub(firstOperand);
+    } else if (operation == MemoryOperation.MEMORY_CLEAR) {
+      memoryClear();
+    } else {
+      memory = firstOperand;
+    }
+    releasePendingNumbers();
+    return memory;
+  }
+
+  /**
+   * {@code calculateMemory} method, when operand is null, because we don't need them(MC or MR) or we set that earlier
+   *
+   * @param operation {@link MemoryOperation} that have to be calculated
+   * @return result of calculation
+   */
+  public BigDecimal calculateMemory(MemoryOperation operation) throws CalculatorException {
+    return calculateMemory(operation, null);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Immutable state of {@link CalculatorModel}. Snapshot can be shared between threads without locks, every thread
+ * gets next state with {@link CalculatorModel#next(CalculatorSnapshot, CalculatorInput)}.
+ *
+ * @author ozgreat
+ * @see CalculatorModel#getSnapshot()
+ * @see CalculatorInput
+ */
+public final class CalculatorSnapshot {
+  /**
+   * State of new {@link CalculatorModel}
+   */
+  public static final CalculatorSnapshot INITIAL = new CalculatorModel().getSnapshot();
+
+  /**
+   * Left operand of binary and percent operations
+   */
+  private final BigDecimal leftOperand;
+
+  /**
+   * Right operand of binary and percent operations
+   */
+  private final BigDecimal rightOperand;
+
+  /**
+   * Memory cell in calculator
+   */
+  private final BigDecimal memory;
+
+  /**
+   * {@link ArithmeticOperation}, that user will be use
+   */
+  private final ArithmeticOperation operation;
+
+  /**
+   * {@link ArithmeticOperation}, that user before current
+   */
+  private final ArithmeticOperation prevOperation;
+
+  /**
+   * State of calculator
+   */
+  private final CalculatorState calculatorState;
+
+  /**
+   * Mode of calculation
+   */
+  private final CalculationMode calculationMode;
+
+  /**
+   * Result of input, that gave this state, null if there wasn't result
+   */
+  private final BigDecimal result;
+
+  /**
+   * Approximate numbers of {@link CalculationMode#ADAPTIVE_PRECISION} mode
+   */
+  private final Map<BigDecimal, AdaptiveDecimal> pendingNumbers;
+
+  /**
+   * Fractions of {@link CalculationMode#EXACT_RATIONAL} mode
+   */
+  private final Map<BigDecimal, Fraction> rationalNumbers;
+
+  /**
+   * Unary operations, that gave current operand
+   */
+  private final UnaryHistory unaryHistory;
+
+  CalculatorSnapshot(BigDecimal leftOperand, BigDecimal rightOperand, BigDecimal memory,
+                     ArithmeticOperation operation, ArithmeticOperation prevOperation,
+                     CalculatorState calculatorState, CalculationMode calculationMode, BigDecimal result,
+                     Map<BigDecimal, AdaptiveDecimal> pendingNumbers, Map<BigDecimal, Fraction> rationalNumbers,
+                     UnaryHistory unaryHistory) {
+    this.leftOperand = leftOperand;
+    this.rightOperand = rightOperand;
+    this.memory = memory;
+    this.operation = operation;
+    this.prevOperation = prevOperation;
+    this.calculatorState = calculatorState;
+    this.calculationMode = calculationMode;
+    this.result = result;
+    this.pendingNumbers = copy(pendingNumbers);
+    this.rationalNumbers = copy(rationalNumbers);
+    this.unaryHistory = unaryHistory;
+  }
+
+  private static <T> Map<BigDecimal, T> copy(Map<BigDecimal, T> numbers) {
+    if (numbers.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return Collections.unmodifiableMap(new IdentityHashMap<>(numbers));
+  }
+
+  public BigDecimal getLeftOperand() {
+    return leftOperand;
+  }
+
+  public BigDecimal getRightOperand() {
+    return rightOperand;
+  }
+
+  public BigDecimal getMemory() {
+    return memory;
+  }
+
+  public ArithmeticOperation getOperation() {
+    return operation;
+  }
+
+  public ArithmeticOperation getPrevOperation() {
+    return prevOperation;
+  }
+
+  public CalculatorState getCalculatorState() {
+    return calculatorState;
+  }
+
+  public CalculationMode getCalculationMode() {
+    return calculationMode;
+  }
+
+  public BigDecimal getResult() {
+    return result;
+  }
+
+  Map<BigDecimal, AdaptiveDecimal> getPendingNumbers() {
+    return pendingNumbers;
+  }
+
+  Map<BigDecimal, Fraction> getRationalNumbers() {
+    return rationalNumbers;
+  }
+
+  UnaryHistory getUnaryHistory() {
+    return unaryHistory;
+  }
+}
@@ -0,0 +1,286 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Immutable exact rational number, that is kept as numerator and positive denominator.
+ * <p>
+ * Fraction isn't reduced after every operation: greatest common divisor is found only when denominator becomes twice
+ * longer, than it was after last reduction, or when square root or hash code is calculated.
+ *
+ * @author ozgreat
+ * @see CalculationMode#EXACT_RATIONAL
+ */
+final class Fraction {
+  /**
+   * Zero fraction
+   */
+  static final Fraction ZERO = new Fraction(BigInteger.ZERO, BigInteger.ONE, 0);
+
+  /**
+   * Minimum bit length of denominator, that is reduced
+   */
+  private static final int MIN_REDUCE_BITS = 64;
+
+  /**
+   * Amount of significant digits, that are calculated exactly in representative value of fraction
+   */
+  private static final int REPRESENTATIVE_DIGITS = 20;
+
+  /**
+   * Approximate value of log10(2), to find amount of decimal digits from amount of bits
+   */
+  private static final double LOG_10_2 = 0.30103;
+
+  /**
+   * Numerator, it has sign of fraction
+   */
+  private final BigInteger numerator;
+
+  /**
+   * Denominator, it's always positive
+   */
+  private final BigInteger denominator;
+
+  /**
+   * Bit length of denominator after last reduction
+   */
+  private final int reducedBits;
+
+  private Fraction(BigInteger numerator, BigInteger denominator, int reducedBits) {
+    this.numerator = numerator;
+    this.denominator = denominator;
+    this.reducedBits = reducedBits;
+  }
+
+  /**
+   * Create fraction, that is equal to number
+   *
+   * @param number decimal number
+   * @return new fraction
+   */
+  static Fraction valueOf(BigDecimal number) {
+    if (number.scale() <= 0) {
+      return new Fraction(number.toBigInteger(), BigInteger.ONE, 0);
+    }
+    return of(number.unscaledValue(), BigInteger.TEN.pow(number.scale()), 0);
+  }
+
+  /**
+   * Create fraction and reduce it, if denominator became too long
+   *
+   * @param numerator   numerator of fraction
+   * @param denominator not zero denominator of fraction
+   * @param reducedBits bit length of denominator after last reduction of operands
+   * @return new fraction
+   */
+  private static Fraction of(BigInteger numerator, BigInteger denominator, int reducedBits) {
+    if (denominator.signum() < 0) {
+      numerator = numerator.negate();
+      denominator = denominator.negate();
+    }
+
+    if (denominator.bitLength() > 2 * Math.max(reducedBits, MIN_REDUCE_BITS)) {
+      return reduce(numerator, denominator);
+    }
+    return new Fraction(numerator, denominator, reducedBits);
+  }
+
+  /**
+   * Create fraction from its parts without reduction, like it was kept by {@link SnapshotCodec}
+   *
+   * @param numerator   numerator of fraction
+   * @param denominator positive denominator of fraction
+   * @param reducedBits bit length of denominator after last reduction
+   * @return new fraction
+   */
+  static Fraction restore(BigInteger numerator, BigInteger denominator, int reducedBits) {
+    if (denominator.signum() <= 0) {
+      throw new IllegalArgumentException("Denominator has to be positive: " + denominator);
+    }
+    return new Fraction(numerator, denominator, reducedBits);
+  }
+
+  private static Fraction reduce(BigInteger numerator, BigInteger denominator) {
+    BigInteger gcd = numerator.gcd(denominator);
+    if (gcd.signum() != 0 && !gcd.equals(BigInteger.ONE)) {
+      numerator = numerator.divide(gcd);
+      denominator = denominator.divide(gcd);
+    }
+    return new Fraction(numerator, denominator, denominator.bitLength());
+  }
+
+  private Fraction reduce() {
+    return reduce(numerator, denominator);
+  }
+
+  Fraction add(Fraction other) {
+    if (denominator.equals(other.denominator)) {
+      return of(numerator.add(other.numerator), denominator, Math.max(reducedBits, other.reducedBits));
+    }
+    return of(numerator.multiply(other.denominator).add(other.numerator.multiply(denominator)),
+        denominator.multiply(other.denominator), Math.max(reducedBits, other.reducedBits));
+  }
+
+  Fraction subtract(Fraction other) {
+    return add(other.negate());
+  }
+
+  Fraction multiply(Fraction other) {
+    return of(numerator.multiply(other.numerator), denominator.multiply(other.denominator),
+        Math.max(reducedBits, other.reducedBits));
+  }
+
+  /**
+   * Divide fraction
+   *
+   * @param other not zero divisor
+   * @return quotient
+   */
+  Fraction divide(Fraction other) {
+    return of(numerator.multiply(other.denominator), denominator.multiply(other.numerator),
+        Math.max(reducedBits, other.reducedBits));
+  }
+
+  /**
+   * Reverse fraction
+   *
+   * @return one divided by not zero fraction
+   */
+  Fraction reverse() {
+    return of(denominator, numerator, reducedBits);
+  }
+
+  Fraction negate() {
+    return new Fraction(numerator.negate(), denominator, reducedBits);
+  }
+
+  Fraction pow() {
+    return multiply(this);
+  }
+
+  /**
+   * Calculate square root. Root is exact if numerator and denominator are squares, otherwise it's rounded
+   *
+   * @param mathContext precision and rounding of inexact root
+   * @return root of not negative fraction
+   */
+  Fraction sqrt(MathContext mathContext) {
+    Fraction reduced = reduce();
+    BigInteger numeratorRoot = SquareRoot.sqrt(reduced.numerator);
+    BigInteger denominatorRoot = SquareRoot.sqrt(reduced.denominator);
+
+    if (numeratorRoot.pow(2).equals(reduced.numerator) && denominatorRoot.pow(2).equals(reduced.denominator)) {
+      return new Fraction(numeratorRoot, denominatorRoot, denominatorRoot.bitLength());
+    }
+
+    BigDecimal decimal = toBigDecimal(CalculatorModel.DIVIDE_SCALE);
+    return valueOf(SquareRoot.sqrt(decimal, mathContext));
+  }
+
+  BigInteger getNumerator() {
+    return numerator;
+  }
+
+  BigInteger getDenominator() {
+    return denominator;
+  }
+
+  int getReducedBits() {
+    return reducedBits;
+  }
+
+  int signum() {
+    return numerator.signum();
+  }
+
+  /**
+   * Calculate decimal value of fraction like dividing of numerator by denominator
+   *
+   * @param scale scale of result
+   * @return value, that is rounded half up and has no trailing zeros
+   */
+  BigDecimal toBigDecimal(int scale) {
+    BigDecimal res;
+    if (denominator.equals(BigInteger.ONE)) {
+      res = new BigDecimal(numerator);
+    } else {
+      res = new BigDecimal(numerator).divide(new BigDecimal(denominator), scale, RoundingMode.HALF_UP);
+    }
+    return res.stripTrailingZeros();
+  }
+
+  /**
+   * Get representative decimal value of fraction. It's exact, if fraction is short decimal number. Otherwise its
+   * first {@value #REPRESENTATIVE_DIGITS} significant digits are exact and they are followed by one, so representative
+   * value is rounded, compared with limits of calculator and displayed like exact value of fraction.
+   *
+   * @return representative value without trailing zeros
+   */
+  BigDecimal toRepresentative() {
+    if (numerator.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+
+    BigInteger absNumerator = numerator.abs();
+    int integerDigits = (int) ((absNumerator.bitLength() - denominator.bitLength()) * LOG_10_2);
+    int scale = REPRESENTATIVE_DIGITS + 1 - integerDigits;
+
+    BigInteger[] quotient = divideScaled(absNumerator, scale);
+    int missingDigits = REPRESENTATIVE_DIGITS - new BigDecimal(quotient[0]).precision();
+    if (missingDigits > 0) {
+      scale += missingDigits;
+      quotient = divideScaled(absNumerator, scale);
+    }
+
+    BigInteger unscaled = quotient[0];
+    if (quotient[1].signum() != 0) {
+      unscaled = unscaled.multiply(BigInteger.TEN).add(BigInteger.ONE);
+      scale++;
+    }
+
+    if (numerator.signum() < 0) {
+      unscaled = unscaled.negate();
+    }
+    return new BigDecimal(unscaled, scale).stripTrailingZeros();
+  }
+
+  /**
+   * Divide {@code number * 10^scale} by denominator
+   *
+   * @return quotient and remainder
+   */
+  private BigInteger[] divideScaled(BigInteger number, int scale) {
+    if (scale >= 0) {
+      return number.multiply(BigInteger.TEN.pow(scale)).divideAndRemainder(denominator);
+    }
+    return number.divideAndRemainder(denominator.multiply(BigInteger.TEN.pow(-scale)));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Fraction)) {
+      return false;
+    }
+
+    Fraction other = (Fraction) o;
+    return numerator.multiply(other.denominator).equals(other.numerator.multiply(denominator));
+  }
+
+  @Override
+  public int hashCode() {
+    Fraction reduced = reduce();
+    return 31 * reduced.numerator.hashCode() + reduced.denominator.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return numerator + "/" + denominator;
+  }
+}
@@ -0,0 +1,129 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+
+/**
+ * Util class, that calculates operations on {@link BigDecimal} numbers, which unscaled values fit in {@code long},
+ * with {@code long} arithmetic. Result is the same, that {@link CalculatorModel} gives with {@link BigDecimal}
+ * arithmetic: it's checked for overflow and has no trailing zeros.
+ * <p>
+ * If result doesn't fit in {@code long} or can be too big or too small for calculator, operation isn't calculated
+ * and {@link BigDecimal} arithmetic has to be used.
+ *
+ * @author ozgreat
+ * @see Math#addExact(long, long)
+ * @see Math#multiplyExact(long, long)
+ */
+final class LongDecimal {
+  /**
+   * Maximum amount of digits in unscaled value, which always fits in {@code long}
+   */
+  private static final int MAX_PRECISION = 18;
+
+  /**
+   * Maximum scale of result, that can't be too small for calculator
+   */
+  private static final int MAX_SCALE = 9999;
+
+  /**
+   * Minimum scale of result, that can't be too big for calculator
+   */
+  private static final int MIN_SCALE = -9980;
+
+  /**
+   * Powers of ten, that fit in {@code long}
+   */
+  private static final long[] TEN_POWERS = new long[MAX_PRECISION + 1];
+
+  static {
+    TEN_POWERS[0] = 1;
+    for (int i = 1; i < TEN_POWERS.length; i++) {
+      TEN_POWERS[i] = TEN_POWERS[i - 1] * 10;
+    }
+  }
+
+  private LongDecimal() {
+  }
+
+  /**
+   * Calculate {@link ArithmeticOperation#ADD}, {@link ArithmeticOperation#SUBTRACT}
+   * or {@link ArithmeticOperation#MULTIPLY}
+   *
+   * @param operation operation to calculate
+   * @param left      left operand
+   * @param right     right operand
+   * @return result without trailing zeros or null if it has to be calculated with {@link BigDecimal} arithmetic
+   */
+  static BigDecimal calculate(ArithmeticOperation operation, BigDecimal left, BigDecimal right) {
+    if (operation != ADD && operation != SUBTRACT && operation != MULTIPLY || !isCompact(left) || !isCompact(right)) {
+      return null;
+    }
+
+    long x = getUnscaled(left);
+    long y = getUnscaled(right);
+    long unscaled;
+    long scale;
+
+    try {
+      if (operation == MULTIPLY) {
+        unscaled = Math.multiplyExact(x, y);
+        scale = (long) left.scale() + right.scale();
+      } else {
+        long scaleDifference = (long) left.scale() - right.scale();
+        if (Math.abs(scaleDifference) > MAX_PRECISION) {
+          return null;
+        }
+
+        if (scaleDifference < 0) {
+          x = Math.multiplyExact(x, TEN_POWERS[(int) -scaleDifference]);
+        } else if (scaleDifference > 0) {
+          y = Math.multiplyExact(y, TEN_POWERS[(int) scaleDifference]);
+        }
+
+        unscaled = operation == ADD ? Math.addExact(x, y) : Math.subtractExact(x, y);
+        scale = Math.max(left.scale(), right.scale());
+      }
+    } catch (ArithmeticException e) {
+      return null;
+    }
+
+    if (unscaled == 0) {
+      return BigDecimal.ZERO;
+    }
+
+    while (unscaled % 10 == 0) {
+      unscaled /= 10;
+      scale--;
+    }
+
+    if (scale > MAX_SCALE || scale < MIN_SCALE) {
+      return null;
+    }
+    return BigDecimal.valueOf(unscaled, (int) scale);
+  }
+
+  /**
+   * Check, that unscaled value of number fits in {@code long}
+   *
+   * @param number number to check
+   * @return true if fits, false else
+   */
+  private static boolean isCompact(BigDecimal number) {
+    return number.precision() <= MAX_PRECISION;
+  }
+
+  /**
+   * Get unscaled value of compact number. Integer's value is taken without creating of {@link java.math.BigInteger}
+   *
+   * @param number number, that fits in {@code long}
+   * @return unscaled value
+   */
+  private static long getUnscaled(BigDecimal number) {
+    if (number.scale() == 0) {
+      return number.longValue();
+    }
+    return number.unscaledValue().longValue();
+  }
+}
@@ -0,0 +1,378 @@
+package com.ozgreat.calculator.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of {@link CalculatorSnapshot}. Model compares its numbers by identity, so every number object
+ * is written once to table of numbers and operands, memory and unary history refer to it by index. Number is written
+ * as scale and unscaled value, unscaled value, that fits {@code long}, takes only its significant bytes.
+ * <p>
+ * Pending numbers of {@link CalculationMode#ADAPTIVE_PRECISION} mode are written as their operations and exact leaves,
+ * so nothing is calculated, while snapshot is written. Bounds and exact values of operations aren't written, they are
+ * calculated again on demand.
+ *
+ * @author ozgreat
+ * @see CalculatorSnapshot
+ */
+public final class SnapshotCodec {
+  /**
+   * Index of null in tables of numbers and pending numbers
+   */
+  private static final int NULL_INDEX = 0;
+
+  /**
+   * Cached operations, index is ordinal
+   */
+  private static final ArithmeticOperation[] OPERATIONS = ArithmeticOperation.values();
+
+  private SnapshotCodec() {
+  }
+
+  /**
+   * Write snapshot
+   *
+   * @param snapshot snapshot to write
+   * @param out      output of snapshot
+   * @throws IOException if output can't be written
+   */
+  public static void write(CalculatorSnapshot snapshot, DataOutput out) throws IOException {
+    Map<BigDecimal, Integer> numbers = new IdentityHashMap<>();
+    Map<AdaptiveDecimal, Integer> pending = new IdentityHashMap<>();
+    List<AdaptiveDecimal> pendingOrder = new ArrayList<>();
+
+    List<UnaryHistory> history = new ArrayList<>();
+    for (UnaryHistory h = snapshot.getUnaryHistory(); h != null; h = h.getPrevious()) {
+      history.add(0, h);
+    }
+
+    List<BigDecimal> numberOrder = new ArrayList<>();
+    addNumber(numbers, numberOrder, snapshot.getLeftOperand());
+    addNumber(numbers, numberOrder, snapshot.getRightOperand());
+    addNumber(numbers, numberOrder, snapshot.getMemory());
+    addNumber(numbers, numberOrder, snapshot.getResult());
+    for (BigDecimal number : snapshot.getPendingNumbers().keySet()) {
+      addNumber(numbers, numberOrder, number);
+    }
+    for (BigDecimal number : snapshot.getRationalNumbers().keySet()) {
+      addNumber(numbers, numberOrder, number);
+    }
+    for (UnaryHistory h : history) {
+      addNumber(numbers, numberOrder, h.getOperand());
+      addNumber(numbers, numberOrder, h.getResult());
+    }
+
+    for (AdaptiveDecimal number : snapshot.getPendingNumbers().values()) {
+      addPending(pending, pendingOrder, number);
+    }
+    for (UnaryHistory h : history) {
+      addPending(pending, pendingOrder, h.getPendingOperand());
+    }
+
+    out.writeByte(snapshot.getCalculatorState().ordinal());
+    out.writeByte(snapshot.getCalculationMode().ordinal());
+    writeOperation(out, snapshot.getOperation());
+    writeOperation(out, snapshot.getPrevOperation());
+
+    writeVarLong(out, numberOrder.size());
+    for (BigDecimal number : numberOrder) {
+      writeDecimal(out, number);
+    }
+    writeIndex(out, numbers, snapshot.getLeftOperand());
+    writeIndex(out, numbers, snapshot.getRightOperand());
+    writeIndex(out, numbers, snapshot.getMemory());
+    writeIndex(out, numbers, snapshot.getResult());
+
+    writeVarLong(out, pendingOrder.size());
+    for (AdaptiveDecimal number : pendingOrder) {
+      ArithmeticOperation operation = number.getOperation();
+      writeOperation(out, operation);
+      if (operation == null) {
+        writeDecimal(out, number.getExact());
+      } else {
+        writeIndex(out, pending, number.getLeft());
+        writeIndex(out, pending, number.getRight());
+      }
+    }
+    writeVarLong(out, snapshot.getPendingNumbers().size());
+    for (Map.Entry<BigDecimal, AdaptiveDecimal> entry : snapshot.getPendingNumbers().entrySet()) {
+      writeIndex(out, numbers, entry.getKey());
+      writeIndex(out, pending, entry.getValue());
+    }
+
+    writeVarLong(out, snapshot.getRationalNumbers().size());
+    for (Map.Entry<BigDecimal, Fraction> entry : snapshot.getRationalNumbers().entrySet()) {
+      writeIndex(out, numbers, entry.getKey());
+      writeFraction(out, entry.getValue());
+    }
+
+    writeVarLong(out, history.size());
+    for (UnaryHistory h : history) {
+      writeOperation(out, h.getOperation());
+      writeIndex(out, numbers, h.getOperand());
+      writeIndex(out, numbers, h.getResult());
+      writeIndex(out, pending, h.getPendingOperand());
+      out.writeBoolean(h.getRationalOperand() != null);
+      if (h.getRationalOperand() != null) {
+        writeFraction(out, h.getRationalOperand());
+      }
+    }
+  }
+
+  /**
+   * Read snapshot, that was written by {@link #write(CalculatorSnapshot, DataOutput)}
+   *
+   * @param in input of snapshot
+   * @return new snapshot with the same numbers, operations and states
+   * @throws IOException if input can't be read or has no valid snapshot
+   */
+  public static CalculatorSnapshot read(DataInput in) throws IOException {
+    CalculatorState state = readEnum(CalculatorState.values(), in.readUnsignedByte());
+    CalculationMode mode = readEnum(CalculationMode.values(), in.readUnsignedByte());
+    ArithmeticOperation operation = readOperation(in);
+    ArithmeticOperation prevOperation = readOperation(in);
+
+    BigDecimal[] numbers = new BigDecimal[readLength(in)];
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = readDecimal(in);
+    }
+    BigDecimal left = readIndex(in, numbers);
+    BigDecimal right = readIndex(in, numbers);
+    BigDecimal memory = readIndex(in, numbers);
+    BigDecimal result = readIndex(in, numbers);
+
+    AdaptiveDecimal[] pending = new AdaptiveDecimal[readLength(in)];
+    for (int i = 0; i < pending.length; i++) {
+      ArithmeticOperation pendingOperation = readOperation(in);
+      if (pendingOperation == null) {
+        pending[i] = AdaptiveDecimal.valueOf(readDecimal(in));
+      } else {
+        AdaptiveDecimal pendingLeft = readIndex(in, pending);
+        if (pendingLeft == null) {
+          throw new IOException("Pending operation has no operand");
+        }
+        pending[i] = AdaptiveDecimal.of(pendingOperation, pendingLeft, readIndex(in, pending));
+      }
+    }
+    Map<BigDecimal, AdaptiveDecimal> pendingNumbers = new IdentityHashMap<>();
+    for (int i = readLength(in); i > 0; i--) {
+      pendingNumbers.put(readIndex(in, numbers), readIndex(in, pending));
+    }
+
+    Map<BigDecimal, Fraction> rationalNumbers = new IdentityHashMap<>();
+    for (int i = readLength(in); i > 0; i--) {
+      rationalNumbers.put(readIndex(in, numbers), readFraction(in));
+    }
+
+    UnaryHistory history = null;
+    for (int i = readLength(in); i > 0; i--) {
+      ArithmeticOperation unaryOperation = readOperation(in);
+      BigDecimal operand = readIndex(in, numbers);
+      BigDecimal unaryResult = readIndex(in, numbers);
+      AdaptiveDecimal pendingOperand = readIndex(in, pending);
+      Fraction rationalOperand = in.readBoolean() ? readFraction(in) : null;
+      history = UnaryHistory.append(history, operand, pendingOperand, rationalOperand, unaryOperation, unaryResult);
+    }
+
+    return new CalculatorSnapshot(left, right, memory, operation, prevOperation, state, mode, result, pendingNumbers,
+        rationalNumbers, history);
+  }
+
+  /**
+   * Write long with 7 bits in byte, small positive numbers take one byte
+   *
+   * @param out   output of number
+   * @param value number to write
+   * @throws IOException if output can't be written
+   */
+  public static void writeVarLong(DataOutput out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Read long, that was written by {@link #writeVarLong(DataOutput, long)}
+   *
+   * @param in input of number
+   * @return read number
+   * @throws IOException if input can't be read or number is too long
+   */
+  public static long readVarLong(DataInput in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Variable length number is too long");
+  }
+
+  /**
+   * Write decimal as scale and unscaled value
+   *
+   * @param out    output of number
+   * @param number not null number
+   * @throws IOException if output can't be written
+   */
+  public static void writeDecimal(DataOutput out, BigDecimal number) throws IOException {
+    writeVarLong(out, zigZag(number.scale()));
+    writeInteger(out, number.unscaledValue());
+  }
+
+  /**
+   * Read decimal, that was written by {@link #writeDecimal(DataOutput, BigDecimal)}
+   *
+   * @param in input of number
+   * @return read number
+   * @throws IOException if input can't be read
+   */
+  public static BigDecimal readDecimal(DataInput in) throws IOException {
+    long scale = unZigZag(readVarLong(in));
+    if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+      throw new IOException("Scale is out of range: " + scale);
+    }
+    return new BigDecimal(readInteger(in), (int) scale);
+  }
+
+  /**
+   * Add number and operands of its operation to table, operands are added before number
+   */
+  private static void addPending(Map<AdaptiveDecimal, Integer> pending, List<AdaptiveDecimal> order,
+                                 AdaptiveDecimal number) {
+    Deque<AdaptiveDecimal> stack = new ArrayDeque<>();
+    if (number != null && !pending.containsKey(number)) {
+      stack.push(number);
+    }
+
+    while (!stack.isEmpty()) {
+      AdaptiveDecimal top = stack.peek();
+      AdaptiveDecimal left = top.getLeft();
+      AdaptiveDecimal right = top.getRight();
+
+      if (left != null && !pending.containsKey(left)) {
+        stack.push(left);
+      } else if (right != null && !pending.containsKey(right)) {
+        stack.push(right);
+      } else {
+        stack.pop();
+        if (!pending.containsKey(top)) {
+          order.add(top);
+          pending.put(top, order.size());
+        }
+      }
+    }
+  }
+
+  private static void addNumber(Map<BigDecimal, Integer> numbers, List<BigDecimal> order, BigDecimal number) {
+    if (number != null && !numbers.containsKey(number)) {
+      order.add(number);
+      numbers.put(number, order.size());
+    }
+  }
+
+  private static <T> void writeIndex(DataOutput out, Map<T, Integer> table, T value) throws IOException {
+    writeVarLong(out, value == null ? NULL_INDEX : table.get(value));
+  }
+
+  private static <T> T readIndex(DataInput in, T[] table) throws IOException {
+    long index = readVarLong(in);
+    if (index == NULL_INDEX) {
+      return null;
+    }
+    if (index < 0 || index > table.length) {
+      throw new IOException("Index is out of table: " + index);
+    }
+    return table[(int) index - 1];
+  }
+
+  private static void writeOperation(DataOutput out, ArithmeticOperation operation) throws IOException {
+    out.writeByte(operation == null ? 0 : operation.ordinal() + 1);
+  }
+
+  private static ArithmeticOperation readOperation(DataInput in) throws IOException {
+    int ordinal = in.readUnsignedByte();
+    return ordinal == 0 ? null : readEnum(OPERATIONS, ordinal - 1);
+  }
+
+  private static <T> T readEnum(T[] values, int ordinal) throws IOException {
+    if (ordinal >= values.length) {
+      throw new IOException("Unknown ordinal: " + ordinal);
+    }
+    return values[ordinal];
+  }
+
+  private static void writeFraction(DataOutput out, Fraction fraction) throws IOException {
+    writeInteger(out, fraction.getNumerator());
+    writeInteger(out, fraction.getDenominator());
+    writeVarLong(out, fraction.getReducedBits());
+  }
+
+  private static Fraction readFraction(DataInput in) throws IOException {
+    BigInteger numerator = readInteger(in);
+    BigInteger denominator = readInteger(in);
+    try {
+      return Fraction.restore(numerator, denominator, (int) readVarLong(in));
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Write integer. Integer, that fits {@code long}, is written as variable length number after zero, longer integer
+   * is written as its bytes after their amount plus one
+   */
+  private static void writeInteger(DataOutput out, BigInteger value) throws IOException {
+    if (value.bitLength() < Long.SIZE) {
+      writeVarLong(out, 0);
+      writeVarLong(out, zigZag(value.longValue()));
+    } else {
+      byte[] bytes = value.toByteArray();
+      writeVarLong(out, bytes.length + 1L);
+      out.write(bytes);
+    }
+  }
+
+  private static BigInteger readInteger(DataInput in) throws IOException {
+    long length = readVarLong(in);
+    if (length == 0) {
+      return BigInteger.valueOf(unZigZag(readVarLong(in)));
+    }
+    if (length == 1 || length < 0 || length > Integer.MAX_VALUE) {
+      throw new IOException("Length of integer is out of range: " + length);
+    }
+
+    byte[] bytes = new byte[(int) length - 1];
+    in.readFully(bytes);
+    return new BigInteger(bytes);
+  }
+
+  private static int readLength(DataInput in) throws IOException {
+    long length = readVarLong(in);
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new IOException("Length is out of range: " + length);
+    }
+    return (int) length;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
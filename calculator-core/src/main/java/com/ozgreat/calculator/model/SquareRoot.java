@@ -0,0 +1,113 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Util class, that calculates square root of {@link BigDecimal} with precision, that caller needs.
+ * <p>
+ * Root is found as integer square root of unscaled value, that is shifted to have enough digits. Integer root is
+ * calculated with Newton iteration, which precision is doubled on every step, starting with {@code double} root.
+ * Result is rounded correctly in every {@link java.math.RoundingMode}.
+ *
+ * @author ozgreat
+ * @see BigDecimal#sqrt(MathContext)
+ * @see BigInteger#sqrt()
+ */
+final class SquareRoot {
+  /**
+   * Maximum bit length of number, which root is calculated with {@code double} and corrected
+   */
+  private static final int DOUBLE_BITS = 104;
+
+  private SquareRoot() {
+  }
+
+  /**
+   * Calculate square root of number
+   *
+   * @param number      not negative number
+   * @param mathContext precision and rounding of result, precision mustn't be zero
+   * @return rounded root, zero if number is zero
+   * @throws ArithmeticException if number is negative or precision is unlimited
+   */
+  static BigDecimal sqrt(BigDecimal number, MathContext mathContext) {
+    if (number.signum() < 0 || mathContext.getPrecision() == 0) {
+      throw new ArithmeticException("Can't calculate square root of " + number + " with " + mathContext);
+    } else if (number.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+
+    long shift = 2L * mathContext.getPrecision() + 4 - number.precision();
+    if (shift < 0) {
+      shift = 0;
+    }
+    if ((number.scale() + shift) % 2 != 0) {
+      shift++;
+    }
+
+    BigInteger unscaled = number.unscaledValue().multiply(BigInteger.TEN.pow((int) shift));
+    BigInteger root = sqrt(unscaled);
+    long scale = (number.scale() + shift) / 2;
+
+    if (root.multiply(root).compareTo(unscaled) != 0) { // sticky digit keeps rounding of inexact root correct
+      root = root.multiply(BigInteger.TEN).add(BigInteger.ONE);
+      scale++;
+    }
+
+    return new BigDecimal(root, Math.toIntExact(scale)).round(mathContext);
+  }
+
+  /**
+   * Check, that square root of number has finite amount of digits
+   *
+   * @param number not negative number
+   * @return true if has, false else
+   */
+  static boolean isExact(BigDecimal number) {
+    if (number.signum() == 0) {
+      return true;
+    }
+
+    BigDecimal stripped = number.stripTrailingZeros();
+    BigInteger unscaled = stripped.unscaledValue();
+    if (stripped.scale() % 2 != 0) {
+      unscaled = unscaled.multiply(BigInteger.TEN);
+    }
+
+    BigInteger root = sqrt(unscaled);
+    return root.multiply(root).equals(unscaled);
+  }
+
+  /**
+   * Calculate integer square root. Root of upper half of number's bits is found recursively and one Newton step
+   * doubles amount of its correct bits.
+   *
+   * @param number not negative number
+   * @return the biggest integer, which square isn't bigger than number
+   */
+  static BigInteger sqrt(BigInteger number) {
+    int bitLength = number.bitLength();
+    BigInteger root;
+
+    if (bitLength <= DOUBLE_BITS) {
+      root = BigDecimal.valueOf(Math.sqrt(number.doubleValue())).toBigInteger();
+    } else {
+      int halfShift = (bitLength - DOUBLE_BITS / 2) / 4;
+      root = sqrt(number.shiftRight(2 * halfShift)).shiftLeft(halfShift);
+      root = root.add(number.divide(root)).shiftRight(1);
+    }
+
+    while (root.multiply(root).compareTo(number) > 0) {
+      root = root.subtract(BigInteger.ONE);
+    }
+
+    BigInteger next = root.add(BigInteger.ONE);
+    while (next.multiply(next).compareTo(number) <= 0) {
+      root = next;
+      next = root.add(BigInteger.ONE);
+    }
+    return root;
+  }
+}
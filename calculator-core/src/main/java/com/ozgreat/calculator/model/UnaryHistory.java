@@ -0,0 +1,152 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+
+/**
+ * Unary operations, that were applied to operand one after another, like {@code sqr( √( 5 ) )} in formula. History is
+ * immutable chain from the last operation to the first one, so it can be shared by {@link CalculatorSnapshot}.
+ * <p>
+ * Operation, that is inverse to the last one, is cancelled: operand before the last operation is given back exactly,
+ * without calculation and rounding.
+ *
+ * @author ozgreat
+ * @see CalculatorModel
+ */
+final class UnaryHistory {
+  /**
+   * Maximum amount of operations in history, older operations are forgotten
+   */
+  static final int MAX_DEPTH = 64;
+
+  /**
+   * {@link Map} of operations to operations, that they cancel
+   */
+  private static final Map<ArithmeticOperation, ArithmeticOperation> inverseOperations =
+      new EnumMap<>(ArithmeticOperation.class);
+
+  /**
+   * Operand of operation
+   */
+  private final BigDecimal operand;
+
+  /**
+   * Approximate value of operand in {@link CalculationMode#ADAPTIVE_PRECISION} mode, null if operand is exact
+   */
+  private final AdaptiveDecimal pendingOperand;
+
+  /**
+   * Fraction of operand in {@link CalculationMode#EXACT_RATIONAL} mode, null if operand isn't fraction
+   */
+  private final Fraction rationalOperand;
+
+  /**
+   * Last operation
+   */
+  private final ArithmeticOperation operation;
+
+  /**
+   * Result of operation
+   */
+  private final BigDecimal result;
+
+  /**
+   * History before last operation, null if operation is the first one
+   */
+  private final UnaryHistory previous;
+
+  /**
+   * Amount of operations in history
+   */
+  private final int depth;
+
+  static {
+    inverseOperations.put(NEGATE, NEGATE);
+    inverseOperations.put(REVERSE, REVERSE);
+    inverseOperations.put(POW, SQRT);
+    inverseOperations.put(SQRT, POW);
+  }
+
+  private UnaryHistory(BigDecimal operand, AdaptiveDecimal pendingOperand, Fraction rationalOperand,
+                       ArithmeticOperation operation, BigDecimal result, UnaryHistory previous) {
+    this.operand = operand;
+    this.pendingOperand = pendingOperand;
+    this.rationalOperand = rationalOperand;
+    this.operation = operation;
+    this.result = result;
+    this.previous = previous;
+    this.depth = previous == null ? 1 : previous.depth + 1;
+  }
+
+  /**
+   * Add operation to history. History is continued, if operand is result of its last operation, else new history
+   * is started
+   *
+   * @param history         current history, null if there is no one
+   * @param operand         operand of operation
+   * @param pendingOperand  approximate value of operand, null if operand is exact
+   * @param rationalOperand fraction of operand, null if operand isn't fraction
+   * @param operation       unary operation
+   * @param result          result of operation
+   * @return new history
+   */
+  static UnaryHistory append(UnaryHistory history, BigDecimal operand, AdaptiveDecimal pendingOperand,
+                             Fraction rationalOperand, ArithmeticOperation operation, BigDecimal result) {
+    if (history != null && (!history.isResult(operand) || history.depth >= MAX_DEPTH)) {
+      history = null;
+    }
+    return new UnaryHistory(operand, pendingOperand, rationalOperand, operation, result, history);
+  }
+
+  /**
+   * Check, that number is result of the last operation
+   *
+   * @param number number to check
+   * @return true if is the same object, false else
+   */
+  boolean isResult(BigDecimal number) {
+    return result == number;
+  }
+
+  /**
+   * Check, that operation applied to result of the last operation gives its operand exactly. Square root of square
+   * gives absolute value, so it's cancelled only for not negative operand
+   *
+   * @param operation unary operation
+   * @return true if operation is cancelled, false else
+   */
+  boolean isCancelledBy(ArithmeticOperation operation) {
+    return inverseOperations.get(operation) == this.operation && (operation != SQRT || operand.signum() >= 0);
+  }
+
+  BigDecimal getOperand() {
+    return operand;
+  }
+
+  AdaptiveDecimal getPendingOperand() {
+    return pendingOperand;
+  }
+
+  Fraction getRationalOperand() {
+    return rationalOperand;
+  }
+
+  ArithmeticOperation getOperation() {
+    return operation;
+  }
+
+  BigDecimal getResult() {
+    return result;
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  UnaryHistory getPrevious() {
+    return previous;
+  }
+}
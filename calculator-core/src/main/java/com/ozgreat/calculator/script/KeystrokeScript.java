@@ -0,0 +1,106 @@
+package com.ozgreat.calculator.script;
+
+import com.ozgreat.calculator.controller.CalculatorKey;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ozgreat.calculator.controller.CalculatorKey.*;
+
+/**
+ * Parser of keystroke script: one line of keys, separated by whitespace. Key is number like {@code 12.5}, that is
+ * typed digit by digit, or one of {@code + - × ÷ sqr √ 1/ negate % = C CE ⌫ MC MR M+ M- MS}
+ *
+ * @author ozgreat
+ * @see ScriptRunner
+ * @see CalculatorKey
+ */
+public final class KeystrokeScript {
+  /**
+   * {@link Map} of script's words to keys, except digits and point
+   */
+  private static final Map<String, CalculatorKey> words = new HashMap<>();
+
+  /**
+   * Keys of digits, index is digit
+   */
+  private static final CalculatorKey[] digits = {DIGIT_0, DIGIT_1, DIGIT_2, DIGIT_3, DIGIT_4, DIGIT_5, DIGIT_6,
+      DIGIT_7, DIGIT_8, DIGIT_9};
+
+  static {
+    words.put("+", ADD);
+    words.put("-", SUBTRACT);
+    words.put("×", MULTIPLY);
+    words.put("÷", DIVIDE);
+    words.put("sqr", POW);
+    words.put("√", SQRT);
+    words.put("1/", REVERSE);
+    words.put("negate", NEGATE);
+    words.put("%", PERCENT);
+    words.put("=", EQUALS);
+    words.put("C", CLEAR);
+    words.put("CE", CLEAR_ENTRY);
+    words.put("⌫", BACKSPACE);
+    words.put("MC", MEMORY_CLEAR);
+    words.put("MR", MEMORY_RECALL);
+    words.put("M+", MEMORY_ADD);
+    words.put("M-", MEMORY_SUB);
+    words.put("MS", MEMORY_SAVE);
+  }
+
+  private KeystrokeScript() {
+  }
+
+  /**
+   * Translate script to keys
+   *
+   * @param script line of script
+   * @return keys in order of script, empty if script is blank
+   * @throws IllegalArgumentException if script has unknown word
+   */
+  public static List<CalculatorKey> parse(CharSequence script) {
+    List<CalculatorKey> keys = new ArrayList<>();
+    int i = 0;
+    while (i < script.length()) {
+      if (Character.isWhitespace(script.charAt(i))) {
+        i++;
+        continue;
+      }
+
+      int end = i + 1;
+      while (end < script.length() && !Character.isWhitespace(script.charAt(end))) {
+        end++;
+      }
+      addWord(keys, script.subSequence(i, end).toString());
+      i = end;
+    }
+    return keys;
+  }
+
+  /**
+   * Add keys of one word, number is added digit by digit
+   *
+   * @param keys keys of script
+   * @param word word without whitespaces
+   */
+  private static void addWord(List<CalculatorKey> keys, String word) {
+    CalculatorKey key = words.get(word);
+    if (key != null) {
+      keys.add(key);
+      return;
+    }
+
+    for (int i = 0; i < word.length(); i++) {
+      char symbol = word.charAt(i);
+      if (symbol >= '0' && symbol <= '9') {
+        keys.add(digits[symbol - '0']);
+      } else if (symbol == '.') {
+        keys.add(POINT);
+      } else {
+        throw new IllegalArgumentException("Unknown key in script: " + word);
+      }
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.ozgreat.calculator.script;
+
+import com.ozgreat.calculator.controller.BatchStatistics;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Command line runner of keystroke scripts without window:
+ * <pre>
+ *   java -cp calculator-core.jar com.ozgreat.calculator.script.ScriptMain [file...]
+ * </pre>
+ * Scripts are read line by line from files or from standard input, if there are no files, and display after every
+ * script is written to standard output. Statistics of every input are written to standard error.
+ *
+ * @author ozgreat
+ * @see ScriptRunner
+ */
+public class ScriptMain {
+
+  public static void main(String[] args) throws IOException {
+    ScriptRunner runner = new ScriptRunner();
+    WritableByteChannel output = Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+
+    if (args.length == 0) {
+      report("stdin", runner.run(Channels.newChannel(new FileInputStream(FileDescriptor.in)), output));
+    }
+
+    for (String file : args) {
+      try (FileChannel input = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+        report(file, runner.run(input, output));
+      }
+    }
+  }
+
+  private static void report(String input, BatchStatistics statistics) {
+    System.err.println(input + ": " + statistics);
+  }
+}
@@ -0,0 +1,317 @@
+package com.ozgreat.calculator.script;
+
+import com.ozgreat.calculator.controller.BatchEvaluator;
+import com.ozgreat.calculator.controller.BatchStatistics;
+import com.ozgreat.calculator.controller.CalculatorKey;
+import com.ozgreat.calculator.controller.SequenceResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runner of keystroke scripts from channel to channel. Every line of input is {@link KeystrokeScript}, that is pressed
+ * in new session by {@link BatchEvaluator}, and display after script is written as line of output, in order of lines.
+ * Script with unknown key and script, that was stopped by unexpected error, give line {@code Error: message}.
+ * <p>
+ * Input and output are read and written through byte buffers, lines are cut from input buffer without decoding
+ * of whole input, and results are written, when output buffer is full, so channels are called by big blocks.
+ *
+ * @author ozgreat
+ * @see KeystrokeScript
+ * @see BatchEvaluator
+ */
+public class ScriptRunner {
+  /**
+   * Size of input and output buffers in bytes
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Prefix of line, that is written instead of display, if script can't be pressed
+   */
+  static final String ERROR_PREFIX = "Error: ";
+
+  /**
+   * Evaluator of scripts
+   */
+  private final BatchEvaluator evaluator;
+
+  /**
+   * Create runner, that evaluates scripts on common pool
+   */
+  public ScriptRunner() {
+    this(new BatchEvaluator());
+  }
+
+  /**
+   * @param evaluator evaluator of scripts
+   */
+  public ScriptRunner(BatchEvaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Run every line of input as script and write displays. Channels aren't closed
+   *
+   * @param input  channel of scripts
+   * @param output channel of displays
+   * @return amount of scripts, errors of scripts with unknown key or unexpected error and time of evaluation
+   * @throws IOException if channel can't be read or written
+   */
+  public BatchStatistics run(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+    ScriptIterator scripts = new ScriptIterator(new LineReader(input));
+    LineWriter writer = new LineWriter(output);
+
+    try {
+      BatchStatistics statistics = evaluator.evaluate(
+          StreamSupport.stream(Spliterators.spliteratorUnknownSize(scripts, Spliterator.ORDERED), false),
+          result -> writeResult(writer, scripts, result));
+      writer.flush();
+      return statistics.addErrors(scripts.writtenParseErrors);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void writeResult(LineWriter writer, ScriptIterator scripts, SequenceResult result) {
+    String parseError = scripts.parseErrors.remove(result.getIndex());
+    try {
+      if (parseError != null) {
+        scripts.writtenParseErrors++;
+        writer.writeLine(ERROR_PREFIX + parseError);
+      } else if (result.getError() != null) {
+        writer.writeLine(ERROR_PREFIX + result.getError().getMessage());
+      } else {
+        writer.writeLine(result.getDisplay());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Iterator of parsed scripts. Script with unknown key is replaced with empty one, and its error is kept by index
+   * of script, until result of script is written. Iterator and writer are called in the same thread
+   */
+  private static final class ScriptIterator implements Iterator<List<CalculatorKey>> {
+    /**
+     * Reader of script's lines
+     */
+    private final LineReader reader;
+
+    /**
+     * Errors of scripts, that weren't parsed, by index of script
+     */
+    private final Map<Long, String> parseErrors = new HashMap<>();
+
+    /**
+     * Amount of errors of scripts, that weren't parsed, which were written instead of display
+     */
+    private long writtenParseErrors;
+
+    /**
+     * Next line, null if it isn't read yet or input is over
+     */
+    private String next;
+
+    /**
+     * Index of next script
+     */
+    private long index;
+
+    private ScriptIterator(LineReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        try {
+          next = reader.readLine();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public List<CalculatorKey> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      List<CalculatorKey> keys;
+      try {
+        keys = KeystrokeScript.parse(next);
+      } catch (IllegalArgumentException e) {
+        parseErrors.put(index, e.getMessage());
+        keys = Collections.emptyList();
+      }
+      next = null;
+      index++;
+      return keys;
+    }
+  }
+
+  /**
+   * Reader of UTF-8 lines from channel. Line is decoded straight from input buffer, bytes are copied only for line,
+   * that is cut by end of buffer. Carriage return before line feed is dropped
+   */
+  private static final class LineReader {
+    /**
+     * Channel of lines
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * Buffer of read bytes, that aren't given as lines yet
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Beginning of line, that was cut by end of buffer
+     */
+    private byte[] carry = new byte[256];
+
+    /**
+     * Amount of bytes in carry
+     */
+    private int carryLength;
+
+    private LineReader(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer.flip();
+    }
+
+    /**
+     * Read next line without line separator
+     *
+     * @return line, null if input is over
+     * @throws IOException if channel can't be read
+     */
+    private String readLine() throws IOException {
+      while (true) {
+        byte[] bytes = buffer.array();
+        int start = buffer.position();
+        int end = buffer.limit();
+
+        for (int i = start; i < end; i++) {
+          if (bytes[i] == '\n') {
+            buffer.position(i + 1);
+            if (carryLength == 0) {
+              return decode(bytes, start, i);
+            }
+
+            addToCarry(bytes, start, i);
+            return takeCarry();
+          }
+        }
+
+        addToCarry(bytes, start, end);
+        buffer.clear();
+        int read;
+        do {
+          read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+
+        if (read < 0) {
+          return carryLength == 0 ? null : takeCarry();
+        }
+      }
+    }
+
+    private void addToCarry(byte[] bytes, int from, int to) {
+      int length = to - from;
+      if (carryLength + length > carry.length) {
+        carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+      }
+      System.arraycopy(bytes, from, carry, carryLength, length);
+      carryLength += length;
+    }
+
+    private String takeCarry() {
+      String line = decode(carry, 0, carryLength);
+      carryLength = 0;
+      return line;
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+      if (to > from && bytes[to - 1] == '\r') {
+        to--;
+      }
+      return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Writer of UTF-8 lines to channel, that writes buffer, when it's full
+   */
+  private static final class LineWriter {
+    /**
+     * Channel of lines
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Buffer of bytes, that aren't written yet
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private LineWriter(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Add line and line feed to buffer
+     *
+     * @param line line without line separator
+     * @throws IOException if channel can't be written
+     */
+    private void writeLine(String line) throws IOException {
+      byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+      if (buffer.remaining() <= bytes.length) {
+        flush();
+      }
+
+      if (buffer.remaining() <= bytes.length) {
+        write(ByteBuffer.wrap(bytes));
+      } else {
+        buffer.put(bytes);
+      }
+      buffer.put((byte) '\n');
+    }
+
+    /**
+     * Write all buffered bytes to channel
+     *
+     * @throws IOException if channel can't be written
+     */
+    private void flush() throws IOException {
+      buffer.flip();
+      write(buffer);
+      buffer.clear();
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.ozgreat.calculator.server;
+
+import com.ozgreat.calculator.controller.CalculatorKey;
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.script.KeystrokeScript;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loopback HTTP service of calculator. Server listens only on loopback address and has two endpoints:
+ * <pre>
+ *   POST /calculate {"session": "id", "keys": ["12.5", "×", "2", "="]}
+ *   200 {"session": "id", "display": "25", "formula": "", "exception": false}
+ *
+ *   GET /metrics
+ *   200 {"liveSessions": 1, "compactSessions": 0, ...}
+ * </pre>
+ * Every key is word of {@link KeystrokeScript}, so one string can have several keys like {@code "2 + 2 ="}. Keys are
+ * pressed in {@link CalculatorSession} of id from {@link SessionTable}, session is created on first request.
+ * Bad request gives 400, full table of sessions gives 503, both with {@code {"error": "message"}}.
+ * <p>
+ * Every request is handled in its own virtual thread, so many slow clients don't hold threads of platform, and idle
+ * sessions are deflated by one daemon thread.
+ *
+ * @author ozgreat
+ * @see SessionTable
+ * @see ServerMain
+ */
+public class CalculatorServer {
+  /**
+   * Path of endpoint
+   */
+  static final String CALCULATE_PATH = "/calculate";
+
+  /**
+   * Path of metrics of sessions
+   */
+  static final String METRICS_PATH = "/metrics";
+
+  /**
+   * Table of sessions
+   */
+  private final SessionTable sessions;
+
+  /**
+   * HTTP server
+   */
+  private final HttpServer server;
+
+  /**
+   * Executor of requests
+   */
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Executor of deflation of idle sessions
+   */
+  private final ScheduledExecutorService deflater = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "calculator-session-deflater");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Create server on loopback address, it isn't started
+   *
+   * @param port     port of server, 0 to take any free port
+   * @param sessions table of sessions
+   * @throws IOException if port can't be bound
+   */
+  public CalculatorServer(int port, SessionTable sessions) throws IOException {
+    this.sessions = sessions;
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext(CALCULATE_PATH, this::handle);
+    server.createContext(METRICS_PATH, this::handleMetrics);
+    server.setExecutor(executor);
+  }
+
+  /**
+   * Start handling of requests and deflation of idle sessions
+   */
+  public void start() {
+    long period = Math.max(1, sessions.getIdleTimeout().toMillis() / 2);
+    deflater.scheduleWithFixedDelay(sessions::deflateIdle, period, period, TimeUnit.MILLISECONDS);
+    server.start();
+  }
+
+  /**
+   * Stop server, requests in work are finished in delay
+   *
+   * @param delay maximum time to wait for requests in work
+   */
+  public void stop(Duration delay) {
+    server.stop((int) Math.min(Integer.MAX_VALUE, delay.toSeconds()));
+    deflater.shutdownNow();
+    executor.shutdown();
+  }
+
+  /**
+   * @return port, that server listens
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public SessionTable getSessions() {
+    return sessions;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "POST");
+        respond(exchange, 405, error("Method isn't allowed: " + exchange.getRequestMethod()));
+        return;
+      }
+
+      String id;
+      List<CalculatorKey> keys;
+      try (InputStream body = exchange.getRequestBody()) {
+        Map<?, ?> request = asObject(Json.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+        id = asString(request.get("session"), "session");
+        keys = parseKeys(request.get("keys"));
+      } catch (IllegalArgumentException e) {
+        respond(exchange, 400, error(e.getMessage()));
+        return;
+      }
+
+      String response;
+      try {
+        response = sessions.apply(id, session -> press(id, session, keys));
+      } catch (SessionLimitException e) {
+        respond(exchange, 503, error(e.getMessage()));
+        return;
+      } catch (RuntimeException e) {
+        respond(exchange, 500, error(e.getMessage()));
+        return;
+      }
+      respond(exchange, 200, response);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleMetrics(HttpExchange exchange) throws IOException {
+    try {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "GET");
+        respond(exchange, 405, error("Method isn't allowed: " + exchange.getRequestMethod()));
+        return;
+      }
+      respond(exchange, 200, sessions.getMetrics().toJson());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Press keys in session
+   *
+   * @param id      id of session
+   * @param session session of id
+   * @param keys    keys to press
+   * @return JSON of session's state after keys
+   */
+  private static String press(String id, CalculatorSession session, List<CalculatorKey> keys) {
+    session.press(keys);
+
+    StringBuilder response = new StringBuilder("{\"session\":");
+    Json.quote(response, id).append(",\"display\":");
+    Json.quote(response, session.getDisplay()).append(",\"formula\":");
+    Json.quote(response, session.getFormula()).append(",\"exception\":");
+    return response.append(session.isException()).append('}').toString();
+  }
+
+  private static List<CalculatorKey> parseKeys(Object value) {
+    if (!(value instanceof List)) {
+      throw new IllegalArgumentException("Array of keys is expected");
+    }
+
+    List<CalculatorKey> keys = new ArrayList<>();
+    for (Object key : (List<?>) value) {
+      keys.addAll(KeystrokeScript.parse(asString(key, "key")));
+    }
+    return keys;
+  }
+
+  private static Map<?, ?> asObject(Object value) {
+    if (!(value instanceof Map)) {
+      throw new IllegalArgumentException("Object of request is expected");
+    }
+    return (Map<?, ?>) value;
+  }
+
+  private static String asString(Object value, String name) {
+    if (!(value instanceof String)) {
+      throw new IllegalArgumentException("String of " + name + " is expected");
+    }
+    return (String) value;
+  }
+
+  private static String error(String message) {
+    return Json.quote(new StringBuilder("{\"error\":"), String.valueOf(message)).append('}').toString();
+  }
+
+  private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(bytes);
+    }
+  }
+}
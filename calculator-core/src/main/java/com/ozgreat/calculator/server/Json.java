@@ -0,0 +1,231 @@
+package com.ozgreat.calculator.server;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and writer for requests and responses of {@link CalculatorServer}. Object is read as
+ * {@link Map}, array as {@link List}, string as {@link String}, {@code true} and {@code false} as {@link Boolean},
+ * number as {@link BigDecimal} and {@code null} as null
+ *
+ * @author ozgreat
+ */
+final class Json {
+  /**
+   * Text of JSON
+   */
+  private final String text;
+
+  /**
+   * Index of next char
+   */
+  private int position;
+
+  private Json(String text) {
+    this.text = text;
+  }
+
+  /**
+   * Read JSON value
+   *
+   * @param text text of one JSON value
+   * @return value of JSON
+   * @throws IllegalArgumentException if text isn't valid JSON
+   */
+  static Object parse(String text) {
+    Json json = new Json(text);
+    Object value = json.readValue();
+    json.skipWhitespace();
+    if (json.position != text.length()) {
+      throw json.error("End of JSON");
+    }
+    return value;
+  }
+
+  /**
+   * Add JSON string to builder
+   *
+   * @param builder builder of JSON
+   * @param value   string to quote
+   * @return builder
+   */
+  static StringBuilder quote(StringBuilder builder, String value) {
+    builder.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c == '\n') {
+        builder.append("\\n");
+      } else if (c == '\r') {
+        builder.append("\\r");
+      } else if (c == '\t') {
+        builder.append("\\t");
+      } else if (c < 0x20) {
+        builder.append(String.format("\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"');
+  }
+
+  private Object readValue() {
+    skipWhitespace();
+    if (position == text.length()) {
+      throw error("Value");
+    }
+
+    char c = text.charAt(position);
+    if (c == '{') {
+      return readObject();
+    } else if (c == '[') {
+      return readArray();
+    } else if (c == '"') {
+      return readString();
+    } else if (text.startsWith("true", position)) {
+      position += 4;
+      return Boolean.TRUE;
+    } else if (text.startsWith("false", position)) {
+      position += 5;
+      return Boolean.FALSE;
+    } else if (text.startsWith("null", position)) {
+      position += 4;
+      return null;
+    } else if (c == '-' || (c >= '0' && c <= '9')) {
+      return readNumber();
+    }
+    throw error("Value");
+  }
+
+  private Map<String, Object> readObject() {
+    Map<String, Object> object = new LinkedHashMap<>();
+    position++;
+    skipWhitespace();
+    if (consume('}')) {
+      return object;
+    }
+
+    do {
+      skipWhitespace();
+      if (position == text.length() || text.charAt(position) != '"') {
+        throw error("Name of member");
+      }
+      String name = readString();
+      skipWhitespace();
+      expect(':');
+      object.put(name, readValue());
+      skipWhitespace();
+    } while (consume(','));
+    expect('}');
+    return object;
+  }
+
+  private List<Object> readArray() {
+    List<Object> array = new ArrayList<>();
+    position++;
+    skipWhitespace();
+    if (consume(']')) {
+      return array;
+    }
+
+    do {
+      array.add(readValue());
+      skipWhitespace();
+    } while (consume(','));
+    expect(']');
+    return array;
+  }
+
+  private String readString() {
+    StringBuilder builder = new StringBuilder();
+    position++;
+    while (position < text.length()) {
+      char c = text.charAt(position++);
+      if (c == '"') {
+        return builder.toString();
+      } else if (c != '\\') {
+        builder.append(c);
+      } else if (position == text.length()) {
+        break;
+      } else {
+        builder.append(readEscape(text.charAt(position++)));
+      }
+    }
+    throw error("End of string");
+  }
+
+  private char readEscape(char escaped) {
+    switch (escaped) {
+      case '"':
+      case '\\':
+      case '/':
+        return escaped;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        if (position + 4 > text.length()) {
+          throw error("Unicode escape");
+        }
+        try {
+          char c = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+          position += 4;
+          return c;
+        } catch (NumberFormatException e) {
+          throw error("Unicode escape");
+        }
+      default:
+        throw error("Escape");
+    }
+  }
+
+  private BigDecimal readNumber() {
+    int start = position;
+    position++;
+    while (position < text.length() && "0123456789.eE+-".indexOf(text.charAt(position)) >= 0) {
+      position++;
+    }
+
+    try {
+      return new BigDecimal(text.substring(start, position));
+    } catch (NumberFormatException e) {
+      position = start;
+      throw error("Number");
+    }
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+      position++;
+    }
+  }
+
+  private boolean consume(char c) {
+    if (position < text.length() && text.charAt(position) == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char c) {
+    if (!consume(c)) {
+      throw error("'" + c + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String expected) {
+    return new IllegalArgumentException(expected + " is expected at " + position + " in JSON");
+  }
+}
@@ -0,0 +1,42 @@
+package com.ozgreat.calculator.server;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Command line runner of {@link CalculatorServer}:
+ * <pre>
+ *   java -cp calculator-core.jar com.ozgreat.calculator.server.ServerMain [port [capacity [idle seconds [spill directory]]]]
+ * </pre>
+ * By default server listens port 8080 of loopback address and keeps up to 10000 sessions in memory, that are deflated
+ * after 10 minutes without requests. If spill directory is given, least recently used sessions are written there,
+ * when memory is full, else idle sessions are removed. Server works until process is stopped.
+ *
+ * @author ozgreat
+ * @see CalculatorServer
+ */
+public class ServerMain {
+  private static final int DEFAULT_PORT = 8080;
+
+  private static final int DEFAULT_CAPACITY = 10000;
+
+  private static final long DEFAULT_IDLE_SECONDS = 600;
+
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    int capacity = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CAPACITY;
+    long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_IDLE_SECONDS;
+
+    Duration idleTimeout = Duration.ofSeconds(idleSeconds);
+    SessionTable sessions = args.length > 3
+        ? new SessionTable(capacity, idleTimeout, Paths.get(args[3]))
+        : new SessionTable(capacity, idleTimeout);
+
+    CalculatorServer server = new CalculatorServer(port, sessions);
+    server.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(Duration.ofSeconds(1))));
+    System.err.println("Calculator server listens http://localhost:" + server.getPort()
+        + CalculatorServer.CALCULATE_PATH);
+  }
+}
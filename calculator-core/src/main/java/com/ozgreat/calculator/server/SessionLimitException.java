@@ -0,0 +1,15 @@
+package com.ozgreat.calculator.server;
+
+/**
+ * Exception, that is thrown, when new session can't be added to full {@link SessionTable}
+ *
+ * @author ozgreat
+ */
+public class SessionLimitException extends RuntimeException {
+  /**
+   * @param capacity maximum amount of sessions in table
+   */
+  public SessionLimitException(int capacity) {
+    super("Too many sessions: " + capacity);
+  }
+}
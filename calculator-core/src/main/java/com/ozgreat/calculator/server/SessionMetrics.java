@@ -0,0 +1,127 @@
+package com.ozgreat.calculator.server;
+
+import java.util.Locale;
+
+/**
+ * Memory of {@link SessionTable}: amounts of sessions in every form, size of compact forms and amounts of transitions
+ * between forms since table was created
+ *
+ * @author ozgreat
+ * @see SessionTable#getMetrics()
+ */
+public final class SessionMetrics {
+  /**
+   * Amount of sessions in memory, that weren't deflated
+   */
+  private final long liveSessions;
+
+  /**
+   * Amount of sessions in compact form
+   */
+  private final long compactSessions;
+
+  /**
+   * Amount of sessions in spill directory
+   */
+  private final long spilledSessions;
+
+  /**
+   * Sum of lengths of compact forms in bytes
+   */
+  private final long compactBytes;
+
+  /**
+   * Amount of live sessions, that were deflated
+   */
+  private final long deflations;
+
+  /**
+   * Amount of compact sessions, that were inflated
+   */
+  private final long inflations;
+
+  /**
+   * Amount of sessions, that were written to spill directory
+   */
+  private final long spills;
+
+  /**
+   * Amount of sessions, that were read from spill directory
+   */
+  private final long loads;
+
+  SessionMetrics(long liveSessions, long compactSessions, long spilledSessions, long compactBytes, long deflations,
+                 long inflations, long spills, long loads) {
+    this.liveSessions = liveSessions;
+    this.compactSessions = compactSessions;
+    this.spilledSessions = spilledSessions;
+    this.compactBytes = compactBytes;
+    this.deflations = deflations;
+    this.inflations = inflations;
+    this.spills = spills;
+    this.loads = loads;
+  }
+
+  public long getLiveSessions() {
+    return liveSessions;
+  }
+
+  public long getCompactSessions() {
+    return compactSessions;
+  }
+
+  public long getSpilledSessions() {
+    return spilledSessions;
+  }
+
+  public long getCompactBytes() {
+    return compactBytes;
+  }
+
+  public long getDeflations() {
+    return deflations;
+  }
+
+  public long getInflations() {
+    return inflations;
+  }
+
+  public long getSpills() {
+    return spills;
+  }
+
+  public long getLoads() {
+    return loads;
+  }
+
+  /**
+   * Get average memory of idle session
+   *
+   * @return average length of compact form in bytes, zero if there are no compact sessions
+   */
+  public double getBytesPerCompactSession() {
+    if (compactSessions == 0) {
+      return 0;
+    }
+    return compactBytes / (double) compactSessions;
+  }
+
+  /**
+   * Write metrics as JSON object
+   *
+   * @return JSON object with all metrics
+   */
+  String toJson() {
+    return String.format(Locale.ROOT, "{\"liveSessions\":%d,\"compactSessions\":%d,\"spilledSessions\":%d,"
+            + "\"compactBytes\":%d,\"bytesPerCompactSession\":%.1f,\"deflations\":%d,\"inflations\":%d,"
+            + "\"spills\":%d,\"loads\":%d}",
+        liveSessions, compactSessions, spilledSessions, compactBytes, getBytesPerCompactSession(), deflations,
+        inflations, spills, loads);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d live, %d compact (%.1f bytes/session), %d spilled sessions", liveSessions,
+        compactSessions, getBytesPerCompactSession(), spilledSessions);
+  }
+}
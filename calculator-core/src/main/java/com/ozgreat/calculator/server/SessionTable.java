@@ -0,0 +1,500 @@
+package com.ozgreat.calculator.server;
+
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.controller.SessionCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded table of {@link CalculatorSession} by id. Session is created on first access. Session, that wasn't accessed
+ * longer than idle timeout, is kept in compact form of {@link SessionCodec}, and it's inflated on next access.
+ * Accesses to one session are done one by one, accesses to different sessions are done in parallel.
+ * <p>
+ * When new session doesn't fit, least recently used sessions are written to spill directory, and they are read back
+ * on access. Without spill directory idle sessions are removed instead, and new session is rejected, if there are no
+ * idle sessions.
+ * <p>
+ * Locks are {@link ReentrantLock}, not monitors, so virtual thread, that waits for its session, doesn't pin its
+ * carrier thread.
+ *
+ * @author ozgreat
+ * @see CalculatorServer
+ * @see SessionMetrics
+ */
+public class SessionTable {
+  /**
+   * Extension of spilled session's file
+   */
+  private static final String SPILL_EXTENSION = ".session";
+
+  /**
+   * Part of capacity, that is freed at once, when table is full, so sessions aren't sorted for every new session
+   */
+  private static final int FREED_PART = 16;
+
+  /**
+   * Sessions in memory by id
+   */
+  private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+
+  /**
+   * Lock of adding of new sessions, so amount of sessions doesn't exceed capacity
+   */
+  private final ReentrantLock addLock = new ReentrantLock();
+
+  /**
+   * Maximum amount of sessions in memory
+   */
+  private final int capacity;
+
+  /**
+   * Time in nanoseconds, after which session without access is deflated
+   */
+  private final long idleNanos;
+
+  /**
+   * Directory of spilled sessions, null if sessions aren't spilled
+   */
+  private final Path spillDirectory;
+
+  /**
+   * Source of current time in nanoseconds
+   */
+  private final LongSupplier nanoTime;
+
+  /**
+   * Amount of sessions in compact form
+   */
+  private final AtomicLong compactSessions = new AtomicLong();
+
+  /**
+   * Sum of lengths of compact forms
+   */
+  private final AtomicLong compactBytes = new AtomicLong();
+
+  /**
+   * Amount of sessions in spill directory
+   */
+  private final AtomicLong spilledSessions = new AtomicLong();
+
+  /**
+   * Amount of live sessions, that were deflated to compact form
+   */
+  private final AtomicLong deflations = new AtomicLong();
+
+  /**
+   * Amount of compact sessions, that were inflated on access
+   */
+  private final AtomicLong inflations = new AtomicLong();
+
+  /**
+   * Amount of sessions, that were written to spill directory
+   */
+  private final AtomicLong spills = new AtomicLong();
+
+  /**
+   * Amount of sessions, that were read from spill directory
+   */
+  private final AtomicLong loads = new AtomicLong();
+
+  /**
+   * Create table, that removes idle sessions, when it's full
+   *
+   * @param capacity    positive maximum amount of sessions
+   * @param idleTimeout positive time, after which session without access is deflated
+   */
+  public SessionTable(int capacity, Duration idleTimeout) {
+    this(capacity, idleTimeout, null, System::nanoTime);
+  }
+
+  /**
+   * Create table, that spills least recently used sessions, when it's full. Sessions, that were spilled to directory
+   * before, are read on access
+   *
+   * @param capacity       positive maximum amount of sessions in memory
+   * @param idleTimeout    positive time, after which session without access is deflated
+   * @param spillDirectory directory of spilled sessions, it's created if it doesn't exist
+   * @throws IOException if directory can't be created or listed
+   */
+  public SessionTable(int capacity, Duration idleTimeout, Path spillDirectory) throws IOException {
+    this(capacity, idleTimeout, spillDirectory, System::nanoTime);
+
+    Files.createDirectories(spillDirectory);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + SPILL_EXTENSION)) {
+      for (Path ignored : files) {
+        spilledSessions.incrementAndGet();
+      }
+    }
+  }
+
+  SessionTable(int capacity, Duration idleTimeout, Path spillDirectory, LongSupplier nanoTime) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity has to be positive: " + capacity);
+    }
+    if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+      throw new IllegalArgumentException("Idle timeout has to be positive: " + idleTimeout);
+    }
+    this.capacity = capacity;
+    this.idleNanos = idleTimeout.toNanos();
+    this.spillDirectory = spillDirectory;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Apply function to session with id, while no other access to this session is done. Session is inflated or read
+   * from spill directory, if it isn't in memory, and it's created, if there is no session with id
+   *
+   * @param id       id of session
+   * @param function function of session, that is called in thread of caller
+   * @param <T>      type of function's result
+   * @return result of function
+   * @throws SessionLimitException if session isn't in memory, and table is full of sessions, that can't be freed
+   * @throws UncheckedIOException  if spilled session can't be read or written
+   */
+  public <T> T apply(String id, Function<CalculatorSession, T> function) {
+    while (true) {
+      Entry entry = sessions.get(id);
+      if (entry == null) {
+        entry = add(id);
+      }
+
+      entry.lock.lock();
+      try {
+        if (!entry.isRemoved) { // else entry was freed, while this thread waited for it
+          T result = function.apply(inflate(entry));
+          entry.lastAccess = nanoTime.getAsLong();
+          return result;
+        }
+      } finally {
+        entry.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Deflate sessions, that weren't accessed longer than idle timeout. Session, that is in use now, isn't deflated
+   *
+   * @return amount of deflated sessions
+   */
+  public int deflateIdle() {
+    long now = nanoTime.getAsLong();
+    int deflated = 0;
+
+    for (Entry entry : sessions.values()) {
+      if (entry.session != null && isIdle(entry, now) && entry.lock.tryLock()) {
+        try {
+          if (!entry.isRemoved && entry.session != null && isIdle(entry, now)) {
+            entry.compact = SessionCodec.encode(entry.session);
+            entry.session = null;
+            compactSessions.incrementAndGet();
+            compactBytes.addAndGet(entry.compact.length);
+            deflations.incrementAndGet();
+            deflated++;
+          }
+        } finally {
+          entry.lock.unlock();
+        }
+      }
+    }
+    return deflated;
+  }
+
+  /**
+   * Remove session with id from memory and from spill directory
+   *
+   * @param id id of session
+   * @return true if session was removed, false if there was no session with id
+   * @throws UncheckedIOException if spilled session can't be deleted
+   */
+  public boolean remove(String id) {
+    boolean isRemoved = false;
+    Entry entry = sessions.get(id);
+    if (entry != null) {
+      entry.lock.lock();
+      try {
+        if (!entry.isRemoved) {
+          free(entry);
+          isRemoved = true;
+        }
+      } finally {
+        entry.lock.unlock();
+      }
+    }
+
+    if (spillDirectory != null) {
+      addLock.lock(); // session isn't read from directory, while it's deleted
+      try {
+        if (Files.deleteIfExists(spillFile(id))) {
+          spilledSessions.decrementAndGet();
+          isRemoved = true;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        addLock.unlock();
+      }
+    }
+    return isRemoved;
+  }
+
+  /**
+   * @return amount of sessions in memory
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public Duration getIdleTimeout() {
+    return Duration.ofNanos(idleNanos);
+  }
+
+  /**
+   * @return current amounts of sessions in every form and sizes of compact forms
+   */
+  public SessionMetrics getMetrics() {
+    long compact = compactSessions.get();
+    return new SessionMetrics(sessions.size() - compact, compact, spilledSessions.get(), compactBytes.get(),
+        deflations.get(), inflations.get(), spills.get(), loads.get());
+  }
+
+  /**
+   * Get session of entry, that is locked by caller, compact or spilled session is inflated
+   */
+  private CalculatorSession inflate(Entry entry) {
+    if (entry.session == null) {
+      try {
+        if (entry.compact == null) {
+          entry.session = readSpilled(entry.id);
+          loads.incrementAndGet();
+        } else {
+          entry.session = SessionCodec.decode(entry.compact);
+          compactSessions.decrementAndGet();
+          compactBytes.addAndGet(-entry.compact.length);
+          entry.compact = null;
+          inflations.incrementAndGet();
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return entry.session;
+  }
+
+  /**
+   * Add entry of session. If table is full, least recently used sessions are freed first
+   *
+   * @param id id of session
+   * @return entry with id, that is new or was added by other thread
+   * @throws SessionLimitException if table is full of sessions, that can't be freed
+   */
+  private Entry add(String id) {
+    addLock.lock();
+    try {
+      Entry entry = sessions.get(id);
+      if (entry != null) {
+        return entry;
+      }
+
+      if (sessions.size() >= capacity && freeLeastRecent() == 0) {
+        throw new SessionLimitException(capacity);
+      }
+
+      entry = new Entry(id, nanoTime.getAsLong());
+      if (spillDirectory == null || !Files.exists(spillFile(id))) {
+        entry.session = new CalculatorSession();
+      } // else session is read from directory, when entry is locked
+      sessions.put(id, entry);
+      return entry;
+    } finally {
+      addLock.unlock();
+    }
+  }
+
+  /**
+   * Free part of capacity from least recently used sessions, that aren't in use. Sessions are spilled, if there is
+   * spill directory, else only idle sessions are removed
+   *
+   * @return amount of freed sessions
+   */
+  private int freeLeastRecent() {
+    long now = nanoTime.getAsLong();
+    List<Entry> candidates = new ArrayList<>();
+    for (Entry entry : sessions.values()) {
+      if (spillDirectory != null || isIdle(entry, now)) {
+        candidates.add(entry);
+      }
+    }
+    candidates.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+
+    int target = Math.max(1, capacity / FREED_PART);
+    int freed = 0;
+    for (int i = 0; i < candidates.size() && freed < target; i++) {
+      Entry entry = candidates.get(i);
+      if (entry.lock.tryLock()) {
+        try {
+          if (!entry.isRemoved) {
+            if (spillDirectory != null) {
+              spill(entry);
+            }
+            free(entry);
+            freed++;
+          }
+        } finally {
+          entry.lock.unlock();
+        }
+      }
+    }
+    return freed;
+  }
+
+  /**
+   * Remove entry, that is locked by caller, from memory
+   */
+  private void free(Entry entry) {
+    if (entry.compact != null) {
+      compactSessions.decrementAndGet();
+      compactBytes.addAndGet(-entry.compact.length);
+    }
+    entry.isRemoved = true;
+    sessions.remove(entry.id, entry);
+  }
+
+  /**
+   * Write session of entry, that is locked by caller, to spill directory. File is written fully before it's moved to
+   * its name, so file of session is never cut
+   */
+  private void spill(Entry entry) {
+    if (entry.session == null && entry.compact == null) {
+      return; // session wasn't read from directory yet
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeUTF(entry.id);
+      out.write(entry.compact != null ? entry.compact : SessionCodec.encode(entry.session));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Array can't fail to be written", e);
+    }
+
+    Path file = spillFile(entry.id);
+    try {
+      Path temporary = Files.createTempFile(spillDirectory, null, ".tmp");
+      Files.write(temporary, bytes.toByteArray());
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    spilledSessions.incrementAndGet();
+    spills.incrementAndGet();
+  }
+
+  /**
+   * Read spilled session and delete its file
+   */
+  private CalculatorSession readSpilled(String id) throws IOException {
+    Path file = spillFile(id);
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file);
+    } catch (NoSuchFileException e) {
+      return new CalculatorSession(); // session was removed, while entry was added
+    }
+
+    CalculatorSession session;
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      if (!in.readUTF().equals(id)) {
+        throw new IOException("File of session " + id + " has session of other id: " + file);
+      }
+      session = SessionCodec.decode(in.readAllBytes());
+    }
+
+    Files.delete(file);
+    spilledSessions.decrementAndGet();
+    return session;
+  }
+
+  /**
+   * Get file of spilled session. Name of file is hash of id, so any id gives valid name
+   */
+  private Path spillFile(String id) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(hash.length * 2 + SPILL_EXTENSION.length());
+      for (byte b : hash) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return spillDirectory.resolve(name.append(SPILL_EXTENSION).toString());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+    }
+  }
+
+  private boolean isIdle(Entry entry, long now) {
+    return now - entry.lastAccess >= idleNanos;
+  }
+
+  /**
+   * Session of table with its lock and time of last access. Session is in one of forms: live session, compact form
+   * or file in spill directory, when both are null
+   */
+  private static final class Entry {
+    private final String id;
+
+    /**
+     * Live session, null if session is deflated or spilled
+     */
+    private CalculatorSession session;
+
+    /**
+     * Compact form of session, null if session is live or spilled
+     */
+    private byte[] compact;
+
+    /**
+     * Lock, that is held by access to session
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Time of last access in nanoseconds
+     */
+    private volatile long lastAccess;
+
+    /**
+     * True when entry was removed from table, it's changed with held lock
+     */
+    private boolean isRemoved;
+
+    private Entry(String id, long lastAccess) {
+      this.id = id;
+      this.lastAccess = lastAccess;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+module calculator.core {
+  requires jdk.httpserver;
+
+  exports com.ozgreat.calculator.controller;
+  exports com.ozgreat.calculator.model;
+  exports com.ozgreat.calculator.script;
+  exports com.ozgreat.calculator.server;
+}
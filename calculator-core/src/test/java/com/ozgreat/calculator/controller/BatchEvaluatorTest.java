@@ -0,0 +1,71 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchEvaluatorTest {
+  private static final CalculatorKey[] KEYS = CalculatorKey.values();
+
+  @Test
+  void patternTest() {
+    List<String> patterns = List.of("2+=", "1/3= R ", "5/0=", "4 M+ M+ MR ", "12 - 52 C 123 <-<-<- + 125.4 R");
+    List<SequenceResult> results = new ArrayList<>();
+
+    BatchStatistics statistics = new BatchEvaluator().evaluate(
+        patterns.stream().map(CalculatorSessionTest::translatePattern), results::add);
+
+    assertEquals(5, statistics.getSequences());
+    assertEquals(0, statistics.getErrors());
+    assertEquals(List.of("4", "3", "Cannot divide by zero", "8", "0.0079744816586922"),
+        results.stream().map(SequenceResult::getDisplay).collect(Collectors.toList()));
+    assertTrue(results.get(2).isException());
+  }
+
+  @Test
+  void orderTest() {
+    Random random = new Random(7);
+    List<List<CalculatorKey>> sequences = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      List<CalculatorKey> sequence = new ArrayList<>();
+      int length = random.nextInt(20);
+      for (int j = 0; j < length; j++) {
+        sequence.add(KEYS[random.nextInt(KEYS.length)]);
+      }
+      sequences.add(sequence);
+    }
+
+    List<SequenceResult> results = new ArrayList<>();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    BatchStatistics statistics = new BatchEvaluator(pool, 50).evaluate(sequences.stream(), results::add);
+    pool.shutdown();
+
+    assertEquals(sequences.size(), statistics.getSequences());
+    assertEquals(sequences.size(), results.size());
+    assertTrue(statistics.getSequencesPerSecond() > 0);
+
+    for (int i = 0; i < sequences.size(); i++) {
+      SequenceResult expected = BatchEvaluator.evaluate(i, sequences.get(i));
+      SequenceResult actual = results.get(i);
+
+      assertEquals(i, actual.getIndex());
+      assertEquals(expected.getDisplay(), actual.getDisplay());
+      assertEquals(expected.getFormula(), actual.getFormula());
+      assertEquals(expected.isException(), actual.isException());
+    }
+  }
+
+  @Test
+  void emptyTest() {
+    BatchStatistics statistics = new BatchEvaluator().evaluate(Stream.empty(), result -> fail());
+    assertEquals(0, statistics.getSequences());
+    assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator(ForkJoinPool.commonPool(), 0));
+  }
+}
@@ -0,0 +1,243 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculatorSessionTest {
+  private static final Map<String, CalculatorKey> operations = new HashMap<>();
+
+  static {
+    operations.put("C", CalculatorKey.CLEAR);
+    operations.put("CE", CalculatorKey.CLEAR_ENTRY);
+    operations.put("<-", CalculatorKey.BACKSPACE);
+    operations.put("+", CalculatorKey.ADD);
+    operations.put("-", CalculatorKey.SUBTRACT);
+    operations.put("*", CalculatorKey.MULTIPLY);
+    operations.put("/", CalculatorKey.DIVIDE);
+    operations.put("R", CalculatorKey.REVERSE);
+    operations.put("^", CalculatorKey.POW);
+    operations.put("√", CalculatorKey.SQRT);
+    operations.put("±", CalculatorKey.NEGATE);
+    operations.put("=", CalculatorKey.EQUALS);
+    operations.put("%", CalculatorKey.PERCENT);
+    operations.put("M+", CalculatorKey.MEMORY_ADD);
+    operations.put("M-", CalculatorKey.MEMORY_SUB);
+    operations.put("MS", CalculatorKey.MEMORY_SAVE);
+    operations.put("MC", CalculatorKey.MEMORY_CLEAR);
+    operations.put("MR", CalculatorKey.MEMORY_RECALL);
+  }
+
+  private CalculatorSession session;
+
+  @BeforeEach
+  void before() {
+    session = new CalculatorSession();
+  }
+
+  @Test
+  void operationsTest() {
+    checkOperations("2+=", "4");
+    checkOperations("1/3= R ", "1/( 0.3333333333333333 )", "3");
+    checkOperations("200+4% R R ^ √", "200 + 8 √(sqr(1/(1/( 8 ) ) ) )", "8");
+    checkOperations("1 + 34 = C 123 ± + 3 % * -100 + 123.4 + 6 ^ - 90 R",
+        "-123 + -3.69 - 100 + 123.4 + sqr( 6 ) - 1/( 90 )", "0.0111111111111111");
+    checkOperations("12 - 52 C 123 <-<-<- + 125.4 R + 23 ^ - 89 √ * 71 - 1± %", "-368.8975352782175");
+    checkOperations("83 + 2 = C 21 - √ * 90 ^ + 8 R - %", "289,340,525.2501563");
+    checkOperations("1.5<-<-<-", "0");
+    checkOperations("1.50<-", "1.5");
+  }
+
+  @Test
+  void unaryAfterEqualsTest() {
+    checkOperations("3 = = ±", "negate( 3 )", "-3");
+    checkOperations("9.48 ± = ±", "negate( -9.48 )", "9.48");
+    checkOperations("12 √ = ± ^", "sqr(negate( 3.464101615137755 ) )", "12");
+    checkOperations("5 = = ^", "sqr( 5 )", "25");
+    checkOperations("5 = MS MR +", "5 +", "5");
+  }
+
+  @Test
+  void memoryTest() {
+    memoryCheck("4 M+ M+ MR ", "8");
+    memoryCheck("1 M- M- / MR=", "-0.5");
+    memoryCheck("1/2+ 3+ 4- 5* M+ MR=", "6.25");
+    memoryCheck("3+ 23 M- M- M- M- M-=/MR=", "-0.2260869565217391");
+    memoryCheck("9999999999999999 MS M+ MR", "2.E+16");
+  }
+
+  @Test
+  void exceptionTest() {
+    checkErrorOp("5/0=", "Cannot divide by zero");
+    checkErrorOp("0/0=", "Result is undefined");
+    checkErrorOp("5±√", "Invalid input");
+    checkErrorOp("1/0= + - √ MS", "Cannot divide by zero");
+
+    press("5/0= 7");
+    assertFalse(session.isException());
+    assertEquals("7", session.getDisplay());
+    assertEquals("", session.getFormula());
+  }
+
+  @Test
+  void refineTest() {
+    session.setLatencyBudget(1);
+    press("2 √ √ √");
+    String approximate = session.getDisplay();
+    assertEquals("1.090507732665258", approximate);
+
+    CompletableFuture<String> refined = session.refinedDisplay();
+    if (refined != null) { // display of exact root is the same
+      assertEquals(approximate, refined.join());
+    }
+
+    session.refine("1.0905077326652577", "1.090507732665258");
+    assertEquals(approximate, session.getDisplay());
+    session.refine(approximate, "1.0905077326652577");
+    assertEquals("1.0905077326652577", session.getDisplay());
+  }
+
+  @Test
+  void repeatedKeysTest() {
+    checkRepeated("2= ^^^^^");
+    checkRepeated("1= ^^^^^^^^^^^^^^^^");
+    checkRepeated("7/9= √√√√ ^^^ + 3 ^^");
+    checkRepeated("5± = √√√ C 3 ^^ MS = ^^^^ MR ^^");
+    checkRepeated("0.1 *= ^^^^^^^^^^^^^^ ^^^");
+    checkRepeated("9999999999999999 *= ^^^^^^^^^^^^^^^ ^^");
+
+    Random random = new Random(18);
+    CalculatorKey[] keys = {CalculatorKey.SQRT, CalculatorKey.POW, CalculatorKey.EQUALS, CalculatorKey.ADD,
+        CalculatorKey.NEGATE, CalculatorKey.fromText("3"), CalculatorKey.fromText("7"), CalculatorKey.CLEAR};
+    for (int i = 0; i < 200; i++) {
+      List<CalculatorKey> sequence = new ArrayList<>();
+      while (sequence.size() < 30) {
+        CalculatorKey key = keys[random.nextInt(keys.length)];
+        int repetitions = random.nextInt(4) + 1;
+        for (int j = 0; j < repetitions; j++) {
+          sequence.add(key);
+        }
+      }
+      checkRepeated(sequence);
+    }
+  }
+
+  @Test
+  void repeatedEqualsTest() {
+    checkRepeated("2 + 3 ======");
+    checkRepeated("5 * 2 ==========");
+    checkRepeated("7 - 10 === 4 ===");
+    checkRepeated("1 / 3 ======");
+    checkRepeated("1 / 0 ====");
+    checkRepeated("0.5 / 0.1 ========== R ===");
+
+    session.press(translatePattern("9999999999999999 * " + "=".repeat(624)));
+    assertEquals("9.999999999999375E+9999", session.getDisplay());
+    session.press(translatePattern("9999999999999999 * " + "=".repeat(625)));
+    assertTrue(session.isException());
+    assertEquals("Overflow", session.getDisplay());
+  }
+
+  @Test
+  void cancelTest() {
+    checkOperations("3 √ ^", "sqr( √( 3 ) )", "3");
+    checkOperations("3 √ ^ - 3 =", "0");
+    checkOperations("3 R R - 3 =", "0");
+    checkOperations("7 ^ √ ± ± - 7 =", "0");
+    checkOperations("3 √ ^ ^ √ - 3 =", "0");
+    checkOperations("3 ± ^ √", "√( sqr( -3 ) )", "3");
+    checkOperations("3 + 7 √ ^ =", "10");
+    checkOperations("1/3= R R", "1/( 1/( 0.3333333333333333 ) )", "0.3333333333333333");
+    checkOperations("1/3= R R * 3 =", "1");
+    checkErrorOp("3 ± √", "Invalid input");
+  }
+
+  @Test
+  void keyTest() {
+    for (CalculatorKey key : CalculatorKey.values()) {
+      assertSame(key, CalculatorKey.fromText(key.getText()));
+    }
+    assertThrows(IllegalArgumentException.class, () -> CalculatorKey.fromText("sin"));
+  }
+
+  static List<CalculatorKey> translatePattern(String pattern) {
+    List<CalculatorKey> keys = new ArrayList<>();
+    int i = 0;
+    while (i < pattern.length()) {
+      int index = i;
+      String operation = operations.keySet().stream().filter(op -> pattern.startsWith(op, index))
+          .max(Comparator.comparing(String::length)).orElse(null);
+
+      if (operation != null) {
+        keys.add(operations.get(operation));
+        i += operation.length();
+      } else {
+        char c = pattern.charAt(i);
+        if (!Character.isWhitespace(c)) {
+          keys.add(CalculatorKey.fromText(String.valueOf(c)));
+        }
+        i++;
+      }
+    }
+    return keys;
+  }
+
+  private void press(String pattern) {
+    translatePattern(pattern).forEach(session::press);
+  }
+
+  private void checkRepeated(String pattern) {
+    checkRepeated(translatePattern(pattern));
+  }
+
+  /**
+   * Check, that keys pressed together give the same state, that keys pressed one by one give
+   */
+  private void checkRepeated(List<CalculatorKey> keys) {
+    CalculatorSession together = new CalculatorSession();
+    together.press(keys);
+    keys.forEach(session::press);
+
+    assertEquals(session.getDisplay(), together.getDisplay(), keys.toString());
+    assertEquals(session.getFormula(), together.getFormula(), keys.toString());
+    assertEquals(session.isException(), together.isException(), keys.toString());
+    session = new CalculatorSession();
+  }
+
+  private void checkOperations(String pattern, String res) {
+    press(pattern);
+    assertEquals(res, session.getDisplay(), pattern);
+    session.press(CalculatorKey.CLEAR);
+  }
+
+  private void checkOperations(String pattern, String formula, String res) {
+    press(pattern);
+    assertEquals(res, session.getDisplay(), pattern);
+    assertEquals(formula, session.getFormula(), pattern);
+    session.press(CalculatorKey.CLEAR);
+  }
+
+  private void memoryCheck(String pattern, String res) {
+    checkOperations(pattern, "", res);
+    session.press(CalculatorKey.MEMORY_CLEAR);
+    assertTrue(session.isMemoryEmpty());
+  }
+
+  private void checkErrorOp(String pattern, String res) {
+    press(pattern);
+    assertEquals(res, session.getDisplay(), pattern);
+    assertTrue(session.isException());
+    assertTrue(session.isMemoryEmpty());
+    session.press(CalculatorKey.CLEAR);
+    assertFalse(session.isException());
+  }
+}
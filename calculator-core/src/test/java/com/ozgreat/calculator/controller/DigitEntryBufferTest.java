@@ -0,0 +1,77 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DigitEntryBufferTest {
+  @Test
+  void typingTest() throws ParseException {
+    checkTyping("0", "0", "0");
+    checkTyping("0", "00.0", "0.0");
+    checkTyping("0", "5", "5");
+    checkTyping("0", "1234567", "1,234,567");
+    checkTyping("0", ".05", "0.05");
+    checkTyping("0", "900.0", "900.0");
+    checkTyping("0", "1.5.0", "1.50");
+    checkTyping("-5", "3", "-53");
+    checkTyping("-0.", "0", "0.0");
+    checkTyping("-0.", "5", "-0.5");
+    checkTyping("1,234.5", "6", "1,234.56");
+    checkTyping("0", "12345678901234567", "1,234,567,890,123,456");
+    checkTyping("0", ".00000000000000012", "0.0000000000000001");
+  }
+
+  @Test
+  void loadTest() {
+    DigitEntryBuffer entry = new DigitEntryBuffer();
+    assertTrue(entry.load("-1,234.50"));
+    assertTrue(entry.isShowing("-1,234.50"));
+    assertFalse(entry.isShowing("-1234.50"));
+
+    assertFalse(entry.load("1.E+16"));
+    assertFalse(entry.load("1234"));
+    assertFalse(entry.load(""));
+  }
+
+  @Test
+  void randomTest() throws ParseException {
+    Random random = new Random(3);
+    for (int i = 0; i < 10_000; i++) {
+      StringBuilder keys = new StringBuilder();
+      int length = random.nextInt(20);
+      for (int j = 0; j < length; j++) {
+        keys.append(random.nextInt(8) == 0 ? "." : String.valueOf(random.nextInt(10)));
+      }
+
+      DigitEntryBuffer entry = type(random.nextBoolean() ? "-0." : "0", keys.toString());
+      String text = entry.toString();
+      assertEquals(NumberFormatter.parse(text), entry.toBigDecimal(), text);
+    }
+  }
+
+  private void checkTyping(String display, String keys, String expected) throws ParseException {
+    DigitEntryBuffer entry = type(display, keys);
+    assertEquals(expected, entry.toString());
+    assertEquals(NumberFormatter.parse(expected), entry.toBigDecimal());
+  }
+
+  private DigitEntryBuffer type(String display, String keys) {
+    DigitEntryBuffer entry = new DigitEntryBuffer();
+    assertTrue(entry.load(display));
+    for (char key : keys.toCharArray()) {
+      boolean isDigit = key != NumberFormatter.DECIMAL_SEPARATOR;
+      if (!entry.isTooBig(isDigit)) {
+        if (isDigit) {
+          entry.appendDigit(key);
+        } else {
+          entry.appendPoint();
+        }
+      }
+    }
+    return entry;
+  }
+}
@@ -0,0 +1,71 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaTest {
+  private Formula formula;
+
+  @BeforeEach
+  void before() {
+    formula = new Formula();
+  }
+
+  @Test
+  void appendTest() {
+    assertEquals("", formula.toString());
+    assertTrue(formula.isEmpty());
+
+    formula.appendNumber("2");
+    formula.appendOperator("+");
+    assertEquals("2 +", formula.toString());
+    assertTrue(formula.hasOperator());
+
+    formula.replaceOperator("×");
+    formula.appendUnary("sqr", "3");
+    assertEquals("2 × sqr( 3 )", formula.toString());
+    assertTrue(formula.endsWithUnary());
+
+    formula.clear();
+    assertEquals("", formula.toString());
+    assertFalse(formula.hasOperator());
+  }
+
+  @Test
+  void wrapTest() {
+    formula.appendUnary("sqr", "5");
+    formula.wrapAll("√");
+    formula.wrapAll("1/");
+    assertEquals("1/( √( sqr( 5 ) ) )", formula.toString());
+
+    formula.appendOperator("-");
+    formula.appendUnary("negate", "4");
+    formula.wrapFromFirstUnary("√", false);
+    assertEquals("√(1/( √( sqr( 5 ) ) ) - negate( 4 ) )", formula.toString());
+    assertFalse(formula.hasOperator());
+
+    formula.appendOperator("+");
+    formula.appendNumber("7");
+    formula.appendUnary("sqr", "8");
+    formula.wrapFromFirstUnary("1/", true);
+    assertEquals("1/( √(1/( √( sqr( 5 ) ) ) - negate( 4 ) ) + 7 sqr( 8 ) )", formula.toString());
+  }
+
+  @Test
+  void removeAfterOperatorTest() {
+    formula.appendNumber("200");
+    formula.appendOperator("+");
+    formula.appendUnary("sqr", "3");
+    formula.wrapFromFirstUnary("√", true);
+    formula.removeAfterOperator();
+    formula.appendNumber("8");
+    assertEquals("200 + 8", formula.toString());
+    assertTrue(formula.endsWithNumber());
+
+    formula.appendUnary("1/", "8");
+    formula.wrapFromFirstUnary("sqr", false);
+    assertEquals("200 + 8 sqr(1/( 8 ) )", formula.toString());
+  }
+}
@@ -7,18 +7,14 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.text.ParseException;
 
 /**
- * Util class, that format {@link BigDecimal} using with some custom fixes
- * to {@link String}, that will be showing at calculators display. Also parse them back to BigDecimal
+ * Formatter of display numbers, that uses {@link DecimalFormat}, like {@link NumberFormatter} did before. It's the
+ * oracle for {@link NumberFormatter#format(BigDecimal)}.
  *
  * @author ozgreat
- * @see DecimalFormat
- * @see BigDecimal
- * @see String
  */
-class NumberFormatter {
+class LegacyNumberFormatter {
   /**
    * Exponent separator for cases when number with scientific annotation is bigger
    * than one, cause {@link DecimalFormat} can add "-" to number if number less than one,
@@ -36,7 +32,7 @@ class NumberFormatter {
   /**
    * Separator, that separate integer and decimal part of number
    */
-  static char DECIMAL_SEPARATOR = '.';
+  private static char DECIMAL_SEPARATOR = '.';
 
   /**
    * Separator, that separate group of number in integer part of number
@@ -101,7 +97,7 @@ class NumberFormatter {
    * @see DecimalFormat
    * @see DecimalFormatSymbols
    */
-  public static String format(BigDecimal number) throws CalculatorException {
+  static String format(BigDecimal number) throws CalculatorException {
     BigDecimal numberInWork;
 
     if (number.scale() == 0) {
@@ -194,44 +190,4 @@ class NumberFormatter {
     symbols.setExponentSeparator(EXPONENT_SEP);
     formatter.setDecimalFormatSymbols(symbols);
   }
-
-  /**
-   * Get {@link BigDecimal} from {@link String} using {@link DecimalFormat}
-   *
-   * @param str number that we have to parse in {@link BigDecimal}
-   * @return {@link BigDecimal} object that parsed from str
-   * @throws ParseException if pattern in {@link DecimalFormat} object is wrong
-   *
-   * @see DecimalFormat
-   * @see ParseException
-   */
-  public static BigDecimal parse(String str) throws ParseException {
-    setExponentSep(str.contains(POSITIVE_EXPONENT_SEPARATOR));
-
-    return (BigDecimal) formatter.parse(str);
-  }
-
-  /**
-   * Remove group separator from number in {@link String}
-   *
-   * @param number number in string
-   * @return number without group separator
-   */
-  public static String removeGroupSeparator(String number) {
-    return number.replace(String.valueOf(GROUP_SEPARATOR), "");
-  }
-
-  /**
-   * Returns true if number's length is less that MAX_SYMBOLS plus coefficient, that depends on first number
-   *
-   * @param number number in work
-   * @return status of them length
-   */
-  public static boolean isTooBigToInput(String number) {
-    number = removeGroupSeparator(number);
-    boolean isFirstZero = number.startsWith(ZERO) || number.startsWith("-0");
-    int coef = isFirstZero ? 1 : 0;
-
-    return MAX_SYMBOLS + coef < number.replace("-", "").replace(String.valueOf(DECIMAL_SEPARATOR), "").length();
-  }
 }
@@ -0,0 +1,146 @@
+package com.ozgreat.calculator.controller;
+
+import com.ozgreat.calculator.model.CalculatorException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberFormatterTest {
+  @Test
+  void formatTest() throws CalculatorException {
+    checkFormat("0", "0");
+    checkFormat("0.0", "0.0");
+    checkFormat("0.000", "0.000");
+    checkFormat("1.50", "1.50");
+    checkFormat("-1234567.5", "-1,234,567.5");
+    checkFormat("1234567890123456", "1,234,567,890,123,456");
+    checkFormat("9999999999999999.5", "1.E+16");
+    checkFormat("12345678901234567", "1.234567890123457E+16");
+    checkFormat("1E+20", "1.E+20");
+    checkFormat("0.001", "0.001");
+    checkFormat("0.0001", "0.0001");
+    checkFormat("0.0012345678901234567", "0.0012345678901235");
+    checkFormat("0.009999999999999999999", "0.01");
+    checkFormat("1.5E-20", "1.5E-20");
+    checkFormat("1E-20", "1.E-20");
+    checkFormat("-1.000E-20", "-1.E-20000");
+    checkFormat("9.9999999999999995E-5", "1.E-4");
+    checkFormat("9.9999999999999999999E-4", "1.E-3");
+    checkFormat("0.3333333333333333333333333", "0.3333333333333333");
+    checkFormat("2.E+16", "2.E+16");
+
+    assertThrows(CalculatorException.class, () -> NumberFormatter.format(new BigDecimal("9.99999999999999999E+9999")));
+  }
+
+  @Test
+  void legacyTest() {
+    checkLegacy(new BigDecimal("0E+3"));
+    checkLegacy(BigDecimal.TEN.pow(10000).subtract(BigDecimal.ONE).scaleByPowerOfTen(-19998));
+    checkLegacy(BigDecimal.ONE.divide(BigDecimal.valueOf(3), new MathContext(10000)));
+    checkLegacy(BigDecimal.valueOf(2).sqrt(new MathContext(10000)).negate().scaleByPowerOfTen(-5000));
+
+    Random random = new Random(11);
+    for (int i = 0; i < 300_000; i++) {
+      checkLegacy(randomNumber(random));
+    }
+  }
+
+  @Test
+  void concurrentTest() throws Exception {
+    Random random = new Random(13);
+    List<BigDecimal> numbers = new ArrayList<>();
+    List<String> formatted = new ArrayList<>();
+    List<BigDecimal> parsed = new ArrayList<>();
+    while (numbers.size() < 20_000) {
+      BigDecimal number = randomNumber(random);
+      try {
+        String str = NumberFormatter.format(number);
+        numbers.add(number);
+        formatted.add(str);
+        parsed.add(NumberFormatter.parse(str));
+      } catch (CalculatorException e) { // too big numbers aren't formatted
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int t = 0; t < 16; t++) {
+      List<Integer> indexes = new ArrayList<>();
+      for (int i = 0; i < numbers.size(); i++) {
+        indexes.add(i);
+      }
+      Collections.shuffle(indexes, new Random(t));
+
+      tasks.add(() -> {
+        for (int i : indexes) {
+          String str = NumberFormatter.format(numbers.get(i));
+          assertEquals(formatted.get(i), str, numbers.get(i).toString());
+          assertEquals(parsed.get(i), NumberFormatter.parse(str), str);
+        }
+        return null;
+      });
+    }
+
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void checkFormat(String number, String expected) throws CalculatorException {
+    assertEquals(expected, NumberFormatter.format(new BigDecimal(number)));
+    assertEquals(expected, LegacyNumberFormatter.format(new BigDecimal(number)));
+  }
+
+  private void checkLegacy(BigDecimal number) {
+    String expected;
+    try {
+      expected = LegacyNumberFormatter.format(number);
+    } catch (CalculatorException e) {
+      assertThrows(CalculatorException.class, () -> NumberFormatter.format(number), number.toString());
+      return;
+    } catch (IllegalArgumentException e) { // legacy formatter fails on some numbers with trailing zeros
+      return;
+    }
+    assertEquals(expected, assertDoesNotThrow(() -> NumberFormatter.format(number)), number.toString());
+  }
+
+  private BigDecimal randomNumber(Random random) {
+    BigInteger unscaled;
+    int kind = random.nextInt(4);
+    int digits = 1 + random.nextInt(kind == 3 ? 40 : 18);
+
+    if (kind == 0) { // nines, that carry on rounding
+      unscaled = BigInteger.TEN.pow(digits).subtract(BigInteger.valueOf(random.nextInt(10)));
+    } else {
+      unscaled = new BigInteger(digits * 4, random).mod(BigInteger.TEN.pow(digits));
+    }
+
+    if (random.nextBoolean()) {
+      unscaled = unscaled.negate();
+    }
+
+    int scale = random.nextInt(60) - 25;
+    BigDecimal number = new BigDecimal(unscaled, scale);
+    if (random.nextInt(4) == 0) { // trailing zeros
+      number = number.setScale(scale + random.nextInt(5), RoundingMode.UNNECESSARY);
+    }
+    return number;
+  }
+}
@@ -0,0 +1,100 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionCodecTest {
+  private static final CalculatorKey[] KEYS = CalculatorKey.values();
+
+  @Test
+  void patternTest() throws IOException {
+    checkCodec("", "");
+    checkCodec("12.5", "0 1 . 5");
+    checkCodec("2 + 3", "= = =");
+    checkCodec("5 √ ^ R ±", "√ + 2 =");
+    checkCodec("9 + 4 √ ^ √", "R = ");
+    checkCodec("1 / 3 = MS * 3", "= MR + MR = M+ MR");
+    checkCodec("1 / 0 =", "C 2 + 2 =");
+    checkCodec("125 + 5 %", "% = <- 7");
+    checkCodec("1 / 3 = 1 / 7 =", "* 21 = R");
+    checkCodec("0.000 <- <-", "1 + 1 =");
+  }
+
+  @Test
+  void randomTest() throws IOException {
+    Random random = new Random(11);
+    for (int i = 0; i < 100; i++) {
+      List<CalculatorKey> keys = new ArrayList<>();
+      int length = 1 + random.nextInt(24);
+      for (int j = 0; j < length; j++) {
+        keys.add(KEYS[random.nextInt(KEYS.length)]);
+      }
+      int split = random.nextInt(keys.size() + 1);
+      checkCodec(keys.subList(0, split), keys.subList(split, keys.size()));
+    }
+  }
+
+  @Test
+  void compactTest() throws IOException {
+    byte[] initial = SessionCodec.encode(new CalculatorSession());
+    assertTrue(initial.length < 32, "Length of initial session: " + initial.length);
+
+    CalculatorSession session = new CalculatorSession();
+    session.press(CalculatorSessionTest.translatePattern("1 / 3 = * 3"));
+    byte[] bytes = SessionCodec.encode(session);
+    assertTrue(bytes.length < 128, "Length of session: " + bytes.length);
+    assertArrayEquals(bytes, SessionCodec.encode(SessionCodec.decode(bytes)));
+  }
+
+  @Test
+  void wrongBytesTest() throws IOException {
+    byte[] bytes = SessionCodec.encode(new CalculatorSession());
+
+    assertThrows(IOException.class, () -> SessionCodec.decode(new byte[0]));
+    assertThrows(IOException.class, () -> SessionCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+    assertThrows(IOException.class, () -> SessionCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)));
+  }
+
+  private static void checkCodec(String before, String after) throws IOException {
+    checkCodec(CalculatorSessionTest.translatePattern(before), CalculatorSessionTest.translatePattern(after));
+  }
+
+  /**
+   * Press keys in session and in its copy, that was read from compact form, and compare their states after every key
+   */
+  private static void checkCodec(List<CalculatorKey> before, List<CalculatorKey> after) throws IOException {
+    CalculatorSession session = new CalculatorSession();
+    press(session, before);
+    CalculatorSession copy = SessionCodec.decode(SessionCodec.encode(session));
+    assertState(session, copy, before + " | ");
+
+    for (CalculatorKey key : after) {
+      String message = before + " | " + key;
+      assertEquals(press(session, List.of(key)), press(copy, List.of(key)), message);
+      assertState(session, copy, message);
+    }
+  }
+
+  private static String press(CalculatorSession session, List<CalculatorKey> keys) {
+    try {
+      session.press(keys);
+      return null;
+    } catch (IllegalStateException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static void assertState(CalculatorSession expected, CalculatorSession actual, String message) {
+    assertEquals(expected.getDisplay(), actual.getDisplay(), message);
+    assertEquals(expected.getFormula(), actual.getFormula(), message);
+    assertEquals(expected.isException(), actual.isException(), message);
+    assertEquals(expected.getMemory(), actual.getMemory(), message);
+  }
+}
@@ -0,0 +1,89 @@
+package com.ozgreat.calculator.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionFileTest {
+  /**
+   * Directory of test files, it is deleted after every test
+   */
+  private final Path directory = Files.createTempDirectory("calculator");
+
+  /**
+   * File of session in not existing subdirectory
+   */
+  private final Path file = directory.resolve("state").resolve("session.bin");
+
+  public SessionFileTest() throws IOException {
+  }
+
+  @AfterEach
+  void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Test
+  void resumeTest() throws IOException {
+    assertNull(SessionFile.load(file));
+
+    CalculatorSession session = new CalculatorSession();
+    session.press(CalculatorSessionTest.translatePattern("1 / 3 = MS * 3 + 5 √"));
+    SessionFile.save(session, file);
+    CalculatorSession restored = SessionFile.load(file);
+    assertEquals("2.23606797749979", restored.getDisplay());
+    assertEquals(session.getFormula(), restored.getFormula());
+    assertEquals(session.getMemory(), restored.getMemory());
+
+    session.press(CalculatorSessionTest.translatePattern("="));
+    restored.press(CalculatorSessionTest.translatePattern("="));
+    assertEquals(session.getDisplay(), restored.getDisplay());
+
+    // file is replaced
+    SessionFile.save(new CalculatorSession(), file);
+    assertEquals("0", SessionFile.load(file).getDisplay());
+    try (Stream<Path> files = Files.list(file.getParent())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void wrongFileTest() throws IOException {
+    SessionFile.save(new CalculatorSession(), file);
+    byte[] bytes = Files.readAllBytes(file);
+
+    checkWrongFile(new byte[0]);
+    checkWrongFile(Arrays.copyOf(bytes, bytes.length - 1));
+    checkWrongFile(Arrays.copyOf(bytes, bytes.length + 1));
+
+    byte[] otherMagic = bytes.clone();
+    otherMagic[0]++;
+    checkWrongFile(otherMagic);
+
+    byte[] otherVersion = bytes.clone();
+    ByteBuffer.wrap(otherVersion).putShort(Integer.BYTES, (short) (SessionFile.VERSION + 1));
+    checkWrongFile(otherVersion);
+
+    byte[] otherChecksum = bytes.clone();
+    otherChecksum[bytes.length - 1]++;
+    checkWrongFile(otherChecksum);
+  }
+
+  private void checkWrongFile(byte[] bytes) throws IOException {
+    Files.write(file, bytes);
+    assertThrows(IOException.class, () -> SessionFile.load(file));
+  }
+}
@@ -0,0 +1,200 @@
+package com.ozgreat.calculator.model;
+
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.script.KeystrokeScript;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptivePrecisionTest {
+  private static final MathContext DISPLAY = new MathContext(16, RoundingMode.HALF_UP);
+
+  @Test
+  void chainTest() throws CalculatorException {
+    checkChain("1 / 3");
+    checkChain("2 / 7 / 7 / 7 / 7");
+    checkChain("1 / 3 * 3");
+    checkChain("1 / 3 + 5 / 9");
+    checkChain("-5 / 7 - 1000 * 3");
+    checkChain("123456789 / 0.000001 / 17");
+    checkChain("1 / 7 R");
+    checkChain("1 / 7 ± POW R");
+    checkChain("0.001 / 3 * 0.0001 / 3");
+    checkChain("2 SQRT");
+    checkChain("2 SQRT POW");
+    checkChain("0.0004 SQRT");
+    checkChain("1 / 3 SQRT * 3 SQRT");
+  }
+
+  @Test
+  void exceptionTest() {
+    checkThrow("1 / 3 * 3 - 1", CalculatorExceptionType.OVERFLOW);
+    checkThrow("1 / 3 / 0", CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    checkThrow("5 / 0", CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    checkThrow("0 / 0", CalculatorExceptionType.DIVIDING_ZERO_BY_ZERO);
+    checkThrow("1 / 3 ± SQRT", CalculatorExceptionType.NEGATIVE_ROOT);
+  }
+
+  @Test
+  void divisorNearZeroTest() throws CalculatorException {
+    checkChain("1 / 3 - 0.3333333333333333 - 0.00000000000000003333333333333333 R");
+    checkChain("1 / 3 - 0.3333333333333333 * 1000000000000000 - 0.3333333333333333 R");
+
+    CalculatorSession session = new CalculatorSession();
+    session.press(KeystrokeScript.parse(
+        ".3333333333333333 ÷ 1000000000000000 ÷ 10 = MS C 1 ÷ 3 - .3333333333333333 - MR = 1/"));
+    assertFalse(session.isException());
+    assertEquals("3.E+32", session.getDisplay());
+  }
+
+  @Test
+  void exactQuotientTest() throws CalculatorException {
+    checkExactQuotient(DIVIDE, "6", "3", "2");
+    checkExactQuotient(DIVIDE, "10", "4", "2.5");
+    checkExactQuotient(DIVIDE, "1", "8", "0.125");
+    checkExactQuotient(DIVIDE, "5", "16", "0.3125");
+    checkExactQuotient(DIVIDE, "-7", "0.001", "-7000");
+    checkExactQuotient(REVERSE, "4", null, "0.25");
+    checkExactQuotient(REVERSE, "5", null, "0.2");
+
+    checkChain("6 / 3");
+    checkChain("10 / 4 * 4");
+    checkChain("1 / 8 R");
+  }
+
+  @Test
+  void modeTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    calc.calculate(DIVIDE, BigDecimal.ONE);
+    calc.setCalculatorState(CalculatorState.RIGHT);
+    BigDecimal approximate = calc.calculate(new BigDecimal(3));
+
+    assertTrue(approximate.precision() < 100);
+    calc.setCalculationMode(CalculationMode.FULL_PRECISION);
+    assertEquals(10000, calc.calculate(ADD, approximate).precision());
+  }
+
+  @Test
+  void latencyBudgetTest() throws CalculatorException {
+    checkChain("1 / 3", 1);
+    checkChain("2 / 7 / 7 / 7 / 7", 1);
+    checkChain("1 / 3 * 3", 1);
+    checkChain("2 SQRT POW", 1);
+    checkChain("1 / 3 SQRT * 3 SQRT", 1);
+    checkChain("-5 / 7 - 1000 * 3", 10000);
+  }
+
+  @Test
+  void exactInBudgetTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    calc.setLatencyBudget(10000);
+    BigDecimal res = run(calc, "1 / 3");
+
+    assertEquals(10000, res.precision());
+    assertNull(calc.getRefinement(res));
+    assertNull(calc.getRefiningOperand());
+  }
+
+  @Test
+  void refiningTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    calc.setLatencyBudget(1);
+    BigDecimal res = run(calc, "2 SQRT");
+    BigDecimal expected = run(new CalculatorModel(), "2 SQRT");
+
+    CompletableFuture<BigDecimal> refinement = calc.getRefinement(res);
+    if (refinement == null) { // all digits were calculated in budget
+      assertEquals(expected, res);
+    } else {
+      assertEquals(expected.round(DISPLAY), res.round(DISPLAY));
+      assertEquals(expected, refinement.join());
+      assertEquals(expected, calc.getExactValue(res));
+    }
+    assertNull(calc.getRefiningOperand());
+
+    assertThrows(IllegalArgumentException.class, () -> calc.setLatencyBudget(-1));
+  }
+
+  @Test
+  void cancelTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    calc.setLatencyBudget(1);
+    BigDecimal res = run(calc, "2 SQRT R SQRT R SQRT R SQRT R SQRT R SQRT R SQRT R SQRT R");
+
+    CompletableFuture<BigDecimal> refinement = calc.getRefinement(res);
+    assertNotNull(refinement);
+    calc.cancel();
+    assertThrows(CancellationException.class, refinement::join);
+  }
+
+  private void checkChain(String pattern) throws CalculatorException {
+    checkChain(pattern, 0);
+  }
+
+  private void checkChain(String pattern, long latencyBudget) throws CalculatorException {
+    CalculatorModel full = new CalculatorModel();
+    CalculatorModel adaptive = new CalculatorModel();
+    adaptive.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    adaptive.setLatencyBudget(latencyBudget);
+
+    BigDecimal expected = run(full, pattern);
+    BigDecimal actual = run(adaptive, pattern);
+
+    assertEquals(expected.round(DISPLAY), actual.round(DISPLAY));
+    assertEquals(expected, adaptive.getExactValue(actual));
+  }
+
+  private void checkExactQuotient(ArithmeticOperation operation, String left, String right, String expected) {
+    AdaptiveDecimal number = AdaptiveDecimal.of(operation, AdaptiveDecimal.valueOf(new BigDecimal(left)),
+        right == null ? null : AdaptiveDecimal.valueOf(new BigDecimal(right)));
+    BigDecimal approximate = number.approximate();
+
+    assertNotNull(approximate, "Adaptive path isn't taken for " + left + " " + operation + " " + right);
+    assertEquals(0, new BigDecimal(expected).compareTo(approximate));
+    assertEquals(CalculatorModel.applyOperation(operation, new BigDecimal(left),
+        right == null ? null : new BigDecimal(right)), number.getExact());
+  }
+
+  private void checkThrow(String pattern, CalculatorExceptionType expectedType) {
+    CalculatorModel adaptive = new CalculatorModel();
+    adaptive.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+
+    CalculatorException e = assertThrows(CalculatorException.class, () -> run(adaptive, pattern));
+    assertEquals(expectedType, e.getType());
+  }
+
+  private BigDecimal run(CalculatorModel calc, String pattern) throws CalculatorException {
+    String[] split = pattern.split(" ");
+    BigDecimal res = calc.calculate(new BigDecimal(split[0]));
+
+    for (int i = 1; i < split.length; i++) {
+      if (split[i].equals("R")) {
+        res = calc.calculate(REVERSE);
+      } else if (split[i].equals("±")) {
+        res = calc.calculate(NEGATE);
+      } else if (split[i].equals("POW")) {
+        res = calc.calculate(POW);
+      } else if (split[i].equals("SQRT")) {
+        res = calc.calculate(SQRT);
+      } else {
+        ArithmeticOperation operation = split[i].equals("+") ? ADD : split[i].equals("-") ? SUBTRACT
+            : split[i].equals("*") ? MULTIPLY : DIVIDE;
+        calc.calculate(operation);
+        calc.setCalculatorState(CalculatorState.RIGHT);
+        res = calc.calculate(new BigDecimal(split[++i]));
+      }
+    }
+    return res;
+  }
+}
@@ -0,0 +1,142 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculatorSnapshotTest {
+  private static final ArithmeticOperation[] OPERATIONS = {ADD, SUBTRACT, MULTIPLY, DIVIDE, SQRT, POW, REVERSE, NEGATE};
+
+  @Test
+  void nextTest() throws CalculatorException {
+    for (CalculationMode mode : CalculationMode.values()) {
+      for (long seed = 0; seed < 5; seed++) {
+        List<CalculatorInput> inputs = randomInputs(new Random(seed), mode);
+        assertEquals(runModel(inputs), runSnapshots(CalculatorSnapshot.INITIAL, inputs), mode + " " + seed);
+      }
+    }
+  }
+
+  @Test
+  void snapshotIsImmutableTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.EXACT_RATIONAL);
+    calc.calculate(BigDecimal.ONE);
+    calc.calculate(DIVIDE);
+    calc.setCalculatorState(CalculatorState.RIGHT);
+    BigDecimal third = calc.calculate(new BigDecimal(3));
+    CalculatorSnapshot snapshot = calc.getSnapshot();
+
+    calc.calculate(new BigDecimal(7));
+    assertNotEquals(third, calc.getSnapshot().getLeftOperand());
+    assertSame(third, snapshot.getLeftOperand());
+
+    CalculatorSnapshot next = CalculatorModel.next(snapshot, CalculatorInput.calculate(MULTIPLY, third, new BigDecimal(3)));
+    assertEquals(BigDecimal.ONE, next.getResult());
+    assertSame(third, snapshot.getLeftOperand());
+    assertEquals(CalculatorState.AFTER, snapshot.getCalculatorState());
+  }
+
+  @Test
+  void concurrentTest() throws CalculatorException {
+    CalculatorSnapshot shared = CalculatorModel.next(CalculatorSnapshot.INITIAL,
+        CalculatorInput.calculationMode(CalculationMode.ADAPTIVE_PRECISION));
+    shared = runInputs(shared, List.of(CalculatorInput.calculate(BigDecimal.ONE), CalculatorInput.calculate(DIVIDE),
+        CalculatorInput.calculatorState(CalculatorState.RIGHT), CalculatorInput.calculate(new BigDecimal(7))));
+
+    List<List<CalculatorInput>> sessions = new ArrayList<>();
+    for (long seed = 0; seed < 40; seed++) {
+      sessions.add(randomInputs(new Random(seed), null));
+    }
+
+    CalculatorSnapshot start = shared;
+    List<List<BigDecimal>> sequential = new ArrayList<>();
+    for (List<CalculatorInput> session : sessions) {
+      sequential.add(runSnapshots(start, session));
+    }
+
+    List<List<BigDecimal>> parallel = IntStream.range(0, sessions.size()).parallel()
+        .mapToObj(i -> runSnapshotsUnchecked(start, sessions.get(i)))
+        .collect(Collectors.toList());
+    assertEquals(sequential, parallel);
+  }
+
+  private List<BigDecimal> runModel(List<CalculatorInput> inputs) {
+    CalculatorModel calc = new CalculatorModel();
+    List<BigDecimal> results = new ArrayList<>();
+    for (CalculatorInput input : inputs) {
+      try {
+        results.add(input.applyTo(calc));
+      } catch (CalculatorException | RuntimeException e) { // the same input fails in both ways
+        results.add(null);
+        calc = new CalculatorModel();
+      }
+    }
+    return results;
+  }
+
+  private List<BigDecimal> runSnapshots(CalculatorSnapshot start, List<CalculatorInput> inputs) {
+    List<BigDecimal> results = new ArrayList<>();
+    CalculatorSnapshot state = start;
+    for (CalculatorInput input : inputs) {
+      try {
+        state = CalculatorModel.next(state, input);
+        results.add(state.getResult());
+      } catch (CalculatorException | RuntimeException e) { // the same input fails in both ways
+        results.add(null);
+        state = CalculatorSnapshot.INITIAL;
+      }
+    }
+    return results;
+  }
+
+  private List<BigDecimal> runSnapshotsUnchecked(CalculatorSnapshot start, List<CalculatorInput> inputs) {
+    return runSnapshots(start, inputs);
+  }
+
+  private CalculatorSnapshot runInputs(CalculatorSnapshot state, List<CalculatorInput> inputs)
+      throws CalculatorException {
+    for (CalculatorInput input : inputs) {
+      state = CalculatorModel.next(state, input);
+    }
+    return state;
+  }
+
+  private List<CalculatorInput> randomInputs(Random random, CalculationMode mode) {
+    List<CalculatorInput> inputs = new ArrayList<>();
+    if (mode != null) {
+      inputs.add(CalculatorInput.calculationMode(mode));
+    }
+
+    for (int i = 0; i < 20; i++) {
+      int kind = random.nextInt(6);
+      BigDecimal number = BigDecimal.valueOf(random.nextInt(2000) - 1000, random.nextInt(4));
+      ArithmeticOperation operation = OPERATIONS[random.nextInt(OPERATIONS.length)];
+
+      if (kind == 0) {
+        inputs.add(CalculatorInput.calculate(number));
+      } else if (kind == 1) {
+        inputs.add(CalculatorInput.calculate(operation));
+      } else if (kind == 2) {
+        inputs.add(CalculatorInput.calculatorState(CalculatorState.RIGHT));
+        inputs.add(CalculatorInput.calculate(number));
+      } else if (kind == 3) {
+        inputs.add(CalculatorInput.calculate(operation, number));
+      } else if (kind == 4) {
+        inputs.add(CalculatorInput.calculateMemory(MemoryOperation.MEMORY_ADD));
+      } else {
+        inputs.add(CalculatorInput.calculateMemory(MemoryOperation.MEMORY_SUB, number));
+        inputs.add(CalculatorInput.memoryRecall());
+      }
+    }
+    return inputs;
+  }
+}
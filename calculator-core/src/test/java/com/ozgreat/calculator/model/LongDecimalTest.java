@@ -0,0 +1,74 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongDecimalTest {
+  private static final ArithmeticOperation[] OPERATIONS = {ADD, SUBTRACT, MULTIPLY};
+
+  @Test
+  void calculateTest() {
+    assertEquals(new BigDecimal("5"), LongDecimal.calculate(ADD, new BigDecimal("2.5"), new BigDecimal("2.50")));
+    assertEquals(BigDecimal.ZERO, LongDecimal.calculate(SUBTRACT, new BigDecimal("0.1"), new BigDecimal("0.1")));
+
+    checkAll("0", "0");
+    checkAll("2", "3");
+    checkAll("1.5", "0.5");
+    checkAll("-0.25", "4");
+    checkAll("1000", "0.001");
+    checkAll("1E+30", "1E-30");
+    checkAll("123456789012345678", "1");
+    checkAll("9223372036854775807", "1");
+    checkAll("-922337203685477580.8", "0.2");
+    checkAll("999999999", "999999999");
+    checkAll("1E-5000", "1E-4999");
+    checkAll("1E-9999", "1");
+    checkAll("1E+9990", "1E+10");
+    checkAll("1E+9979", "10");
+  }
+
+  @Test
+  void randomTest() {
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      checkAll(randomNumber(random), randomNumber(random));
+    }
+  }
+
+  @Test
+  void notCompactTest() {
+    assertNull(LongDecimal.calculate(ADD, new BigDecimal("1234567890123456789"), BigDecimal.ONE));
+    assertNull(LongDecimal.calculate(MULTIPLY, new BigDecimal("4000000000"), new BigDecimal("4000000000")));
+    assertNull(LongDecimal.calculate(ADD, new BigDecimal("1E+20"), BigDecimal.ONE));
+    assertNull(LongDecimal.calculate(MULTIPLY, new BigDecimal("1E-5000"), new BigDecimal("1E-5000")));
+    assertNull(LongDecimal.calculate(DIVIDE, BigDecimal.ONE, BigDecimal.ONE));
+  }
+
+  private void checkAll(String left, String right) {
+    for (ArithmeticOperation operation : OPERATIONS) {
+      check(operation, new BigDecimal(left), new BigDecimal(right));
+      check(operation, new BigDecimal(right), new BigDecimal(left));
+    }
+  }
+
+  private void check(ArithmeticOperation operation, BigDecimal left, BigDecimal right) {
+    BigDecimal actual = LongDecimal.calculate(operation, left, right);
+    if (actual == null) {
+      return;
+    }
+
+    BigDecimal expected = CalculatorModel.applyOperation(operation, left, right);
+    assertDoesNotThrow(() -> CalculatorModel.checkOverflow(expected));
+    assertEquals(expected, actual, left + " " + operation + " " + right);
+  }
+
+  private String randomNumber(Random random) {
+    long unscaled = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextLong() >> random.nextInt(64);
+    return BigDecimal.valueOf(unscaled, random.nextInt(40) - 20).toString();
+  }
+}
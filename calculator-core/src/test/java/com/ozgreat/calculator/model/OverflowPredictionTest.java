@@ -0,0 +1,67 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverflowPredictionTest {
+  @Test
+  void multiplyTest() {
+    check("1E+5000", "1E+5000");
+    check("9.9E+4999", "9.9E+4999");
+    check("1E+4999", "9.99E+4999");
+    check("1E-5000", "1E-5000");
+    check("1E-5000", "1E-4999");
+    check("9.9E-5000", "9.9E-5000");
+    check("-1E+9999", "10");
+    check("-1E+9999", "9.9");
+    check("1E+9999", "0");
+
+    Random random = new Random(42);
+    for (int i = 0; i < 300; i++) {
+      int exponent = random.nextInt(12) - 6 + (random.nextBoolean() ? 5000 : -5000);
+      check(randomNumber(random, exponent), randomNumber(random, exponent + random.nextInt(3) - 1));
+    }
+  }
+
+  @Test
+  void powTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.calculate(new BigDecimal("1E+5000"));
+
+    CalculatorException e = assertThrows(CalculatorException.class, () -> calc.calculate(POW));
+    assertEquals(CalculatorExceptionType.OVERFLOW, e.getType());
+
+    calc.calculate(new BigDecimal("-3.1E+4999"));
+    assertEquals(new BigDecimal("9.61E+9998"), calc.calculate(POW));
+  }
+
+  private void check(String left, String right) {
+    BigDecimal x = new BigDecimal(left);
+    BigDecimal y = new BigDecimal(right);
+    CalculatorException expected = null;
+    try {
+      CalculatorModel.checkOverflow(x.multiply(y));
+    } catch (CalculatorException e) {
+      expected = e;
+    }
+
+    CalculatorModel calc = new CalculatorModel();
+    try {
+      BigDecimal res = calc.calculate(MULTIPLY, x, y);
+      assertNull(expected, left + " * " + right);
+      assertEquals(0, x.multiply(y).compareTo(res));
+    } catch (CalculatorException e) {
+      assertNotNull(expected, left + " * " + right);
+      assertEquals(expected.getType(), e.getType());
+    }
+  }
+
+  private String randomNumber(Random random, int exponent) {
+    return (random.nextInt(9) + 1) + "." + random.nextInt(1000) + "E" + exponent;
+  }
+}
@@ -0,0 +1,123 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RationalModeTest {
+  private static final MathContext DISPLAY = new MathContext(16, RoundingMode.HALF_UP);
+
+  @Test
+  void exactTest() throws CalculatorException {
+    checkExact("1 / 3 * 3", "1");
+    checkExact("1 / 3 * 3 - 1", "0");
+    checkExact("1 / 7 * 14 / 2", "1");
+    checkExact("1 / 3 R", "3");
+    checkExact("1 / 4", "0.25");
+    checkExact("1 / 9 SQRT", "0.3333333333333333333331");
+    checkExact("4 / 9 SQRT * 3", "2");
+    checkExact("1 / 3 POW * 9", "1");
+    checkExact("1 / 3 ± * 3", "-1");
+  }
+
+  @Test
+  void displayTest() throws CalculatorException {
+    checkDisplay("1 / 3");
+    checkDisplay("2 / 3");
+    checkDisplay("-2 / 3");
+    checkDisplay("1 / 7 / 7 / 7 / 7 / 7 / 7 / 7");
+    checkDisplay("123456789 / 0.000001 / 17");
+    checkDisplay("0.001 / 3 * 0.0001 / 3");
+    checkDisplay("2 SQRT");
+    checkDisplay("1 / 3 SQRT");
+    checkDisplay("1 / 7 R");
+
+    Random random = new Random(42);
+    for (int i = 0; i < 200; i++) {
+      StringBuilder pattern = new StringBuilder().append(random.nextInt(1000) + 1);
+      for (int j = 0; j < 6; j++) {
+        pattern.append(random.nextBoolean() ? " / " : " * ").append(random.nextInt(1000) + 1);
+      }
+      checkDisplay(pattern.toString());
+    }
+  }
+
+  @Test
+  void exceptionTest() {
+    checkThrow("1 / 0", CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    checkThrow("0 / 0", CalculatorExceptionType.DIVIDING_ZERO_BY_ZERO);
+    checkThrow("1 / 3 * 3 - 1 R", CalculatorExceptionType.CANNOT_DIVIDE_BY_ZERO);
+    checkThrow("1 / 3 ± SQRT", CalculatorExceptionType.NEGATIVE_ROOT);
+    checkThrow("1 / 3 * 1E+9999 * 1000", CalculatorExceptionType.OVERFLOW);
+    checkThrow("1 / 3 / 1E+9999", CalculatorExceptionType.OVERFLOW);
+  }
+
+  @Test
+  void memoryTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.EXACT_RATIONAL);
+    BigDecimal third = run(calc, "1 / 3");
+
+    calc.calculateMemory(MemoryOperation.MEMORY_ADD, third);
+    calc.calculateMemory(MemoryOperation.MEMORY_ADD, third);
+    calc.calculateMemory(MemoryOperation.MEMORY_ADD, third);
+    assertEquals(BigDecimal.ONE, calc.getMemory());
+
+    calc.calculateMemory(MemoryOperation.MEMORY_SUB, third);
+    calc.setCalculationMode(CalculationMode.FULL_PRECISION);
+    assertEquals(new BigDecimal("0." + "6".repeat(9999) + "7"), calc.getMemory());
+  }
+
+  private void checkExact(String pattern, String expected) throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.EXACT_RATIONAL);
+    assertEquals(new BigDecimal(expected), run(calc, pattern), pattern);
+  }
+
+  private void checkDisplay(String pattern) throws CalculatorException {
+    CalculatorModel full = new CalculatorModel();
+    CalculatorModel rational = new CalculatorModel();
+    rational.setCalculationMode(CalculationMode.EXACT_RATIONAL);
+
+    BigDecimal expected = run(full, pattern).round(DISPLAY);
+    assertEquals(0, expected.compareTo(run(rational, pattern).round(DISPLAY)), pattern);
+  }
+
+  private void checkThrow(String pattern, CalculatorExceptionType expectedType) {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.EXACT_RATIONAL);
+
+    CalculatorException e = assertThrows(CalculatorException.class, () -> run(calc, pattern));
+    assertEquals(expectedType, e.getType());
+  }
+
+  private BigDecimal run(CalculatorModel calc, String pattern) throws CalculatorException {
+    String[] split = pattern.split(" ");
+    BigDecimal res = calc.calculate(new BigDecimal(split[0]));
+
+    for (int i = 1; i < split.length; i++) {
+      if (split[i].equals("R")) {
+        res = calc.calculate(REVERSE);
+      } else if (split[i].equals("±")) {
+        res = calc.calculate(NEGATE);
+      } else if (split[i].equals("POW")) {
+        res = calc.calculate(POW);
+      } else if (split[i].equals("SQRT")) {
+        res = calc.calculate(SQRT);
+      } else {
+        ArithmeticOperation operation = split[i].equals("+") ? ADD : split[i].equals("-") ? SUBTRACT
+            : split[i].equals("*") ? MULTIPLY : DIVIDE;
+        calc.calculate(operation);
+        calc.setCalculatorState(CalculatorState.RIGHT);
+        res = calc.calculate(new BigDecimal(split[++i]));
+      }
+    }
+    return res;
+  }
+}
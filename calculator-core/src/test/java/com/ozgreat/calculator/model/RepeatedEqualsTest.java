@@ -0,0 +1,202 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepeatedEqualsTest {
+  @Test
+  void sumTest() {
+    check(ADD, "1", "1", 1000);
+    check(ADD, "0.1", "0.2", 37);
+    check(SUBTRACT, "5", "2", 5);
+    check(SUBTRACT, "-3.5", "-1.25", 9);
+    check(ADD, "9E+9999", "1E+9999", 2);
+    check(SUBTRACT, "1.5E-9999", "1E-9999", 3);
+    check(ADD, "-1.5E-9999", "1E-9999", 3);
+    check(ADD, "-4", "1", 4);
+    check(ADD, "0", "0", 10);
+
+    Random random = new Random(20);
+    for (int i = 0; i < 100; i++) {
+      check(random.nextBoolean() ? ADD : SUBTRACT, randomNumber(random), randomNumber(random), random.nextInt(50) + 1);
+    }
+  }
+
+  @Test
+  void productTest() {
+    check(MULTIPLY, "1", "2", 100);
+    check(MULTIPLY, "3", "-1.5", 21);
+    check(MULTIPLY, "1E+9990", "10", 9);
+    check(MULTIPLY, "1E+9990", "10", 10);
+    check(MULTIPLY, "1E-9990", "0.1", 9);
+    check(MULTIPLY, "1E-9990", "0.1", 10);
+    check(MULTIPLY, "7", "-1", 1001);
+    check(MULTIPLY, "7", "0", 5);
+    check(MULTIPLY, "0", "7", 5);
+    check(MULTIPLY, "5", "1E+5000", 3);
+
+    Random random = new Random(20);
+    for (int i = 0; i < 100; i++) {
+      check(MULTIPLY, randomNumber(random), randomNumber(random), random.nextInt(50) + 1);
+    }
+  }
+
+  @Test
+  void quotientTest() {
+    checkQuotient("1", "2", 5);
+    checkQuotient("1", "3", 20);
+    checkQuotient("2", "-7", 31);
+    checkQuotient("1", "1E-4999", 2);
+    checkQuotient("1", "1E-5000", 2);
+    checkQuotient("1E-9990", "10", 8);
+    checkQuotient("1E-9990", "10", 9);
+    checkQuotient("1E-9990", "10", 10);
+    checkQuotient("1", "1E+5000", 3);
+    checkQuotient("5", "0", 3);
+    checkQuotient("0", "5", 3);
+    checkQuotient("1", "0.07", 6);
+
+    Random random = new Random(20);
+    for (int i = 0; i < 30; i++) {
+      checkQuotient(randomNumber(random), randomNumber(random), random.nextInt(10) + 1);
+    }
+  }
+
+  @Test
+  void modesTest() throws CalculatorException {
+    for (CalculationMode mode : CalculationMode.values()) {
+      for (ArithmeticOperation operation : new ArithmeticOperation[]{ADD, SUBTRACT, MULTIPLY, DIVIDE}) {
+        CalculatorModel sequential = new CalculatorModel();
+        CalculatorModel repeated = new CalculatorModel();
+        sequential.setCalculationMode(mode);
+        repeated.setCalculationMode(mode);
+
+        BigDecimal expected = sequential.calculate(operation, BigDecimal.ONE, new BigDecimal(3));
+        repeated.calculate(operation, BigDecimal.ONE, new BigDecimal(3));
+        for (int i = 0; i < 5; i++) {
+          expected = sequential.calculate(expected);
+        }
+        BigDecimal actual = repeated.calculateEquals(5);
+
+        String message = mode + " " + operation;
+        assertEquals(0, sequential.getExactValue(expected).compareTo(repeated.getExactValue(actual)), message);
+      }
+    }
+  }
+
+  @Test
+  void exceptionTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    BigDecimal left = calc.calculate(MULTIPLY, BigDecimal.ONE, new BigDecimal(10));
+    assertEquals(CalculatorExceptionType.OVERFLOW,
+        assertThrows(CalculatorException.class, () -> calc.calculateEquals(100000)).getType());
+    assertSame(left, calc.getSnapshot().getLeftOperand());
+    assertEquals(new BigDecimal("1E+2"), calc.calculateEquals(1));
+  }
+
+  @Test
+  void interruptTest() throws CalculatorException, InterruptedException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.calculate(DIVIDE, BigDecimal.ONE, new BigDecimal(3));
+    AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+    Thread thread = new Thread(() -> {
+      try {
+        calc.calculateEquals(100000);
+      } catch (Throwable e) {
+        thrown.set(e);
+      }
+    });
+    thread.start();
+    Thread.sleep(50);
+    thread.interrupt();
+    thread.join(10000);
+
+    assertFalse(thread.isAlive());
+    assertTrue(thrown.get() instanceof CancellationException, String.valueOf(thrown.get()));
+  }
+
+  @Test
+  void wrongArgumentsTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    assertFalse(calc.isEqualsRepeatable());
+    assertThrows(IllegalStateException.class, () -> calc.calculateEquals(2));
+
+    calc.calculate(ADD, BigDecimal.ONE, BigDecimal.ONE);
+    assertTrue(calc.isEqualsRepeatable());
+    assertThrows(IllegalArgumentException.class, () -> calc.calculateEquals(0));
+  }
+
+  private static String randomNumber(Random random) {
+    return (random.nextInt(19) - 9) + "." + random.nextInt(1000) + "E" + (random.nextInt(200) - 100);
+  }
+
+  /**
+   * Check, that repeated equals give the same result or exception, that separate equals give
+   */
+  private void check(ArithmeticOperation operation, String left, String right, int repetitions) {
+    String message = left + " " + operation + " " + right + " x" + repetitions;
+    CalculatorModel sequential = new CalculatorModel();
+    CalculatorModel repeated = new CalculatorModel();
+
+    BigDecimal expected = null;
+    CalculatorExceptionType expectedType = null;
+    try {
+      expected = sequential.calculate(operation, new BigDecimal(left), new BigDecimal(right));
+      for (int i = 1; i < repetitions; i++) {
+        expected = sequential.calculate(expected);
+      }
+    } catch (CalculatorException e) {
+      expectedType = e.getType();
+    }
+
+    try {
+      BigDecimal actual = repeated.calculate(operation, new BigDecimal(left), new BigDecimal(right));
+      if (repetitions > 1) {
+        actual = repeated.calculateEquals(repetitions - 1);
+      }
+      assertNull(expectedType, message);
+      assertEquals(expected, actual, message);
+    } catch (CalculatorException e) {
+      assertEquals(expectedType, e.getType(), message);
+    }
+  }
+
+  /**
+   * Check, that repeated dividing gives the same exception or the same quotient, that separate dividing gives
+   */
+  private void checkQuotient(String left, String right, int repetitions) {
+    String message = left + " / " + right + " x" + repetitions;
+    CalculatorModel sequential = new CalculatorModel();
+    CalculatorModel repeated = new CalculatorModel();
+
+    BigDecimal expected = null;
+    CalculatorExceptionType expectedType = null;
+    try {
+      expected = sequential.calculate(DIVIDE, new BigDecimal(left), new BigDecimal(right));
+      for (int i = 1; i < repetitions; i++) {
+        expected = sequential.calculate(expected);
+      }
+    } catch (CalculatorException e) {
+      expectedType = e.getType();
+    }
+
+    try {
+      BigDecimal actual = repeated.calculate(DIVIDE, new BigDecimal(left), new BigDecimal(right));
+      if (repetitions > 1) {
+        actual = repeated.calculateEquals(repetitions - 1);
+      }
+      assertNull(expectedType, message);
+      assertEquals(0, expected.compareTo(actual), message);
+    } catch (CalculatorException e) {
+      assertEquals(expectedType, e.getType(), message);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepeatedUnaryTest {
+  @Test
+  void squareTest() {
+    check(POW, "2", 10);
+    check(POW, "-3", 5);
+    check(POW, "1.5", 12);
+    check(POW, "0.1", 13);
+    check(POW, "0.1", 14);
+    check(POW, "10", 13);
+    check(POW, "10", 14);
+    check(POW, "1", 1000);
+    check(POW, "-1", 999);
+    check(POW, "0", 1000);
+    check(POW, "1E+5000", 1);
+    check(POW, "1E+2500", 2);
+    check(POW, "9.9E+2499", 2);
+    check(POW, "1E-5000", 1);
+    check(POW, "123456789.123", 3);
+    check(POW, "1.0001", 10);
+
+    Random random = new Random(18);
+    for (int i = 0; i < 100; i++) {
+      String number = (random.nextInt(9) + 1) + "." + random.nextInt(1000) + "E" + (random.nextInt(200) - 100);
+      check(POW, number, random.nextInt(8) + 1);
+    }
+  }
+
+  @Test
+  void sqrtTest() {
+    check(SQRT, "2", 5);
+    check(SQRT, "1E+9999", 20);
+    check(SQRT, "1E-9999", 20);
+    check(SQRT, "65536", 4);
+    check(SQRT, "0", 3);
+    check(SQRT, "-4", 2);
+  }
+
+  @Test
+  void otherOperationsTest() {
+    check(NEGATE, "5", 3);
+    check(NEGATE, "5", 4);
+    check(REVERSE, "3", 3);
+    check(REVERSE, "0", 2);
+  }
+
+  @Test
+  void modesTest() throws CalculatorException {
+    for (CalculationMode mode : CalculationMode.values()) {
+      CalculatorModel sequential = new CalculatorModel();
+      CalculatorModel repeated = new CalculatorModel();
+      sequential.setCalculationMode(mode);
+      repeated.setCalculationMode(mode);
+
+      sequential.calculate(DIVIDE, BigDecimal.ONE, new BigDecimal(3));
+      repeated.calculate(DIVIDE, BigDecimal.ONE, new BigDecimal(3));
+      BigDecimal expected = null;
+      for (int i = 0; i < 3; i++) {
+        expected = sequential.calculate(SQRT);
+      }
+      for (int i = 0; i < 2; i++) {
+        expected = sequential.calculate(POW);
+      }
+      repeated.calculate(SQRT, 3);
+      BigDecimal actual = repeated.calculate(POW, 2);
+
+      assertEquals(sequential.getExactValue(expected), repeated.getExactValue(actual), mode.toString());
+    }
+  }
+
+  @Test
+  void wrongArgumentsTest() {
+    CalculatorModel calc = new CalculatorModel();
+    assertThrows(IllegalArgumentException.class, () -> calc.calculate(ADD, 2));
+    assertThrows(IllegalArgumentException.class, () -> calc.calculate(POW, 0));
+  }
+
+  /**
+   * Check, that repeated operation gives the same result or exception, that separate operations give
+   */
+  private void check(ArithmeticOperation operation, String number, int repetitions) {
+    String message = operation + " " + number + " x" + repetitions;
+    CalculatorModel sequential = new CalculatorModel();
+    CalculatorModel repeated = new CalculatorModel();
+
+    BigDecimal expected = null;
+    CalculatorExceptionType expectedType = null;
+    try {
+      sequential.calculate(new BigDecimal(number));
+      for (int i = 0; i < repetitions; i++) {
+        expected = sequential.calculate(operation);
+      }
+    } catch (CalculatorException e) {
+      expectedType = e.getType();
+    }
+
+    try {
+      repeated.calculate(new BigDecimal(number));
+      BigDecimal actual = repeated.calculate(operation, repetitions);
+      assertNull(expectedType, message);
+      assertEquals(expected, actual, message);
+    } catch (CalculatorException e) {
+      assertEquals(expectedType, e.getType(), message);
+    }
+  }
+}
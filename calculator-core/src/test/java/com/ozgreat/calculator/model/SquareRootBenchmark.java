@@ -0,0 +1,65 @@
+package com.ozgreat.calculator.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compares latency of square root, that was calculated by {@link BigDecimal#sqrt(MathContext)}, with
+ * {@link SquareRoot} and with {@link CalculationMode#ADAPTIVE_PRECISION} mode of {@link CalculatorModel}.
+ * Run it with {@code main}, it isn't a test.
+ *
+ * @author ozgreat
+ */
+public class SquareRootBenchmark {
+  private static final MathContext SQRT_CONTEXT = new MathContext(10000);
+
+  private static final int WARMUP_ITERATIONS = 50;
+
+  private static final int ITERATIONS = 200;
+
+  public static void main(String[] args) {
+    BigDecimal third = BigDecimal.ONE.divide(new BigDecimal(3), CalculatorModel.DIVIDE_SCALE, RoundingMode.HALF_UP);
+    BigDecimal[] numbers = {new BigDecimal(2), new BigDecimal("123456789.987654321"), third};
+
+    for (BigDecimal number : numbers) {
+      String name = number.precision() > 20 ? "1/3 with 10000 digits" : number.toString();
+      double old = measure(x -> x.sqrt(SQRT_CONTEXT), number);
+      double engine = measure(x -> SquareRoot.sqrt(x, SQRT_CONTEXT), number);
+      double adaptive = measure(SquareRootBenchmark::adaptiveSqrt, number);
+
+      System.out.printf("%-24s BigDecimal.sqrt %10.1f us, SquareRoot %10.1f us, adaptive %10.1f us%n",
+          name, old, engine, adaptive);
+    }
+  }
+
+  private static BigDecimal adaptiveSqrt(BigDecimal number) {
+    CalculatorModel calc = new CalculatorModel();
+    calc.setCalculationMode(CalculationMode.ADAPTIVE_PRECISION);
+    try {
+      calc.calculate(number);
+      return calc.calculate(ArithmeticOperation.SQRT);
+    } catch (CalculatorException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static double measure(UnaryOperator<BigDecimal> sqrt, BigDecimal number) {
+    int hash = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      hash += sqrt.apply(number).hashCode();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      hash += sqrt.apply(number).hashCode();
+    }
+    long time = System.nanoTime() - start;
+
+    if (hash == 42) {
+      System.out.println();
+    }
+    return time / 1000.0 / ITERATIONS;
+  }
+}
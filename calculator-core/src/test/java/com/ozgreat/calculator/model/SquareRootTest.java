@@ -0,0 +1,74 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareRootTest {
+  private static final RoundingMode[] ROUNDING_MODES = {RoundingMode.HALF_UP, RoundingMode.FLOOR, RoundingMode.CEILING};
+
+  @Test
+  void sqrtTest() {
+    checkAll("2");
+    checkAll("4");
+    checkAll("0.04");
+    checkAll("0.4");
+    checkAll("1E+7");
+    checkAll("1E-9999");
+    checkAll("123456789.987654321");
+    checkAll("9999999999999999");
+    checkAll("0.0000000000000000000000000000000000001");
+
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      checkAll(new BigDecimal(new BigInteger(random.nextInt(200) + 1, random), random.nextInt(100) - 50).toString());
+    }
+  }
+
+  @Test
+  void fullPrecisionTest() {
+    MathContext mathContext = new MathContext(10000);
+    BigDecimal third = BigDecimal.ONE.divide(new BigDecimal(3), CalculatorModel.DIVIDE_SCALE, RoundingMode.HALF_UP);
+
+    assertEquals(0, new BigDecimal(2).sqrt(mathContext).compareTo(SquareRoot.sqrt(new BigDecimal(2), mathContext)));
+    assertEquals(0, third.sqrt(mathContext).compareTo(SquareRoot.sqrt(third, mathContext)));
+  }
+
+  @Test
+  void isExactTest() {
+    assertTrue(SquareRoot.isExact(BigDecimal.ZERO));
+    assertTrue(SquareRoot.isExact(new BigDecimal("6.25E-4")));
+    assertTrue(SquareRoot.isExact(new BigDecimal("1E+10")));
+    assertTrue(SquareRoot.isExact(new BigDecimal("1.44")));
+    assertTrue(SquareRoot.isExact(new BigDecimal("0.0400")));
+    assertFalse(SquareRoot.isExact(new BigDecimal("2")));
+    assertFalse(SquareRoot.isExact(new BigDecimal("0.4")));
+    assertFalse(SquareRoot.isExact(new BigDecimal("1E+9")));
+  }
+
+  @Test
+  void integerSqrtTest() {
+    Random random = new Random(7);
+    for (int i = 0; i < 2000; i++) {
+      BigInteger number = new BigInteger(random.nextInt(5000) + 1, random);
+      assertEquals(number.sqrt(), SquareRoot.sqrt(number));
+    }
+  }
+
+  private void checkAll(String number) {
+    BigDecimal x = new BigDecimal(number);
+    for (RoundingMode roundingMode : ROUNDING_MODES) {
+      for (int precision : new int[]{1, 2, 16, 32, 100}) {
+        MathContext mathContext = new MathContext(precision, roundingMode);
+        BigDecimal expected = x.sqrt(mathContext);
+        assertEquals(0, expected.compareTo(SquareRoot.sqrt(x, mathContext)), number + " " + mathContext);
+      }
+    }
+  }
+}
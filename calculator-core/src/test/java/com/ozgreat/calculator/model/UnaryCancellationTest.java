@@ -0,0 +1,107 @@
+package com.ozgreat.calculator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.ozgreat.calculator.model.ArithmeticOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnaryCancellationTest {
+  @Test
+  void cancelTest() throws CalculatorException {
+    checkCancel("3", SQRT, POW);
+    checkCancel("2", POW, SQRT);
+    checkCancel("-5", NEGATE, NEGATE);
+    checkCancel("7", REVERSE, REVERSE);
+    checkCancel("0.1", SQRT, SQRT, POW, POW);
+    checkCancel("123.456", REVERSE, SQRT, NEGATE, NEGATE, POW, REVERSE);
+  }
+
+  @Test
+  void notCancelTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.calculate(new BigDecimal(-3));
+    calc.calculate(POW);
+    assertFalse(calc.isCancelling(SQRT));
+    assertEquals(new BigDecimal(3), calc.calculate(SQRT));
+
+    calc = new CalculatorModel();
+    calc.calculate(new BigDecimal(3));
+    calc.calculate(SQRT);
+    assertFalse(calc.isCancelling(REVERSE));
+    assertFalse(calc.isCancelling(SQRT));
+    assertTrue(calc.isCancelling(POW));
+
+    calc.calculate(ADD);
+    assertFalse(calc.isCancelling(POW));
+  }
+
+  @Test
+  void rightOperandTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    calc.calculate(new BigDecimal(2));
+    calc.calculate(ADD);
+    BigDecimal seven = new BigDecimal(7);
+    calc.calculate(SQRT, seven);
+    assertTrue(calc.isCancelling(POW));
+    assertSame(seven, calc.calculate(POW));
+    assertEquals(new BigDecimal(9), calc.calculate(seven));
+  }
+
+  @Test
+  void modesTest() throws CalculatorException {
+    for (CalculationMode mode : CalculationMode.values()) {
+      CalculatorModel calc = new CalculatorModel();
+      calc.setCalculationMode(mode);
+      BigDecimal third = calc.calculate(DIVIDE, BigDecimal.ONE, new BigDecimal(3));
+      BigDecimal exact = calc.getExactValue(third);
+
+      calc.calculate(SQRT);
+      calc.calculate(REVERSE);
+      calc.calculate(REVERSE);
+      assertSame(third, calc.calculate(POW), mode.toString());
+      assertEquals(exact, calc.getExactValue(third), mode.toString());
+    }
+  }
+
+  @Test
+  void repeatedTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    BigDecimal two = calc.calculate(new BigDecimal(2));
+    calc.calculate(SQRT, 5);
+    assertSame(two, calc.calculate(POW, 5));
+
+    calc.calculate(SQRT, 3);
+    BigDecimal root = calc.calculate(SQRT);
+    calc.calculate(POW);
+    calc.calculate(SQRT);
+    assertSame(two, calc.calculate(POW, 4));
+    assertNotEquals(root, calc.calculate(SQRT));
+  }
+
+  @Test
+  void snapshotTest() throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    BigDecimal three = calc.calculate(new BigDecimal(3));
+    calc.calculate(SQRT);
+    CalculatorSnapshot snapshot = calc.getSnapshot();
+
+    CalculatorSnapshot next = CalculatorModel.next(snapshot, CalculatorInput.calculate(POW));
+    assertSame(three, next.getResult());
+    assertSame(three, CalculatorModel.next(snapshot, CalculatorInput.calculate(POW)).getResult());
+  }
+
+  /**
+   * Check, that inverse operations applied in reverse order give the first operand back
+   */
+  private void checkCancel(String number, ArithmeticOperation... operations) throws CalculatorException {
+    CalculatorModel calc = new CalculatorModel();
+    BigDecimal operand = calc.calculate(new BigDecimal(number));
+    BigDecimal res = operand;
+    for (ArithmeticOperation operation : operations) {
+      res = calc.calculate(operation);
+    }
+    assertSame(operand, res, number);
+  }
+}
@@ -0,0 +1,79 @@
+package com.ozgreat.calculator.script;
+
+import com.ozgreat.calculator.controller.BatchEvaluator;
+import com.ozgreat.calculator.controller.BatchStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.ozgreat.calculator.controller.CalculatorKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScriptRunnerTest {
+
+  @Test
+  void parseTest() {
+    assertEquals(List.of(DIGIT_1, DIGIT_2, POINT, DIGIT_5, ADD, DIGIT_3, EQUALS), KeystrokeScript.parse("12.5 + 3 ="));
+    assertEquals(List.of(DIGIT_9, SQRT, POW, REVERSE, NEGATE, PERCENT, MULTIPLY, DIVIDE, SUBTRACT),
+        KeystrokeScript.parse("  9 √\tsqr 1/ negate % × ÷ -  "));
+    assertEquals(List.of(DIGIT_7, MEMORY_SAVE, CLEAR, CLEAR_ENTRY, BACKSPACE, MEMORY_RECALL, MEMORY_ADD,
+        MEMORY_SUB, MEMORY_CLEAR), KeystrokeScript.parse("7 MS C CE ⌫ MR M+ M- MC"));
+    assertEquals(List.of(), KeystrokeScript.parse(""));
+
+    assertThrows(IllegalArgumentException.class, () -> KeystrokeScript.parse("2 * 2"));
+    assertThrows(IllegalArgumentException.class, () -> KeystrokeScript.parse("1e5"));
+  }
+
+  @Test
+  void runTest() throws IOException {
+    BatchStatistics statistics = checkRun(new ScriptRunner(),
+        "2 + =\n5 ÷ 0 =\n\n1 ÷ 3 = 1/\r\n4 M+ M+ MR\n2 ^ 2\n12.5 × 2 negate =",
+        "4\nCannot divide by zero\n0\n3\n8\nError: Unknown key in script: ^\n-25\n");
+    assertEquals(7, statistics.getSequences());
+    assertEquals(1, statistics.getErrors());
+
+    checkRun("9 √ =\n", "3\n");
+    checkRun("", "");
+  }
+
+  @Test
+  void bigInputTest() throws IOException {
+    StringBuilder input = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      input.append(i).append(" + ").append(i).append(" =\n");
+      expected.append(String.format(Locale.US, "%,d\n", 2 * i));
+    }
+    input.append("1 ".repeat(40000)).append("1 + =\n");
+    expected.append("2,222,222,222,222,222\n");
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    BatchStatistics statistics = checkRun(new ScriptRunner(new BatchEvaluator(pool, 100)), input.toString(),
+        expected.toString());
+    pool.shutdown();
+
+    assertEquals(20001, statistics.getSequences());
+    assertEquals(0, statistics.getErrors());
+  }
+
+  private static void checkRun(String input, String expected) throws IOException {
+    checkRun(new ScriptRunner(), input, expected);
+  }
+
+  private static BatchStatistics checkRun(ScriptRunner runner, String input, String expected) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BatchStatistics statistics = runner.run(
+        Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+        Channels.newChannel(output));
+
+    assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    return statistics;
+  }
+}
@@ -0,0 +1,114 @@
+package com.ozgreat.calculator.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculatorServerTest {
+  private CalculatorServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new CalculatorServer(0, new SessionTable(2, Duration.ofMinutes(1)));
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(Duration.ZERO);
+  }
+
+  @Test
+  void calculateTest() throws IOException {
+    assertEquals(Map.of("session", "a", "display", "12.5", "formula", "12.5 \u00D7", "exception", false),
+        post(200, "{\"session\": \"a\", \"keys\": [\"12.5\", \"\u00D7\"]}"));
+    assertEquals(Map.of("session", "a", "display", "25", "formula", "", "exception", false),
+        post(200, "{\"session\": \"a\", \"keys\": [\"2 =\"]}"));
+    assertEquals(Map.of("session", "b", "display", "Cannot divide by zero", "formula", "", "exception", true),
+        post(200, "{\"session\": \"b\", \"keys\": [\"5\", \"\u00F7\", \"0\", \"=\"]}"));
+    assertEquals(Map.of("session", "a", "display", "25", "formula", "", "exception", false),
+        post(200, "{\"session\": \"a\", \"keys\": []}"));
+  }
+
+  @Test
+  void errorTest() throws IOException {
+    assertTrue(post(400, "{\"session\": \"a\", \"keys\": [\"2 ^ 2\"]}").containsKey("error"));
+    assertTrue(post(400, "{\"session\": \"a\", \"keys\": \"2\"}").containsKey("error"));
+    assertTrue(post(400, "{\"session\": 1, \"keys\": []}").containsKey("error"));
+    assertTrue(post(400, "{\"session\": \"a\"").containsKey("error"));
+    assertTrue(post(400, "[]").containsKey("error"));
+
+    post(200, "{\"session\": \"a\", \"keys\": []}");
+    post(200, "{\"session\": \"b\", \"keys\": []}");
+    assertTrue(post(503, "{\"session\": \"c\", \"keys\": []}").containsKey("error"));
+
+    HttpURLConnection connection = open(CalculatorServer.CALCULATE_PATH);
+    assertEquals(405, connection.getResponseCode());
+    connection.disconnect();
+  }
+
+  @Test
+  void metricsTest() throws IOException {
+    post(200, "{\"session\": \"a\", \"keys\": [\"1\"]}");
+    server.getSessions().deflateIdle();
+
+    HttpURLConnection connection = open(CalculatorServer.METRICS_PATH);
+    assertEquals(200, connection.getResponseCode());
+    try (InputStream body = connection.getInputStream()) {
+      Map<?, ?> metrics = (Map<?, ?>) Json.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+      assertEquals(BigDecimal.ONE, metrics.get("liveSessions"));
+      assertEquals(BigDecimal.ZERO, metrics.get("spilledSessions"));
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Test
+  void jsonTest() {
+    assertEquals(Map.of("a", List.of("x\"\n\u00D7", true, false, new BigDecimal("-1.5e3")), "b", Map.of()),
+        Json.parse(" {\"a\" : [\"x\\\"\\n\\u00d7\", true, false, -1.5e3], \"b\": {}} "));
+    assertNull(Json.parse("null"));
+    assertEquals("\"a\\\\b\\\"c\\u0001\"", Json.quote(new StringBuilder(), "a\\b\"c\u0001").toString());
+
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\": 1} 2"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("[1, ]"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("1.2.3"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("\"a"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("\"\\x\""));
+  }
+
+  private Map<?, ?> post(int status, String json) throws IOException {
+    HttpURLConnection connection = open(CalculatorServer.CALCULATE_PATH);
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    try (OutputStream body = connection.getOutputStream()) {
+      body.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    assertEquals(status, connection.getResponseCode());
+    try (InputStream body = status == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+      return (Map<?, ?>) Json.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private HttpURLConnection open(String path) throws IOException {
+    URL url = URI.create("http://localhost:" + server.getPort() + path).toURL();
+    return (HttpURLConnection) url.openConnection();
+  }
+}
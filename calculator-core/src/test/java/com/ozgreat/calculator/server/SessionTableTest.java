@@ -0,0 +1,184 @@
+package com.ozgreat.calculator.server;
+
+import com.ozgreat.calculator.controller.CalculatorKey;
+import com.ozgreat.calculator.controller.CalculatorSession;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.ozgreat.calculator.controller.CalculatorKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionTableTest {
+
+  @Test
+  void sessionTest() {
+    SessionTable table = new SessionTable(10, Duration.ofMinutes(1));
+
+    table.apply("a", session -> {
+      session.press(List.of(DIGIT_2, ADD));
+      return null;
+    });
+    table.apply("b", session -> {
+      session.press(DIGIT_7);
+      return null;
+    });
+    assertEquals("4", table.apply("a", session -> {
+      session.press(EQUALS);
+      return session.getDisplay();
+    }));
+    assertEquals("7", table.apply("b", CalculatorSession::getDisplay));
+    assertEquals(2, table.size());
+
+    assertTrue(table.remove("a"));
+    assertFalse(table.remove("a"));
+    assertEquals("0", table.apply("a", CalculatorSession::getDisplay));
+  }
+
+  @Test
+  void deflateTest() {
+    AtomicLong time = new AtomicLong();
+    SessionTable table = new SessionTable(10, Duration.ofNanos(100), null, time::get);
+
+    press(table, "a", List.of(DIGIT_2, ADD));
+    time.set(50);
+    press(table, "b", List.of(DIGIT_7));
+    time.set(120);
+    assertEquals(1, table.deflateIdle());
+    assertEquals(0, table.deflateIdle());
+
+    SessionMetrics metrics = table.getMetrics();
+    assertEquals(1, metrics.getLiveSessions());
+    assertEquals(1, metrics.getCompactSessions());
+    assertTrue(metrics.getCompactBytes() > 0);
+    assertEquals(metrics.getCompactBytes(), metrics.getBytesPerCompactSession());
+
+    assertEquals("4", press(table, "a", List.of(EQUALS)));
+    metrics = table.getMetrics();
+    assertEquals(2, metrics.getLiveSessions());
+    assertEquals(0, metrics.getCompactSessions());
+    assertEquals(0, metrics.getCompactBytes());
+    assertEquals(1, metrics.getDeflations());
+    assertEquals(1, metrics.getInflations());
+  }
+
+  @Test
+  void evictionTest() {
+    AtomicLong time = new AtomicLong();
+    SessionTable table = new SessionTable(2, Duration.ofNanos(100), null, time::get);
+
+    press(table, "a", List.of(DIGIT_5));
+    time.set(50);
+    press(table, "b", List.of(DIGIT_6));
+    assertThrows(SessionLimitException.class, () -> table.apply("c", session -> null));
+
+    time.set(120);
+    table.apply("c", session -> null); // a is removed, when table is full
+    assertEquals(2, table.size());
+    assertThrows(SessionLimitException.class, () -> table.apply("d", session -> null));
+
+    time.set(150);
+    assertEquals("0", press(table, "a", List.of())); // b is removed
+    assertEquals(2, table.size());
+    assertEquals(0, table.getMetrics().getSpills());
+  }
+
+  @Test
+  void spillTest() throws IOException {
+    Path directory = Files.createTempDirectory("sessions");
+    try {
+      AtomicLong time = new AtomicLong();
+      SessionTable table = new SessionTable(2, Duration.ofMinutes(1), directory, time::get);
+
+      press(table, "a", List.of(DIGIT_7, ADD));
+      time.set(10);
+      press(table, "b", List.of(DIGIT_8, MULTIPLY));
+      time.set(20);
+      press(table, "c", List.of(DIGIT_9));
+      assertEquals(1, table.getMetrics().getSpilledSessions());
+
+      time.set(30);
+      table.deflateIdle();
+      assertEquals("9", press(table, "a", List.of(DIGIT_2, EQUALS)));
+      assertEquals(2, table.size());
+
+      SessionMetrics metrics = table.getMetrics();
+      assertEquals(2, metrics.getSpills());
+      assertEquals(1, metrics.getLoads());
+      assertEquals(1, metrics.getSpilledSessions());
+
+      SessionTable restarted = new SessionTable(2, Duration.ofMinutes(1), directory);
+      assertEquals(1, restarted.getMetrics().getSpilledSessions());
+      assertEquals("64", press(restarted, "b", List.of(EQUALS)));
+      assertEquals(0, restarted.getMetrics().getSpilledSessions());
+
+      time.set(40);
+      press(table, "d", List.of()); // c is spilled
+      assertTrue(table.remove("c"));
+      assertFalse(table.remove("c"));
+      assertTrue(table.remove("a"));
+      assertEquals("0", press(table, "c", List.of()));
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(0, files.count());
+      }
+    } finally {
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  void parallelTest() throws InterruptedException {
+    SessionTable table = new SessionTable(4, Duration.ofMinutes(1));
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      String id = String.valueOf(i % 4);
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 500; j++) {
+          table.apply(id, session -> {
+            session.press(List.of(DIGIT_1, ADD));
+            return null;
+          });
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals("1,000", table.apply(String.valueOf(i), session -> {
+        session.press(DIGIT_0);
+        session.press(EQUALS);
+        return session.getDisplay();
+      }));
+    }
+  }
+
+  @Test
+  void wrongArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> new SessionTable(0, Duration.ofMinutes(1)));
+    assertThrows(IllegalArgumentException.class, () -> new SessionTable(1, Duration.ZERO));
+  }
+
+  private static String press(SessionTable table, String id, List<CalculatorKey> keys) {
+    return table.apply(id, session -> {
+      session.press(keys);
+      return session.getDisplay();
+    });
+  }
+}
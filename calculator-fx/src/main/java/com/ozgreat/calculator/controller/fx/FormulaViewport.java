@@ -0,0 +1,178 @@
+package com.ozgreat.calculator.controller.fx;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Visible part of formula on formula label. Viewport keeps widths of all formula's prefixes, so width of any part
+ * of formula is difference of two prefix widths. Prefix widths are counted again only after the first changed symbol,
+ * when formula changes, and visible part is found with binary search
+ *
+ * @author ozgreat
+ * @see RootController
+ */
+final class FormulaViewport {
+  /**
+   * Measures width of one glyph
+   */
+  private final IntToDoubleFunction glyphMeasure;
+
+  /**
+   * Widths of measured glyphs
+   */
+  private final Map<Character, Double> glyphWidths = new HashMap<>();
+
+  /**
+   * Whole formula
+   */
+  private String formula = "";
+
+  /**
+   * Width of formula's prefix with length of index, first element is always zero
+   */
+  private double[] prefixWidths = new double[64];
+
+  /**
+   * Index of first visible symbol of formula
+   */
+  private int begin;
+
+  /**
+   * Index after last visible symbol of formula
+   */
+  private int end;
+
+  /**
+   * @param glyphMeasure function, that measures width of symbol
+   */
+  FormulaViewport(IntToDoubleFunction glyphMeasure) {
+    this.glyphMeasure = glyphMeasure;
+  }
+
+  /**
+   * Set new formula and show its end
+   *
+   * @param formula new formula
+   * @param width   width of formula label
+   */
+  void setFormula(String formula, double width) {
+    int common = 0;
+    int maxCommon = Math.min(formula.length(), this.formula.length());
+    while (common < maxCommon && formula.charAt(common) == this.formula.charAt(common)) {
+      common++;
+    }
+
+    if (formula.length() >= prefixWidths.length) {
+      prefixWidths = Arrays.copyOf(prefixWidths, Math.max(formula.length() + 1, 2 * prefixWidths.length));
+    }
+    for (int i = common; i < formula.length(); i++) {
+      prefixWidths[i + 1] = prefixWidths[i] + glyphWidth(formula.charAt(i));
+    }
+    this.formula = formula;
+
+    end = formula.length();
+    begin = firstBegin(end, width);
+  }
+
+  /**
+   * Move visible part to the end of formula. Amount of visible symbols is kept, if they fit in label
+   *
+   * @param shift maximum amount of symbols to move
+   * @param width width of formula label
+   */
+  void moveRight(int shift, double width) {
+    int moved = Math.min(end + shift, formula.length()) - end;
+    begin += moved;
+    end += moved;
+
+    if (prefixWidths[end] - prefixWidths[begin] > width) {
+      begin = firstBegin(end, width);
+    }
+  }
+
+  /**
+   * Move visible part to the beginning of formula. Amount of visible symbols is kept, if they fit in label
+   *
+   * @param shift maximum amount of symbols to move
+   * @param width width of formula label
+   */
+  void moveLeft(int shift, double width) {
+    int moved = begin - Math.max(begin - shift, 0);
+    begin -= moved;
+    end -= moved;
+
+    if (prefixWidths[end] - prefixWidths[begin] > width) {
+      end = lastEnd(begin, width);
+    }
+  }
+
+  String getVisibleText() {
+    return formula.substring(begin, end);
+  }
+
+  /**
+   * Check, that formula has hidden symbols before visible part
+   *
+   * @return true if there are hidden symbols
+   */
+  boolean isLeftHidden() {
+    return begin > 0;
+  }
+
+  /**
+   * Check, that formula has hidden symbols after visible part
+   *
+   * @return true if there are hidden symbols
+   */
+  boolean isRightHidden() {
+    return end < formula.length();
+  }
+
+  /**
+   * Find first symbol, that visible part, which ends before end index, can begin with
+   *
+   * @param end   index after last visible symbol
+   * @param width width of formula label
+   * @return index of first visible symbol
+   */
+  private int firstBegin(int end, double width) {
+    int low = 0;
+    int high = end;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (prefixWidths[end] - prefixWidths[middle] <= width) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Find last index, that visible part, which begins with begin index, can end before
+   *
+   * @param begin index of first visible symbol
+   * @param width width of formula label
+   * @return index after last visible symbol
+   */
+  private int lastEnd(int begin, double width) {
+    int low = begin;
+    int high = formula.length();
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (prefixWidths[middle] - prefixWidths[begin] <= width) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  private double glyphWidth(char glyph) {
+    return glyphWidths.computeIfAbsent(glyph, glyphMeasure::applyAsDouble);
+  }
+}
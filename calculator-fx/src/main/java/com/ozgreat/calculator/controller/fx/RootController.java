@@ -0,0 +1,786 @@
+package com.ozgreat.calculator.controller.fx;
+
+import com.ozgreat.calculator.controller.CalculatorKey;
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.controller.SessionFile;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * FX Controller for {@link com.ozgreat.calculator.view.Root}
+ *
+ * @author ozgreat
+ * @see CalculatorSession
+ * @see com.ozgreat.calculator.view.Root
+ */
+public class RootController {
+  /**
+   * Background of history pane
+   */
+  private static final Background BACKGROUND = new Background(new BackgroundFill(Paint.valueOf("#f2f2f2"), CornerRadii.EMPTY, Insets.EMPTY));
+
+  /**
+   * Modifier mask of key without modifiers
+   */
+  private static final int NO_MODIFIERS = 0;
+
+  /**
+   * Bit of shift in modifier mask
+   */
+  private static final int SHIFT_MASK = 1;
+
+  /**
+   * Bit of control in modifier mask
+   */
+  private static final int CONTROL_MASK = 1 << 1;
+
+  /**
+   * Bit of alt in modifier mask
+   */
+  private static final int ALT_MASK = 1 << 2;
+
+  /**
+   * Bit of meta in modifier mask
+   */
+  private static final int META_MASK = 1 << 3;
+
+  /**
+   * Amount of different modifier masks
+   */
+  private static final int MODIFIER_MASKS = 1 << 4;
+
+  /**
+   * Keys, that type digits, every digit key is at index of its digit
+   */
+  private static final KeyCode[] DIGIT_KEYS = {KeyCode.DIGIT0, KeyCode.DIGIT1, KeyCode.DIGIT2, KeyCode.DIGIT3,
+      KeyCode.DIGIT4, KeyCode.DIGIT5, KeyCode.DIGIT6, KeyCode.DIGIT7, KeyCode.DIGIT8, KeyCode.DIGIT9};
+
+  /**
+   * Numpad keys, that type digits, every digit key is at index of its digit
+   */
+  private static final KeyCode[] NUMPAD_KEYS = {KeyCode.NUMPAD0, KeyCode.NUMPAD1, KeyCode.NUMPAD2, KeyCode.NUMPAD3,
+      KeyCode.NUMPAD4, KeyCode.NUMPAD5, KeyCode.NUMPAD6, KeyCode.NUMPAD7, KeyCode.NUMPAD8, KeyCode.NUMPAD9};
+
+  /**
+   * Duration of opening sidebar
+   */
+  private static final int OPEN_SIDEBAR_DURATION_IN_MILLIS = 200;
+
+  /**
+   * Sidebar's opening shift value
+   */
+  private static final int SIDEBAR_SHIFT_IN_PIXELS = 272;
+
+  /**
+   * Formula on display maximum length
+   */
+  private static final int FORMULA_MAX_SHIFT_LENGTH = 40;
+
+  /**
+   * Default display font
+   */
+  private static final Font DEFAULT_FONT = new Font("Segoe UI", 14);
+
+  /**
+   * Time of action in progress, after which display shows, that calculator is busy
+   */
+  private static final int BUSY_DELAY_IN_MILLIS = 100;
+
+  /**
+   * Pseudo class of display, when calculator is busy
+   */
+  private static final PseudoClass BUSY = PseudoClass.getPseudoClass("busy");
+
+  /**
+   * Interval of saving session to file, while window is open
+   */
+  private static final int SAVE_INTERVAL_IN_SECONDS = 10;
+
+  /**
+   * Time, that closing window waits for the last saving of session
+   */
+  private static final int SUSPEND_TIMEOUT_IN_MILLIS = 1000;
+
+  /**
+   * Actions of keyboard shortcuts, action of key is at index {@code code.ordinal() * MODIFIER_MASKS + modifierMask},
+   * null if key does nothing
+   */
+  private final Runnable[] keyActions = new Runnable[KeyCode.values().length * MODIFIER_MASKS];
+
+  /**
+   * Label with number, display of calculator
+   */
+  @FXML
+  private Label display;
+
+  /**
+   * Button, that clear memory
+   */
+  @FXML
+  private Button memoryClearButton;
+
+  /**
+   * Button, that call number from memory
+   */
+  @FXML
+  private Button memoryRecallButton;
+
+  /**
+   * Button, that add current number to memory or save current number in memory, if memory isn't exist
+   */
+  @FXML
+  private Button memoryPlusButton;
+
+  /**
+   * Button, that subtract current number to memory or save negate of current number in memory, if memory isn't exist
+   */
+  @FXML
+  private Button memoryMinusButton;
+
+  /**
+   * Button, that save current number in memory
+   */
+  @FXML
+  private Button memorySaveButton;
+
+  /**
+   * Button, that open memory pane
+   */
+  @FXML
+  private Button memoryShow;
+
+  /**
+   * Pane, that close historyPane, if historyPane is opened.
+   */
+  @FXML
+  private AnchorPane historyUpperPane;
+
+  /**
+   * Pane with stub, where original calculator has history of operations
+   */
+  @FXML
+  private AnchorPane historyPane;
+
+  /**
+   * Label with stub text
+   */
+  @FXML
+  private Label historyLabel;
+
+  /**
+   * Button, that call percent action
+   */
+  @FXML
+  private Button percentButton;
+
+  /**
+   * Button, that call sqrt action
+   */
+  @FXML
+  private Button sqrtButton;
+
+  /**
+   * Button, that call pow action
+   */
+  @FXML
+  private Button powButton;
+
+  /**
+   * Button, that call divide action
+   */
+  @FXML
+  private Button divideButton;
+
+  /**
+   * Button, that call reverse action
+   */
+  @FXML
+  private Button reverseButton;
+
+  /**
+   * Button that call multiply action
+   */
+  @FXML
+  private Button multiplyButton;
+
+  /**
+   * Button, that call add action
+   */
+  @FXML
+  private Button addButton;
+
+  /**
+   * Button, that call subtract action
+   */
+  @FXML
+  private Button subtractButton;
+
+  /**
+   * Button, that type point at display
+   */
+  @FXML
+  private Button pointButton;
+
+  /**
+   * Button, that call negate action
+   */
+  @FXML
+  private Button negateButton;
+
+  /**
+   * Button, that move formula label to right
+   */
+  @FXML
+  private Button rightFormulaButton;
+
+  /**
+   * Button, that move formula label to left
+   */
+  @FXML
+  private Button leftFormulaButton;
+
+  /**
+   * Label with history of operation until equals action
+   */
+  @FXML
+  private Label formula;
+
+  /**
+   * Pane of side menu navigate bar
+   */
+  @FXML
+  private BorderPane sideMenuBorderPane;
+
+  /**
+   * Pane , that turn off side bar, when you click on
+   */
+  @FXML
+  private AnchorPane sideBarOffPane;
+
+  /**
+   * Label with text = "Standard", stub for mode of calculator
+   */
+  @FXML
+  private Label standardLabel;
+
+  /**
+   * Worker, that does actions of buttons with session, which keeps display and formula
+   */
+  private final SessionWorker worker;
+
+  /**
+   * State of session, that is shown in window
+   */
+  private SessionWorker.State shownState;
+
+  /**
+   * Presses of equals, that are done by the last action, if it's equals action and it isn't started yet. Auto-repeat
+   * of equals key is calculated in one step, while worker is busy. Null if the last action isn't equals action
+   */
+  private AtomicInteger waitingEquals;
+
+  /**
+   * Delay, after which busy display is shown, if action is still in progress
+   */
+  private final PauseTransition busyDelay = new PauseTransition(Duration.millis(BUSY_DELAY_IN_MILLIS));
+
+  /**
+   * Status of sidebar
+   */
+  private boolean isSideBarOpened = false;
+
+  /**
+   * Visible part of session's formula on formula Label
+   */
+  private final FormulaViewport formulaViewport = new FormulaViewport(RootController::measureGlyph);
+
+  /**
+   * Timer of saving session to file, null if session isn't saved
+   */
+  private Timeline saveTimer;
+
+  /**
+   * File of session, null if session isn't saved
+   */
+  private Path sessionFile;
+
+  /**
+   * Init session
+   */
+  public RootController() {
+    worker = new SessionWorker(Platform::runLater, this::showState);
+    shownState = worker.getState();
+    busyDelay.setOnFinished(event -> display.pseudoClassStateChanged(BUSY, worker.isBusy()));
+  }
+
+  @FXML
+  public void initialize() {
+    for (int i = 0; i < DIGIT_KEYS.length; i++) {
+      Runnable typing = typingAction(String.valueOf(i));
+      putKeyAction(DIGIT_KEYS[i], NO_MODIFIERS, typing);
+      putKeyAction(NUMPAD_KEYS[i], NO_MODIFIERS, typing);
+    }
+    putKeyAction(KeyCode.PERIOD, NO_MODIFIERS, typingAction(CalculatorKey.POINT.getText()));
+
+    putKeyAction(KeyCode.ESCAPE, NO_MODIFIERS, this::clearAction);
+    putKeyAction(KeyCode.DELETE, NO_MODIFIERS, this::clearEntryAction);
+    putKeyAction(KeyCode.BACK_SPACE, NO_MODIFIERS, this::backspaceButtonAction);
+    putKeyAction(KeyCode.EQUALS, NO_MODIFIERS, this::equalAction);
+    putKeyAction(KeyCode.P, CONTROL_MASK, memoryPlusButton::fire);
+    putKeyAction(KeyCode.Q, CONTROL_MASK, memoryMinusButton::fire);
+    putKeyAction(KeyCode.L, CONTROL_MASK, memoryClearButton::fire);
+    putKeyAction(KeyCode.M, CONTROL_MASK, memorySaveButton::fire);
+    putKeyAction(KeyCode.R, CONTROL_MASK, memoryRecallButton::fire);
+    putKeyAction(KeyCode.DIGIT8, SHIFT_MASK, multiplyButton::fire);
+    putKeyAction(KeyCode.EQUALS, SHIFT_MASK, addButton::fire);
+    putKeyAction(KeyCode.DIGIT2, SHIFT_MASK, sqrtButton::fire);
+    putKeyAction(KeyCode.F9, NO_MODIFIERS, negateButton::fire);
+    putKeyAction(KeyCode.DIGIT5, SHIFT_MASK, percentButton::fire);
+    putKeyAction(KeyCode.R, NO_MODIFIERS, reverseButton::fire);
+    putKeyAction(KeyCode.MINUS, NO_MODIFIERS, subtractButton::fire);
+    putKeyAction(KeyCode.SUBTRACT, NO_MODIFIERS, subtractButton::fire);
+    putKeyAction(KeyCode.ADD, NO_MODIFIERS, addButton::fire);
+    putKeyAction(KeyCode.MULTIPLY, NO_MODIFIERS, multiplyButton::fire);
+    putKeyAction(KeyCode.DIVIDE, NO_MODIFIERS, divideButton::fire);
+    putKeyAction(KeyCode.SLASH, NO_MODIFIERS, divideButton::fire);
+
+    formula.widthProperty().addListener(observable -> {
+      if (!shownState.getFormula().isEmpty()) {
+        formulaCalc();
+      }
+    });
+  }
+
+  /**
+   * Restore session from file, if file exists, and save session to this file every {@link #SAVE_INTERVAL_IN_SECONDS}.
+   * It's called before window is shown, so the first frame has restored display and formula. Session isn't restored,
+   * if file is broken or has other version, calculator starts from zero then
+   *
+   * @param file file of session
+   */
+  public void resume(Path file) {
+    sessionFile = file;
+    try {
+      CalculatorSession restored = SessionFile.load(file);
+      if (restored != null) {
+        worker.restore(restored);
+      }
+    } catch (IOException | RuntimeException e) {
+      e.printStackTrace();
+    }
+
+    saveTimer = new Timeline(new KeyFrame(Duration.seconds(SAVE_INTERVAL_IN_SECONDS), event -> saveSession()));
+    saveTimer.setCycleCount(Animation.INDEFINITE);
+    saveTimer.play();
+  }
+
+  /**
+   * Stop saving by timer and save session the last time. Closing waits for saving not longer than
+   * {@link #SUSPEND_TIMEOUT_IN_MILLIS}, so action in progress isn't saved, if it's too long
+   */
+  public void suspend() {
+    if (sessionFile == null) {
+      return;
+    }
+    saveTimer.stop();
+    try {
+      worker.save(sessionFile).get(SUSPEND_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      e.getCause().printStackTrace();
+    } catch (TimeoutException e) {
+      System.err.println("Session wasn't saved in " + SUSPEND_TIMEOUT_IN_MILLIS + " ms");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Processing of keys typed. Action is taken from {@link #keyActions} by key code and pressed modifiers
+   *
+   * @param event key, that user type
+   */
+  public void keyPressProcess(KeyEvent event) {
+    Runnable action = keyActions[keyIndex(event.getCode(), modifierMask(event))];
+    if (action != null) {
+      action.run();
+    }
+  }
+
+  /**
+   * Set action of keyboard shortcut
+   *
+   * @param code      code of key
+   * @param modifiers modifier mask, that has to be pressed with key
+   * @param action    action of shortcut
+   */
+  private void putKeyAction(KeyCode code, int modifiers, Runnable action) {
+    keyActions[keyIndex(code, modifiers)] = action;
+  }
+
+  /**
+   * Create action, that types digit or dot. Action doesn't create objects, when it runs
+   *
+   * @param value digit or decimal separator
+   * @return typing action
+   */
+  private Runnable typingAction(String value) {
+    Consumer<CalculatorSession> typing = session -> session.enterNumberOrDot(value);
+    return () -> doAction(typing);
+  }
+
+  private static int keyIndex(KeyCode code, int modifiers) {
+    return code.ordinal() * MODIFIER_MASKS + modifiers;
+  }
+
+  /**
+   * Get mask of modifiers, that are pressed
+   *
+   * @param event key event
+   * @return modifier mask from {@link #SHIFT_MASK}, {@link #CONTROL_MASK}, {@link #ALT_MASK} and {@link #META_MASK}
+   */
+  private static int modifierMask(KeyEvent event) {
+    int mask = NO_MODIFIERS;
+    if (event.isShiftDown()) {
+      mask |= SHIFT_MASK;
+    }
+    if (event.isControlDown()) {
+      mask |= CONTROL_MASK;
+    }
+    if (event.isAltDown()) {
+      mask |= ALT_MASK;
+    }
+    if (event.isMetaDown()) {
+      mask |= META_MASK;
+    }
+    return mask;
+  }
+
+  /**
+   * Typing of number or dot
+   *
+   * @param event event of button that we pressed
+   */
+  @FXML
+  public void addNumberOrDot(ActionEvent event) { // buttons 0-9 and '.'
+    String value = ((Button) event.getSource()).getText();
+    doAction(session -> session.enterNumberOrDot(value));
+  }
+
+  /**
+   * Setting text in textArea to default value and call clear in service. Actions in progress are cancelled
+   */
+  @FXML
+  public void clearAction() { //button C
+    if (worker.isBusy()) {
+      waitingEquals = null;
+      worker.cancel();
+    } else {
+      doAction(CalculatorSession::clear);
+    }
+  }
+
+  /**
+   * Setting text in display to 0
+   */
+  @FXML
+  public void clearEntryAction() {
+    doAction(CalculatorSession::clearEntry);
+  }
+
+  /**
+   * Entering binary operation
+   *
+   * @param event event of button that we pressed
+   */
+  @FXML
+  public void operationButtonAction(ActionEvent event) {
+    String operation = ((Button) event.getSource()).getText();
+    doAction(session -> session.enterOperation(operation));
+  }
+
+  /**
+   * Removing last symbol from display
+   */
+  @FXML
+  public void backspaceButtonAction() {
+    doAction(CalculatorSession::backspace);
+  }
+
+  /**
+   * Calling a calculation and displaying results. Press is added to the last equals action, if it isn't started yet
+   */
+  @FXML
+  public void equalAction() {
+    if (waitingEquals != null && waitingEquals.getAndUpdate(presses -> presses == 0 ? 0 : presses + 1) != 0) {
+      return;
+    }
+
+    AtomicInteger presses = new AtomicInteger(1);
+    doAction(session -> session.equal(presses.getAndSet(0)));
+    waitingEquals = presses;
+  }
+
+  /**
+   * Enter and calculate unary operation
+   *
+   * @param ae event, that call this method, is using for get a button, that pressed
+   */
+  @FXML
+  public void unaryOperationAction(ActionEvent ae) {
+    String operation = ((Button) ae.getSource()).getText();
+    doAction(session -> session.unaryOperation(operation));
+  }
+
+  /**
+   * Find the percent from number
+   *
+   * @param ae event, that call this method, is using for get a button, that pressed
+   */
+  @FXML
+  public void percentAction(ActionEvent ae) {
+    String operation = ((Button) ae.getSource()).getText();
+    doAction(session -> session.percent(operation));
+  }
+
+  /**
+   * Send display to model to save in memory. Turn on memory buttons, if they is disabled
+   */
+  @FXML
+  public void memorySaveAction() {
+    doAction(CalculatorSession::memorySave);
+  }
+
+  /**
+   * Set on display the last number from memory, if memory is not empty
+   */
+  @FXML
+  public void memoryRecallAction() {
+    doAction(CalculatorSession::memoryRecall);
+  }
+
+  /**
+   * Delete memory number, if there is exists
+   */
+  @FXML
+  public void memoryClearAction() {
+    doAction(CalculatorSession::memoryClear);
+  }
+
+  /**
+   * Send number from display to memory and add to existing
+   */
+  @FXML
+  public void memoryPlusAction() {
+    doAction(CalculatorSession::memoryAdd);
+  }
+
+  /**
+   * Send number from display to memory and subtract from existing
+   */
+  @FXML
+  public void memoryMinusAction() {
+    doAction(CalculatorSession::memorySub);
+  }
+
+  /**
+   * Open history pane stub, disable buttons that have to
+   */
+  @FXML
+  public void historyAction() {
+    boolean flag = historyPane.isDisable();
+
+    historyPane.setDisable(!flag);
+    historyUpperPane.setDisable(!flag);
+    historyLabel.setVisible(flag);
+    historyUpperPane.setVisible(flag);
+    memoryRecallButton.setDisable(flag);
+    memoryClearButton.setDisable(flag);
+    memoryPlusButton.setDisable(flag);
+    memoryMinusButton.setDisable(flag);
+    memoryShow.setDisable(flag);
+    memorySaveButton.setDisable(flag);
+
+    Background background;
+    if (flag) {
+      background = BACKGROUND;
+    } else {
+      background = Background.EMPTY;
+      memoryDisableIfEmpty();
+    }
+    historyPane.setBackground(background);
+  }
+
+
+  /**
+   * Open side bar stub
+   */
+  @FXML
+  public void openSideBar() {
+    Duration duration = Duration.millis(OPEN_SIDEBAR_DURATION_IN_MILLIS);
+    TranslateTransition transition = new TranslateTransition(duration, sideMenuBorderPane);
+    if (isSideBarOpened) {
+      transition.setByX(-SIDEBAR_SHIFT_IN_PIXELS);
+    } else {
+      transition.setByX(SIDEBAR_SHIFT_IN_PIXELS);
+    }
+    transition.play();
+    standardLabel.setVisible(!standardLabel.isVisible());
+    sideBarOffPane.setVisible(!sideBarOffPane.isVisible());
+    isSideBarOpened = !isSideBarOpened;
+  }
+
+  /**
+   * Open memory pane stub
+   */
+  @FXML
+  public void memoryShowAction() {
+    historyAction();
+    historyLabel.setVisible(false);
+    memoryShow.setDisable(shownState.isMemoryEmpty());
+  }
+
+  /**
+   * Move text in formula label to right
+   */
+  @FXML
+  public void rightFormulaButtonAction() {
+    formulaViewport.moveRight(FORMULA_MAX_SHIFT_LENGTH, formula.getWidth());
+    showFormulaViewport();
+  }
+
+  /**
+   * Move text in formula label to left
+   */
+  @FXML
+  public void leftFormulaButtonAction() {
+    formulaViewport.moveLeft(FORMULA_MAX_SHIFT_LENGTH, formula.getWidth());
+    showFormulaViewport();
+  }
+
+  /**
+   * Submit action of session to worker. Busy display is shown, if action takes long
+   *
+   * @param action action to do
+   */
+  private void doAction(Consumer<CalculatorSession> action) {
+    waitingEquals = null;
+    worker.submit(action);
+    if (worker.isBusy() && busyDelay.getStatus() != Animation.Status.RUNNING) {
+      busyDelay.playFromStart();
+    }
+  }
+
+  /**
+   * Show new state of session. Formula is laid out again only if it was changed
+   *
+   * @param state state of session after action
+   */
+  private void showState(SessionWorker.State state) {
+    SessionWorker.State prevState = shownState;
+    shownState = state;
+
+    if (!worker.isBusy()) {
+      busyDelay.stop();
+      display.pseudoClassStateChanged(BUSY, false);
+    }
+
+    display.setText(state.getDisplay());
+    if (state.getFormula().isEmpty()) {
+      clearFormula();
+    } else if (!state.getFormula().equals(prevState.getFormula())) {
+      formulaCalc();
+    }
+
+    if (prevState.isException() != state.isException()) {
+      disableButtonIfError();
+      if (!state.isException()) {
+        memoryDisableIfEmpty();
+      }
+    } else if (prevState.isMemoryEmpty() != state.isMemoryEmpty()) {
+      memoryDisableIfEmpty();
+    }
+  }
+
+  private void saveSession() {
+    worker.save(sessionFile).exceptionally(e -> {
+      e.printStackTrace();
+      return null;
+    });
+  }
+
+  private void formulaCalc() {
+    formulaViewport.setFormula(shownState.getFormula(), formula.getWidth());
+    showFormulaViewport();
+  }
+
+  private void showFormulaViewport() {
+    leftFormulaButton.setVisible(formulaViewport.isLeftHidden());
+    rightFormulaButton.setVisible(formulaViewport.isRightHidden());
+    formula.setText(formulaViewport.getVisibleText());
+  }
+
+  /**
+   * Measure width of symbol in formula label
+   *
+   * @param glyph symbol of formula
+   * @return width of symbol
+   */
+  private static double measureGlyph(int glyph) {
+    Text text = new Text(String.valueOf((char) glyph));
+    text.setFont(DEFAULT_FONT);
+    return text.getLayoutBounds().getWidth();
+  }
+
+  private void disableButtonIfError() {
+    Stream.of(negateButton, addButton, subtractButton, sqrtButton, percentButton, pointButton, powButton, divideButton,
+        multiplyButton, reverseButton, memoryMinusButton, memoryPlusButton, memorySaveButton, memoryShow,
+        memoryRecallButton, memoryClearButton).forEach(button -> button.setDisable(shownState.isException()));
+  }
+
+  private void memoryDisableIfEmpty() {
+    setMemoryFlags(shownState.isMemoryEmpty());
+  }
+
+  private void setMemoryFlags(boolean flag) {
+    memoryShow.setDisable(flag);
+    memoryClearButton.setDisable(flag);
+    memoryRecallButton.setDisable(flag);
+    memoryShow.setDisable(flag);
+  }
+
+  private void clearFormula() {
+    formula.setText("");
+    leftFormulaButton.setVisible(false);
+    rightFormulaButton.setVisible(false);
+  }
+
+  public String getFormulaStr() {
+    return shownState.getFormula();
+  }
+}
@@ -0,0 +1,341 @@
+package com.ozgreat.calculator.controller.fx;
+
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.controller.SessionFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Runs actions of {@link CalculatorSession} on its own thread, so long arithmetic doesn't stop JavaFX application
+ * thread. Actions run one by one in order of submission. State of session is copied after every action and is given
+ * to window through result executor, so window reads only copies and only on its thread
+ * <p>
+ * Window waits for action not longer than {@link #FRAME_BUDGET_MILLIS}, so fast actions are shown at once. Result of
+ * slow action is shown later, if it is newer than shown state and wasn't cancelled. Operations give result with
+ * displayed digits after {@link #LATENCY_BUDGET_MILLIS}, display is refined, when all digits are calculated and shown
+ * digits are changed. All methods, except running of actions, have to be called on thread of result executor
+ * <p>
+ * Session is saved to file on worker's thread after submitted actions, so saving doesn't wait for window and doesn't
+ * see session in the middle of action
+ *
+ * @author ozgreat
+ * @see RootController
+ */
+final class SessionWorker {
+  /**
+   * Time, that window waits for result of action, before action is left in background
+   */
+  static final long FRAME_BUDGET_MILLIS = 8;
+
+  /**
+   * Time, that operation waits for all digits of result, so that window has time to show result in the same frame
+   */
+  static final long LATENCY_BUDGET_MILLIS = FRAME_BUDGET_MILLIS / 2;
+
+  /**
+   * Executor of window's thread, it shows results of slow actions
+   */
+  private final Executor resultExecutor;
+
+  /**
+   * Handler of new state, it is called on window's thread
+   */
+  private final Consumer<State> stateHandler;
+
+  /**
+   * Executor with one thread, that runs actions of current session
+   */
+  private ExecutorService executor = newExecutor();
+
+  /**
+   * Session, that actions are done with
+   */
+  private CalculatorSession session = newSession();
+
+  /**
+   * Number of session, it is increased, when session is cancelled. Results of previous sessions are ignored
+   */
+  private long generation;
+
+  /**
+   * Number of last submitted action
+   */
+  private long submitted;
+
+  /**
+   * Number of action, which state was shown last
+   */
+  private long applied;
+
+  /**
+   * Last shown state
+   */
+  private State state = new State(session);
+
+  /**
+   * Generation of session, when it was saved last time
+   */
+  private long savedGeneration = -1;
+
+  /**
+   * Number of last submitted action, when session was saved last time
+   */
+  private long savedSubmitted;
+
+  /**
+   * @param resultExecutor executor of window's thread
+   * @param stateHandler   handler of new state
+   */
+  SessionWorker(Executor resultExecutor, Consumer<State> stateHandler) {
+    this.resultExecutor = resultExecutor;
+    this.stateHandler = stateHandler;
+  }
+
+  /**
+   * Do action after all submitted actions. State is shown at once, if action is done in {@link #FRAME_BUDGET_MILLIS}.
+   * Window doesn't wait, if previous actions are still in progress, because action can't be done before them
+   *
+   * @param action action of session
+   */
+  void submit(Consumer<CalculatorSession> action) {
+    boolean isWaiting = !isBusy();
+    long actionGeneration = generation;
+    long sequence = submitted + 1;
+    Future<State> future = enqueue(action);
+    if (!isWaiting) {
+      return;
+    }
+
+    try {
+      apply(actionGeneration, sequence, future.get(FRAME_BUDGET_MILLIS, TimeUnit.MILLISECONDS));
+    } catch (TimeoutException e) { // state will be shown by result executor
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Action of session failed", e.getCause());
+    }
+  }
+
+  /**
+   * Put action after all submitted actions, its state is shown by result executor
+   *
+   * @param action action of session
+   * @return future of state after action
+   */
+  private Future<State> enqueue(Consumer<CalculatorSession> action) {
+    long actionGeneration = generation;
+    long sequence = ++submitted;
+    CalculatorSession actionSession = session;
+
+    return executor.submit(() -> {
+      State actionState = run(actionSession, action);
+      resultExecutor.execute(() -> apply(actionGeneration, sequence, actionState));
+
+      CompletableFuture<String> refined = actionSession.refinedDisplay();
+      if (refined != null) {
+        String approximate = actionState.display;
+        refined.thenAccept(display -> {
+          if (!display.equals(approximate)) {
+            resultExecutor.execute(() -> refine(actionGeneration, approximate, display));
+          }
+        });
+      }
+      return actionState;
+    });
+  }
+
+  /**
+   * Drop running and waiting actions. Session is replaced with new one, that has memory of last shown state. Long
+   * calculation of running action stops at its next step
+   */
+  void cancel() {
+    dropSession();
+
+    BigDecimal memory = state.memory;
+    session = newSession();
+    session.restoreMemory(memory);
+
+    generation++;
+    applied = submitted;
+    show(new State(session));
+  }
+
+  /**
+   * Replace session with restored one, its state is shown at once. Restored session mustn't be used by anyone else
+   *
+   * @param restored session, that was read from file
+   */
+  void restore(CalculatorSession restored) {
+    dropSession();
+
+    restored.setLatencyBudget(LATENCY_BUDGET_MILLIS);
+    session = restored;
+
+    generation++;
+    applied = submitted;
+    savedGeneration = generation;
+    savedSubmitted = submitted;
+    show(new State(session));
+  }
+
+  /**
+   * Save session to file after all submitted actions. Nothing is written, if session wasn't changed since previous
+   * successful saving
+   *
+   * @param file path of file
+   * @return future of saving, it is completed with exception, if file wasn't written
+   */
+  CompletableFuture<Void> save(Path file) {
+    if (savedGeneration == generation && savedSubmitted == submitted) {
+      return CompletableFuture.completedFuture(null);
+    }
+    savedGeneration = generation;
+    savedSubmitted = submitted;
+
+    CalculatorSession savedSession = session;
+    return CompletableFuture.runAsync(() -> {
+      try {
+        SessionFile.save(savedSession, file);
+      } catch (IOException e) {
+        resultExecutor.execute(() -> savedGeneration = -1);
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Check, that some submitted actions aren't shown yet
+   *
+   * @return true if there are actions in progress
+   */
+  boolean isBusy() {
+    return applied < submitted;
+  }
+
+  State getState() {
+    return state;
+  }
+
+  /**
+   * Interrupt running action and background calculations of session, waiting actions aren't run
+   */
+  private void dropSession() {
+    executor.shutdownNow();
+    session.cancel();
+    executor = newExecutor();
+  }
+
+  /**
+   * Do action on worker's thread. Unexpected error resets session, it is reported and state of reset session is kept
+   *
+   * @param session session of action
+   * @param action  action to do
+   * @return state of session after action
+   */
+  private static State run(CalculatorSession session, Consumer<CalculatorSession> action) {
+    try {
+      action.accept(session);
+    } catch (CancellationException e) { // session was dropped, its state isn't shown
+    } catch (IllegalStateException e) {
+      e.printStackTrace();
+    }
+    return new State(session);
+  }
+
+  /**
+   * Show refined display, if session wasn't cancelled and display still shows approximate number. Window doesn't wait
+   * for refining, it's shown by result executor
+   */
+  private void refine(long actionGeneration, String approximate, String refined) {
+    if (actionGeneration == generation) {
+      enqueue(actionSession -> actionSession.refine(approximate, refined));
+    }
+  }
+
+  private void apply(long actionGeneration, long sequence, State actionState) {
+    if (actionGeneration == generation && sequence > applied) {
+      applied = sequence;
+      show(actionState);
+    }
+  }
+
+  private void show(State newState) {
+    state = newState;
+    stateHandler.accept(newState);
+  }
+
+  private static CalculatorSession newSession() {
+    CalculatorSession session = new CalculatorSession();
+    session.setLatencyBudget(LATENCY_BUDGET_MILLIS);
+    return session;
+  }
+
+  private static ExecutorService newExecutor() {
+    return Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "calculator-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Copy of session's state, that window shows
+   */
+  static final class State {
+    /**
+     * Text on display
+     */
+    private final String display;
+
+    /**
+     * Text of formula
+     */
+    private final String formula;
+
+    /**
+     * True when exception was caught
+     */
+    private final boolean isException;
+
+    /**
+     * Number of memory, null if memory is empty
+     */
+    private final BigDecimal memory;
+
+    private State(CalculatorSession session) {
+      display = session.getDisplay();
+      formula = session.getFormula();
+      isException = session.isException();
+      memory = session.getMemory();
+    }
+
+    String getDisplay() {
+      return display;
+    }
+
+    String getFormula() {
+      return formula;
+    }
+
+    boolean isException() {
+      return isException;
+    }
+
+    boolean isMemoryEmpty() {
+      return memory == null;
+    }
+  }
+}
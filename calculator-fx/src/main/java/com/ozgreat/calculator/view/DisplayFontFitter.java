@@ -0,0 +1,198 @@
+package com.ozgreat.calculator.view;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Chooses font size of calculator's display, so number fits in window. Advances of glyphs, that numbers have, are
+ * measured once for every font size, so width of number is counted without layout of text. Size is found with
+ * binary search
+ *
+ * @author ozgreat
+ * @see Root
+ */
+final class DisplayFontFitter {
+  /**
+   * Width from border of application after which text on display starts getting smaller
+   */
+  private static final double FONT_CHANGE_WIDTH_DOWN = 34.98;
+
+  /**
+   * Width from border of application after which text on display starts getting bigger
+   */
+  private static final double FONT_CHANGE_WIDTH_UP = 50d;
+
+  /**
+   * Maximum font size
+   */
+  private static final double MAX_FONT_SIZE = 74d;
+
+  /**
+   * Minimum font size
+   */
+  private static final double MIN_FONT_SIZE = 1d;
+
+  /**
+   * Delta of text on display height and height of scene, when font size starts growing
+   */
+  private static final double GROWING_HEIGHT_DELTA = 468.75;
+
+  /**
+   * Delta of text on display height and height of scene, when font size starts decrease
+   */
+  private static final double DECREASE_HEIGHT_DELTA = 516.76;
+
+  /**
+   * Glyphs of numbers, which advances are cached
+   */
+  private static final String CACHED_GLYPHS = "0123456789,.E+-";
+
+  /**
+   * Name of font family
+   */
+  private final String family;
+
+  /**
+   * Metrics of font for every used size
+   */
+  private final Map<Double, FontMetrics> metrics = new HashMap<>();
+
+  /**
+   * Text node, that measures glyphs and text with not cached glyphs
+   */
+  private final Text measured = new Text();
+
+  /**
+   * @param family name of font family of display
+   */
+  DisplayFontFitter(String family) {
+    this.family = family;
+  }
+
+  /**
+   * Find font, that display text has to have. Font gets smaller while text is too wide or too high for scene, then
+   * it gets bigger while there is enough space. Sizes differ from current size by whole points
+   *
+   * @param text        text of display
+   * @param size        current font size
+   * @param sceneWidth  width of scene
+   * @param sceneHeight height of scene
+   * @return font of display
+   */
+  Font fit(String text, double size, double sceneWidth, double sceneHeight) {
+    int maxDecrease = Math.max((int) Math.ceil(size - MIN_FONT_SIZE), 0);
+    double decreased = size - firstStep(maxDecrease, step -> isFitting(text, size - step, sceneWidth, sceneHeight));
+
+    int maxIncrease = Math.max((int) Math.floor(MAX_FONT_SIZE - decreased) + 1, 0);
+    double increased = decreased + firstStep(maxIncrease,
+        step -> !isGrowing(text, decreased + step, sceneWidth, sceneHeight));
+
+    return metrics(increased).font;
+  }
+
+  /**
+   * Binary search of first step, that is final. Predicate is false for steps before first final step and true after
+   *
+   * @param maxStep maximum step, it is returned if no step is final
+   * @param isFinal predicate of step
+   * @return first final step
+   */
+  private static int firstStep(int maxStep, IntPredicate isFinal) {
+    int low = 0;
+    int high = maxStep;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (isFinal.test(middle)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private boolean isFitting(String text, double size, double sceneWidth, double sceneHeight) {
+    return sceneWidth - width(text, size) >= FONT_CHANGE_WIDTH_DOWN
+        && sceneHeight - metrics(size).height >= DECREASE_HEIGHT_DELTA;
+  }
+
+  private boolean isGrowing(String text, double size, double sceneWidth, double sceneHeight) {
+    return size <= MAX_FONT_SIZE && sceneWidth - width(text, size) > FONT_CHANGE_WIDTH_UP
+        && sceneHeight - metrics(size).height > GROWING_HEIGHT_DELTA;
+  }
+
+  /**
+   * Count width of text. Text with not cached glyphs, like error message, is measured with {@link Text}
+   *
+   * @param text text of display
+   * @param size font size
+   * @return width of text
+   */
+  private double width(String text, double size) {
+    FontMetrics fontMetrics = metrics(size);
+    double width = 0;
+
+    for (int i = 0; i < text.length(); i++) {
+      int index = CACHED_GLYPHS.indexOf(text.charAt(i));
+      if (index == -1) {
+        measured.setFont(fontMetrics.font);
+        measured.setText(text);
+        return measured.getLayoutBounds().getWidth();
+      }
+      width += fontMetrics.advances[index];
+    }
+    return width;
+  }
+
+  private FontMetrics metrics(double size) {
+    return metrics.computeIfAbsent(size, this::measure);
+  }
+
+  /**
+   * Measure advances of cached glyphs and height of line
+   *
+   * @param size font size
+   * @return metrics of font
+   */
+  private FontMetrics measure(double size) {
+    Font font = Font.font(family, size);
+    double[] advances = new double[CACHED_GLYPHS.length()];
+
+    measured.setFont(font);
+    for (int i = 0; i < advances.length; i++) {
+      measured.setText(String.valueOf(CACHED_GLYPHS.charAt(i)));
+      advances[i] = measured.getLayoutBounds().getWidth();
+    }
+    return new FontMetrics(font, advances, measured.getLayoutBounds().getHeight());
+  }
+
+  /**
+   * Font of one size, advances of its cached glyphs and height of line
+   */
+  private static final class FontMetrics {
+    /**
+     * Font of display
+     */
+    private final Font font;
+
+    /**
+     * Advances of glyphs from {@link #CACHED_GLYPHS} in the same order
+     */
+    private final double[] advances;
+
+    /**
+     * Height of text line
+     */
+    private final double height;
+
+    private FontMetrics(Font font, double[] advances, double height) {
+      this.font = font;
+      this.advances = advances;
+      this.height = height;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.ozgreat.calculator.view;
 
+import com.ozgreat.calculator.controller.fx.RootController;
 import javafx.application.Application;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXMLLoader;
@@ -16,14 +17,14 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.Window;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Launcher class of application. Set up stage from fxml,
@@ -43,30 +44,18 @@ public class Root extends Application {
    * Path to icon of application
    */
   private static final String ICON_PATH = "/com/ozgreat/calculator/view/icon.png";
-  /**
-   * Width from border of application after which text on display starts getting smaller
-   */
-  private static final double FONT_CHANGE_WIDTH_DOWN = 34.98;
-  /**
-   * Width from border of application after which text on display starts getting bigger
-   */
-  private static final double FONT_CHANGE_WIDTH_UP = 50d;
-  /**
-   * Maximum font size
-   */
-  private static final double MAX_FONT_SIZE = 74d;
   /**
    * Name of standard font
    */
   private static final String DEFAULT_FONT = "Segoe UI Semibold";
   /**
-   * Delta of text on buttons width and width of scene, when button's font size starts growing
+   * System property with path of session file, calculator resumes from this file
    */
-  private static final double GROWING_HEIGHT_DELTA = 468.75;
+  public static final String SESSION_FILE_PROPERTY = "calculator.session.file";
   /**
-   * Delta of text on buttons width and width of scene, when button's font size starts decrease
+   * Path of session file in home directory, if {@link #SESSION_FILE_PROPERTY} isn't set
    */
-  private static final double DECREASE_HEIGHT_DELTA = 516.76;
+  private static final String DEFAULT_SESSION_FILE = ".calculator/session.bin";
   /**
    * Current {@code Root} object
    */
@@ -96,6 +85,10 @@ public class Root extends Application {
    * Display label
    */
   private Label display;
+  /**
+   * Font size chooser of display
+   */
+  private DisplayFontFitter fontFitter = new DisplayFontFitter(DEFAULT_FONT);
 
   /**
    * X coordinate of current position.
@@ -155,7 +148,7 @@ public class Root extends Application {
 
 
   /**
-   * Starting method
+   * Starting method. Session is restored from file before stage is shown
    *
    * @param primaryStage - the primary stage for this application, onto which the application scene can be set.
    * @throws IOException if didn't find and/or load fxml file
@@ -164,9 +157,29 @@ public class Root extends Application {
   public void start(Stage primaryStage) throws IOException {
     stage = primaryStage;
     initAll();
+    ((RootController) loader.getController()).resume(sessionFile());
     setUpStage();
   }
 
+  /**
+   * Save session to file, when application exits
+   */
+  @Override
+  public void stop() {
+    RootController controller = loader.getController();
+    if (controller != null) {
+      controller.suspend();
+    }
+  }
+
+  private static Path sessionFile() {
+    String file = System.getProperty(SESSION_FILE_PROPERTY);
+    if (file == null) {
+      return Paths.get(System.getProperty("user.home"), DEFAULT_SESSION_FILE);
+    }
+    return Paths.get(file);
+  }
+
   private void initAll() throws IOException {
     parent = loader.load();
     scene = new Scene(parent);
@@ -214,36 +227,9 @@ public class Root extends Application {
   private void initListeners() {
     display = (Label) parent.lookup("#display");
     display.textProperty().addListener(observable -> {
-      Text text = new Text(display.getText());
-      double fontSize = display.getFont().getSize();
-      text.setFont(Font.font(DEFAULT_FONT, fontSize));
-      double width = text.getLayoutBounds().getWidth();
       Scene scene = display.getScene();
-      double sceneWidth = scene.getWidth();
-      double textHeight = text.getLayoutBounds().getHeight();
-      double sceneHeight = scene.getHeight();
-      double heightDelta = sceneHeight - textHeight;
-
-
-      while (FONT_CHANGE_WIDTH_DOWN > sceneWidth - width || heightDelta < DECREASE_HEIGHT_DELTA) {
-        fontSize--;
-        text.setFont(Font.font(DEFAULT_FONT, fontSize));
-        width = text.getLayoutBounds().getWidth();
-        textHeight = text.getLayoutBounds().getHeight();
-        heightDelta = sceneHeight - textHeight;
-      }
-
-
-      while (sceneWidth - width > FONT_CHANGE_WIDTH_UP && fontSize <= MAX_FONT_SIZE
-          && heightDelta > GROWING_HEIGHT_DELTA) {
-        fontSize++;
-        text.setFont(Font.font(DEFAULT_FONT, fontSize));
-        width = text.getLayoutBounds().getWidth();
-        textHeight = text.getLayoutBounds().getHeight();
-        heightDelta = sceneHeight - textHeight;
-      }
-
-      display.setStyle(" -fx-font-size:" + fontSize + ";");
+      display.setFont(fontFitter.fit(display.getText(), display.getFont().getSize(), scene.getWidth(),
+          scene.getHeight()));
     });
   }
 
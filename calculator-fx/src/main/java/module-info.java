@@ -1,9 +1,10 @@
-module calculator {
+module calculator.fx {
+  requires calculator.core;
   requires javafx.fxml;
   requires javafx.base;
   requires javafx.controls;
 
   opens com.ozgreat.calculator;
-  opens com.ozgreat.calculator.controller;
+  opens com.ozgreat.calculator.controller.fx;
   opens com.ozgreat.calculator.view;
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.ozgreat.calculator.controller.fx;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaViewportTest {
+  private static final double WIDTH = 10;
+
+  private FormulaViewport viewport;
+
+  @BeforeEach
+  void before() {
+    viewport = new FormulaViewport(glyph -> glyph == '√' ? 2 : 1);
+  }
+
+  @Test
+  void setFormulaTest() {
+    checkViewport("12 +", "12 +", false, false);
+    checkViewport("12 + 3456789", " + 3456789", true, false);
+    checkViewport("12 + 3456789 -", " 3456789 -", true, false);
+    checkViewport("12 + √( 4 )", " + √( 4 )", true, false);
+    checkViewport("", "", false, false);
+  }
+
+  @Test
+  void moveTest() {
+    viewport.setFormula("123456789 + 123456789 + 1", WIDTH);
+    assertEquals("456789 + 1", viewport.getVisibleText());
+
+    viewport.moveLeft(4, WIDTH);
+    checkVisible(" 123456789", true, true);
+    viewport.moveLeft(40, WIDTH);
+    checkVisible("123456789 ", false, true);
+    viewport.moveRight(4, WIDTH);
+    checkVisible("56789 + 12", true, true);
+    viewport.moveRight(40, WIDTH);
+    checkVisible("456789 + 1", true, false);
+  }
+
+  @Test
+  void wideGlyphTest() {
+    viewport.setFormula("√( 12345 ) + 123456789", WIDTH);
+    viewport.moveLeft(40, WIDTH);
+    checkVisible("√( 12345 ", false, true);
+    viewport.moveRight(40, WIDTH);
+    checkVisible("123456789", true, false);
+  }
+
+  private void checkViewport(String formula, String visible, boolean isLeftHidden, boolean isRightHidden) {
+    viewport.setFormula(formula, WIDTH);
+    checkVisible(visible, isLeftHidden, isRightHidden);
+  }
+
+  private void checkVisible(String visible, boolean isLeftHidden, boolean isRightHidden) {
+    assertEquals(visible, viewport.getVisibleText());
+    assertEquals(isLeftHidden, viewport.isLeftHidden());
+    assertEquals(isRightHidden, viewport.isRightHidden());
+  }
+}
@@ -1,4 +1,4 @@
-package com.ozgreat.calculator.controller;
+package com.ozgreat.calculator.controller.fx;
 
 import javafx.scene.input.KeyCode;
 import org.junit.jupiter.api.Disabled;
@@ -1,4 +1,4 @@
-package com.ozgreat.calculator.controller;
+package com.ozgreat.calculator.controller.fx;
 
 import com.ozgreat.calculator.controller.util.ControllerTestUtils;
 import com.ozgreat.calculator.view.Root;
@@ -167,10 +167,10 @@ public class RootControllerMouseTest extends ControllerTestUtils {
     formulaButtonVisibleCheck("9999999999999999+9999999999999999+9999999999999999+", "9999999999999999 + 9999999999999999 + 9999999999999999 +");
     formulaButtonVisibleCheck("123456789012345+123456789012345+123456789012345+", "123456789012345 + 123456789012345 + 123456789012345 +");
 
-    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ <", "9999999999999999 + 9999999999999999 + 9999999999999999 +", "9999999999999999 + 9999999999999999 + ");
-    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ < >", "9999999999999999 + 9999999999999999 + 9999999999999999 +", " 9999999999999999 + 9999999999999999 +");
-    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ <", "9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 +", " + 9999999999999999 + 9999999999999999");
-    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ < < >", "9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 +", "99999999999999 + 9999999999999999 + 99");
+    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ <", "9999999999999999 + 9999999999999999 + 9999999999999999 +", "9999999999999999 + 9999999999999999 + 9");
+    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ < >", "9999999999999999 + 9999999999999999 + 9999999999999999 +", "+ 9999999999999999 + 9999999999999999 +");
+    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ <", "9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 +", "9 + 9999999999999999 + 9999999999999999");
+    formulaMoveCheck("9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ 9999999999999999+ < < >", "9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 + 9999999999999999 +", "99999999999999 + 9999999999999999 + 999");
   }
 
 
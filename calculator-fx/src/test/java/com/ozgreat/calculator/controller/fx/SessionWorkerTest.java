@@ -0,0 +1,189 @@
+package com.ozgreat.calculator.controller.fx;
+
+import com.ozgreat.calculator.controller.CalculatorSession;
+import com.ozgreat.calculator.controller.SessionFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionWorkerTest {
+  /**
+   * Tasks of window's thread, test thread runs them
+   */
+  private final BlockingQueue<Runnable> windowTasks = new LinkedBlockingQueue<>();
+
+  /**
+   * Displays of states, that were shown
+   */
+  private final List<String> shown = new ArrayList<>();
+
+  private final SessionWorker worker = new SessionWorker(windowTasks::add, state -> shown.add(state.getDisplay()));
+
+  @Test
+  void orderTest() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    worker.submit(session -> session.enterNumberOrDot("9"));
+    worker.submit(session -> await(latch));
+    assertTrue(worker.isBusy());
+
+    worker.submit(session -> session.unaryOperation("sqr"));
+    worker.submit(session -> session.enterOperation("+"));
+    worker.submit(session -> session.enterNumberOrDot("5"));
+    assertEquals("9", worker.getState().getDisplay());
+
+    latch.countDown();
+    runWindowTasks();
+    assertFalse(worker.isBusy());
+    assertEquals("5", worker.getState().getDisplay());
+    assertEquals("sqr( 9 ) +", worker.getState().getFormula());
+    assertEquals("9", shown.get(0));
+    assertEquals("5", last());
+  }
+
+  @Test
+  void busyTest() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    worker.submit(session -> await(latch));
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 50; i++) {
+      worker.submit(session -> session.enterNumberOrDot("1"));
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(millis < 25 * SessionWorker.FRAME_BUDGET_MILLIS, "Window waited " + millis + " ms");
+
+    latch.countDown();
+    runWindowTasks();
+    assertEquals("1,111,111,111,111,111", worker.getState().getDisplay());
+  }
+
+  @Test
+  void cancelTest() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    worker.submit(session -> session.enterNumberOrDot("7"));
+    worker.submit(CalculatorSession::memorySave);
+    worker.submit(session -> session.enterOperation("+"));
+    worker.submit(session -> await(latch));
+    worker.submit(session -> session.enterNumberOrDot("3"));
+    assertTrue(worker.isBusy());
+
+    worker.cancel();
+    assertFalse(worker.isBusy());
+    assertEquals("0", worker.getState().getDisplay());
+    assertEquals("", worker.getState().getFormula());
+    assertFalse(worker.getState().isMemoryEmpty());
+
+    latch.countDown();
+    runWindowTasks();
+    assertEquals("0", last());
+
+    worker.submit(CalculatorSession::memoryRecall);
+    runWindowTasks();
+    assertEquals("7", worker.getState().getDisplay());
+  }
+
+  @Test
+  void stopTest() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicReference<Thread> workerThread = new AtomicReference<>();
+
+    worker.submit(session -> {
+      workerThread.set(Thread.currentThread());
+      started.countDown();
+      session.enterNumberOrDot("2");
+      session.enterOperation("÷");
+      session.enterNumberOrDot("3");
+      session.equal(1000000);
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    worker.cancel();
+    workerThread.get().join(10000);
+    assertFalse(workerThread.get().isAlive());
+    assertEquals("0", worker.getState().getDisplay());
+  }
+
+  @Test
+  void unexpectedErrorTest() throws InterruptedException {
+    worker.submit(session -> session.enterNumberOrDot("4"));
+    worker.submit(session -> {
+      throw new IllegalStateException("test error");
+    });
+    runWindowTasks();
+
+    assertFalse(worker.isBusy());
+    assertEquals("4", worker.getState().getDisplay());
+  }
+
+  @Test
+  void saveTest() throws IOException, InterruptedException, ExecutionException {
+    Path directory = Files.createTempDirectory("calculator");
+    Path file = directory.resolve("session.bin");
+    try {
+      worker.submit(session -> session.enterNumberOrDot("6"));
+      worker.submit(CalculatorSession::memorySave);
+      worker.submit(session -> session.enterOperation("×"));
+      worker.save(file).get();
+      runWindowTasks();
+
+      SessionWorker restarted = new SessionWorker(windowTasks::add, state -> shown.add(state.getDisplay()));
+      restarted.restore(SessionFile.load(file));
+      assertEquals("6", last());
+      assertEquals("6 ×", restarted.getState().getFormula());
+      assertFalse(restarted.getState().isMemoryEmpty());
+
+      Files.delete(file);
+      restarted.save(file).get(); // session isn't changed
+      assertFalse(Files.exists(file));
+
+      restarted.submit(session -> session.enterNumberOrDot("7"));
+      restarted.submit(CalculatorSession::equal);
+      restarted.save(file).get();
+      assertEquals("42", SessionFile.load(file).getDisplay());
+      Files.delete(file);
+    } finally {
+      Files.delete(directory);
+    }
+  }
+
+  /**
+   * Run tasks of window's thread, until all submitted actions are shown
+   */
+  private void runWindowTasks() throws InterruptedException {
+    while (worker.isBusy()) {
+      Runnable task = windowTasks.poll(10, TimeUnit.SECONDS);
+      assertNotNull(task, "action wasn't finished");
+      task.run();
+    }
+    Runnable task;
+    while ((task = windowTasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private String last() {
+    return shown.get(shown.size() - 1);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
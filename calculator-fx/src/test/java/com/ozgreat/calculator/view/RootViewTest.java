@@ -17,6 +17,7 @@ import org.testfx.api.FxAssert;
 import java.awt.*;
 import java.awt.event.InputEvent;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -112,6 +113,8 @@ public class RootViewTest extends ControllerTestUtils {
     awtRobot = new Robot();
     Root root = Root.getRoot();
     testStage = stage;
+    System.setProperty(Root.SESSION_FILE_PROPERTY,
+        Files.createTempDirectory("calculator").resolve("session.bin").toString());
     root.start(stage);
   }
 